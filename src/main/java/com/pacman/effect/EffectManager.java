@@ -0,0 +1,87 @@
+package com.pacman.effect;
+
+/**
+ * Effect manager (OOP: Singleton pattern)
+ * Game code emits effects here like it plays sounds through SoundManager.
+ * Emissions come from the simulation thread and are handed to the renderer
+ * through a fixed-size single-producer/single-consumer ring, so emitting
+ * never allocates or locks. Emissions that find the ring full are dropped.
+ */
+public class EffectManager {
+    /** Created eagerly: the simulation and FX threads both look it up */
+    private static final EffectManager INSTANCE = new EffectManager();
+
+    /** Ring size, a power of two */
+    private static final int CAPACITY = 256;
+    private static final int MASK = CAPACITY - 1;
+
+    private final EffectType[] types;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] dirXs;
+    private final double[] dirYs;
+    private final double[] times;
+    /** Next slot to read, written by the consumer only */
+    private volatile long head;
+    /** Next slot to write, written by the producer only */
+    private volatile long tail;
+    /** Simulation clock stamped on emissions, set by the producer */
+    private double time;
+
+    private EffectManager() {
+        this.types = new EffectType[CAPACITY];
+        this.xs = new double[CAPACITY];
+        this.ys = new double[CAPACITY];
+        this.dirXs = new double[CAPACITY];
+        this.dirYs = new double[CAPACITY];
+        this.times = new double[CAPACITY];
+    }
+
+    public static EffectManager getInstance() {
+        return INSTANCE;
+    }
+
+    /** Set the simulation time for following emissions (simulation thread) */
+    public void setTime(double time) {
+        this.time = time;
+    }
+
+    /** Emit a burst in all directions at a pixel position (simulation thread) */
+    public void emit(EffectType type, double x, double y) {
+        emit(type, x, y, 0, 0);
+    }
+
+    /** Emit a burst aimed along (dirX, dirY) at a pixel position (simulation thread) */
+    public void emit(EffectType type, double x, double y, double dirX, double dirY) {
+        long t = tail;
+        if (t - head >= CAPACITY) return;
+
+        int slot = (int) (t & MASK);
+        types[slot] = type;
+        xs[slot] = x;
+        ys[slot] = y;
+        dirXs[slot] = dirX;
+        dirYs[slot] = dirY;
+        times[slot] = time;
+        // Volatile write publishes the slot to the consumer
+        tail = t + 1;
+    }
+
+    /** Move pending emissions into a particle system (render thread) */
+    public void drainTo(ParticleSystem particles) {
+        long h = head;
+        long t = tail;
+        while (h < t) {
+            int slot = (int) (h & MASK);
+            particles.emit(types[slot], xs[slot], ys[slot], dirXs[slot], dirYs[slot], times[slot]);
+            h++;
+        }
+        head = h;
+    }
+
+    /** Discard pending emissions, only while the simulation is stopped */
+    public void clear() {
+        head = tail;
+        time = 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.pacman.effect;
+
+import com.pacman.util.Constants;
+import com.pacman.util.RenderQuality;
+
+/**
+ * Particle effect presets.
+ * Each emitter has a fixed particle count, so one emission never allocates.
+ */
+public enum EffectType {
+    DOT_PICKUP(6, 0.3, 40, 80, 0, 2.0, Constants.COLOR_DOT, null),
+    TELEPORT(16, 0.5, 60, 120, 0, 3.0, Constants.COLOR_PORTAL, null),
+    JUMP(10, 0.4, 30, 70, 200, 2.5, "#FFFFFF", null),
+    RUSH_TRAIL(2, 0.25, 10, 30, 0, 2.0, "#FFA500", RenderQuality.Effect.HUNTER_SPEED_LINES),
+    SHIELD_BREAK(20, 0.6, 80, 140, 0, 3.0, Constants.COLOR_ITEM_SHIELD, null);
+
+    private final int count;
+    private final double lifetime;
+    private final double minSpeed;
+    private final double maxSpeed;
+    private final double gravity;
+    private final double size;
+    private final String color;
+    private final RenderQuality.Effect quality;
+
+    EffectType(int count, double lifetime, double minSpeed, double maxSpeed, double gravity,
+               double size, String color, RenderQuality.Effect quality) {
+        this.count = count;
+        this.lifetime = lifetime;
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+        this.gravity = gravity;
+        this.size = size;
+        this.color = color;
+        this.quality = quality;
+    }
+
+    /** Particles per emission */
+    public int getCount() { return count; }
+    /** Seconds each particle lives */
+    public double getLifetime() { return lifetime; }
+    /** Initial speed range in pixels per second */
+    public double getMinSpeed() { return minSpeed; }
+    public double getMaxSpeed() { return maxSpeed; }
+    /** Downward acceleration in pixels per second squared */
+    public double getGravity() { return gravity; }
+    /** Particle radius in pixels */
+    public double getSize() { return size; }
+    public String getColor() { return color; }
+
+    /** Whether the current render quality draws this effect */
+    public boolean isEnabled() {
+        return quality == null || RenderQuality.getInstance().isEnabled(quality);
+    }
+}
@@ -0,0 +1,168 @@
+package com.pacman.effect;
+
+import com.pacman.map.DirtyRegionTracker;
+import com.pacman.render.Renderer;
+import com.pacman.util.Palette;
+
+/**
+ * Pooled particle system.
+ * Particles live in preallocated parallel arrays and are updated in one
+ * batched pass; nothing is allocated per frame. Motion is closed-form in
+ * simulation time, so a particle is in the same place for the same game
+ * time regardless of frame rate, and emission randomness is seeded from
+ * an emission counter rather than a shared Random.
+ */
+public class ParticleSystem {
+    private final int capacity;
+    private final EffectType[] types;
+    private final double[] originX;
+    private final double[] originY;
+    private final double[] velocityX;
+    private final double[] velocityY;
+    private final double[] birthTime;
+    private int count;
+    private double time;
+    private long emissions;
+
+    /** Areas drawn last frame, erased through the dirty-region tracker */
+    private final double[] drawnX;
+    private final double[] drawnY;
+    private final double[] drawnRadius;
+    private int drawnCount;
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        this.types = new EffectType[capacity];
+        this.originX = new double[capacity];
+        this.originY = new double[capacity];
+        this.velocityX = new double[capacity];
+        this.velocityY = new double[capacity];
+        this.birthTime = new double[capacity];
+        this.drawnX = new double[capacity];
+        this.drawnY = new double[capacity];
+        this.drawnRadius = new double[capacity];
+    }
+
+    /** Drop all particles, e.g. on level restart */
+    public void clear() {
+        count = 0;
+        time = 0;
+        emissions = 0;
+    }
+
+    /**
+     * Spawn one burst at (x, y). A non-zero (dirX, dirY) aims the burst;
+     * otherwise particles spread in all directions. Bursts that don't fit
+     * in the pool are cut short.
+     */
+    public void emit(EffectType type, double x, double y, double dirX, double dirY, double emitTime) {
+        long seed = ++emissions * 0x9E3779B97F4A7C15L;
+        boolean aimed = dirX != 0 || dirY != 0;
+        double baseAngle = aimed ? Math.atan2(dirY, dirX) : 0;
+
+        for (int i = 0; i < type.getCount() && count < capacity; i++) {
+            double angle = aimed
+                    ? baseAngle + (random(seed, 2 * i) - 0.5) * 1.2
+                    : random(seed, 2 * i) * Math.PI * 2;
+            double speed = type.getMinSpeed() + random(seed, 2 * i + 1) * (type.getMaxSpeed() - type.getMinSpeed());
+
+            types[count] = type;
+            originX[count] = x;
+            originY[count] = y;
+            velocityX[count] = Math.cos(angle) * speed;
+            velocityY[count] = Math.sin(angle) * speed;
+            birthTime[count] = emitTime;
+            count++;
+        }
+    }
+
+    /** Deterministic value in [0, 1) for the n-th draw of a burst */
+    private static double random(long seed, int n) {
+        long h = seed + n * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    /** Advance to the given simulation time and drop expired particles */
+    public void advanceTo(double newTime) {
+        if (newTime < time) {
+            // Time went backwards, a new game started
+            count = 0;
+        }
+        time = newTime;
+
+        int i = 0;
+        while (i < count) {
+            if (time - birthTime[i] >= types[i].getLifetime()) {
+                int last = --count;
+                types[i] = types[last];
+                originX[i] = originX[last];
+                originY[i] = originY[last];
+                velocityX[i] = velocityX[last];
+                velocityY[i] = velocityY[last];
+                birthTime[i] = birthTime[last];
+                types[last] = null;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private double age(int i) {
+        return Math.max(0, time - birthTime[i]);
+    }
+
+    private double x(int i) {
+        return originX[i] + velocityX[i] * age(i);
+    }
+
+    private double y(int i) {
+        double age = age(i);
+        return originY[i] + velocityY[i] * age + 0.5 * types[i].getGravity() * age * age;
+    }
+
+    /** Mark last frame's particles and this frame's for repaint */
+    public void markDirty(DirtyRegionTracker tracker) {
+        for (int i = 0; i < drawnCount; i++) {
+            markDirty(tracker, drawnX[i], drawnY[i], drawnRadius[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            if (types[i].isEnabled()) {
+                markDirty(tracker, x(i), y(i), types[i].getSize() + 1);
+            }
+        }
+    }
+
+    private static void markDirty(DirtyRegionTracker tracker, double x, double y, double radius) {
+        tracker.markDirty(x - radius, y - radius, radius * 2, radius * 2);
+    }
+
+    /** Draw all live particles, fading out over their lifetime */
+    public void render(Renderer gc) {
+        Palette palette = Palette.getInstance();
+        drawnCount = 0;
+        for (int i = 0; i < count; i++) {
+            EffectType type = types[i];
+            if (!type.isEnabled()) continue;
+
+            double x = x(i);
+            double y = y(i);
+            double size = type.getSize();
+            gc.setFill(palette.color(type.getColor(), 1 - age(i) / type.getLifetime()));
+            gc.fillOval(x - size, y - size, size * 2, size * 2);
+
+            drawnX[drawnCount] = x;
+            drawnY[drawnCount] = y;
+            drawnRadius[drawnCount] = size + 1;
+            drawnCount++;
+        }
+    }
+
+    public boolean isEmpty() {
+        return count == 0 && drawnCount == 0;
+    }
+
+    public int getCount() { return count; }
+}
@@ -1,8 +1,8 @@
 package com.pacman.entity;
 
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
+import com.pacman.util.Palette;
 
 /**
  * Dot class extending Entity (OOP: Inheritance).
@@ -25,15 +25,20 @@ public class Dot extends Entity {
     }
 
     @Override
-    public void render(GraphicsContext gc) {
+    public void render(Renderer gc) {
         if (collected) return;
 
         double pixelX = getPixelX();
         double pixelY = getPixelY();
-        gc.setFill(Color.web(Constants.COLOR_DOT));
+        gc.setFill(Palette.getInstance().color(Constants.COLOR_DOT));
         gc.fillOval(pixelX - DOT_RADIUS, pixelY - DOT_RADIUS, DOT_RADIUS * 2, DOT_RADIUS * 2);
     }
 
+    @Override
+    public double getRenderExtent() {
+        return DOT_RADIUS + 1;
+    }
+
     public void collect() {
         this.collected = true;
         this.active = false;
@@ -1,14 +1,14 @@
 package com.pacman.entity;
 
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
 import com.pacman.util.Direction;
-import javafx.scene.canvas.GraphicsContext;
 
 /**
  * Abstract base class for all game entities (OOP: Inheritance, Encapsulation).
  * All movable or interactive objects in the game inherit from this class.
  */
-public abstract class Entity {
+public abstract class Entity implements Cloneable {
 
     protected double gridX;
     protected double gridY;
@@ -34,7 +34,32 @@ public abstract class Entity {
     /**
      * Abstract method for rendering entity (OOP: Polymorphism).
      */
-    public abstract void render(GraphicsContext gc);
+    public abstract void render(Renderer gc);
+
+    /** Shallow copy, e.g. a fresh entity for a new play session built from a template */
+    public Entity copy() {
+        try {
+            return (Entity) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Entity for render snapshots: a copy without references into the live
+     * simulation, kept and refreshed with copyRenderState every tick.
+     */
+    public Entity renderCopy() {
+        return copy();
+    }
+
+    /** Copy the state render code reads from an entity of the same class (simulation thread) */
+    public void copyRenderState(Entity source) {
+        this.gridX = source.gridX;
+        this.gridY = source.gridY;
+        this.direction = source.direction;
+        this.active = source.active;
+    }
 
     public double getPixelX() {
         return (gridX + 0.5) * Constants.TILE_SIZE;
@@ -44,6 +69,25 @@ public abstract class Entity {
         return (gridY + 0.5) * Constants.TILE_SIZE;
     }
 
+    /** Pixel center the entity is drawn at (may differ from its logical position) */
+    public double getRenderX() {
+        return getPixelX();
+    }
+
+    public double getRenderY() {
+        return getPixelY();
+    }
+
+    /** Half-size of the square around the render center that rendering may touch */
+    public double getRenderExtent() {
+        return Constants.TILE_SIZE / 2.0 + 2;
+    }
+
+    /** Whether the entity's appearance changes every frame even when it stands still */
+    public boolean isAnimating() {
+        return false;
+    }
+
     public int getTileX() {
         return (int) Math.round(gridX);
     }
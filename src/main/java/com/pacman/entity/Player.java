@@ -1,13 +1,18 @@
 package com.pacman.entity;
 
+import com.pacman.effect.EffectManager;
+import com.pacman.effect.EffectType;
 import com.pacman.item.ItemType;
 import com.pacman.map.GameMap;
+import com.pacman.render.ImageRenderer;
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
 import com.pacman.util.Direction;
 import com.pacman.util.SkinManager;
-import javafx.scene.canvas.GraphicsContext;
+import com.pacman.util.Palette;
+import com.pacman.util.RenderQuality;
 import javafx.scene.image.Image;
-import javafx.scene.paint.Color;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -135,6 +140,7 @@ public class Player extends Entity {
             gridY = jumpTargetY;
             isJumping = false;
             jumpProgress = 0;
+            EffectManager.getInstance().emit(EffectType.JUMP, getPixelX(), getPixelY());
         }
     }
 
@@ -143,6 +149,7 @@ public class Player extends Entity {
         jumpTargetX = targetX;
         jumpTargetY = targetY;
         jumpProgress = 0;
+        EffectManager.getInstance().emit(EffectType.JUMP, getPixelX(), getPixelY());
     }
 
     /**
@@ -178,10 +185,13 @@ public class Player extends Entity {
     }
 
     private void handleMapBoundary() {
-        if (gridX < 0) gridX = Constants.MAP_COLS - 1;
-        if (gridX >= Constants.MAP_COLS) gridX = 0;
-        if (gridY < 0) gridY = Constants.MAP_ROWS - 1;
-        if (gridY >= Constants.MAP_ROWS) gridY = 0;
+        if (gameMap == null) return;
+        int cols = gameMap.getWidth();
+        int rows = gameMap.getHeight();
+        if (gridX < 0) gridX = cols - 1;
+        if (gridX >= cols) gridX = 0;
+        if (gridY < 0) gridY = rows - 1;
+        if (gridY >= rows) gridY = 0;
     }
 
     private void updateEffects(double deltaTime) {
@@ -246,6 +256,7 @@ public class Player extends Entity {
         if (hasShield) {
             hasShield = false;
             invincibleTimer = 1.0;
+            EffectManager.getInstance().emit(EffectType.SHIELD_BREAK, getPixelX(), getPixelY());
             return true;
         }
         return false;
@@ -282,51 +293,109 @@ public class Player extends Entity {
     }
 
     @Override
-    public void render(GraphicsContext gc) {
-        double pixelX = getPixelX();
-        double pixelY = getPixelY();
+    public Player copy() {
+        Player copy = (Player) super.copy();
+        copy.activeEffects = new HashMap<>(activeEffects);
+        return copy;
+    }
 
-        // Jump animation
-        if (isJumping) {
-            double startX = (gridX + 0.5) * Constants.TILE_SIZE;
-            double startY = (gridY + 0.5) * Constants.TILE_SIZE;
-            double endX = (jumpTargetX + 0.5) * Constants.TILE_SIZE;
-            double endY = (jumpTargetY + 0.5) * Constants.TILE_SIZE;
-            pixelX = startX + (endX - startX) * jumpProgress;
-            pixelY = startY + (endY - startY) * jumpProgress;
-            double jumpHeight = Math.sin(jumpProgress * Math.PI) * Constants.TILE_SIZE;
-            pixelY -= jumpHeight;
+    /** Effects go in an EnumMap, which refreshing doesn't allocate in */
+    @Override
+    public Player renderCopy() {
+        Player copy = (Player) super.renderCopy();
+        copy.gameMap = null;
+        copy.activeEffects = new EnumMap<>(ItemType.class);
+        copy.copyRenderState(this);
+        return copy;
+    }
+
+    @Override
+    public void copyRenderState(Entity source) {
+        super.copyRenderState(source);
+        Player player = (Player) source;
+        activeEffects.clear();
+        activeEffects.putAll(player.activeEffects);
+        this.hasShield = player.hasShield;
+        this.isJumping = player.isJumping;
+        this.jumpTargetX = player.jumpTargetX;
+        this.jumpTargetY = player.jumpTargetY;
+        this.jumpProgress = player.jumpProgress;
+        this.isBlinded = player.isBlinded;
+        this.lastFacingDirection = player.lastFacingDirection;
+    }
+
+    /** Render position including the jump arc */
+    @Override
+    public double getRenderX() {
+        if (!isJumping) return getPixelX();
+        double startX = (gridX + 0.5) * Constants.TILE_SIZE;
+        double endX = (jumpTargetX + 0.5) * Constants.TILE_SIZE;
+        return startX + (endX - startX) * jumpProgress;
+    }
+
+    @Override
+    public double getRenderY() {
+        if (!isJumping) return getPixelY();
+        double startY = (gridY + 0.5) * Constants.TILE_SIZE;
+        double endY = (jumpTargetY + 0.5) * Constants.TILE_SIZE;
+        double jumpHeight = Math.sin(jumpProgress * Math.PI) * Constants.TILE_SIZE;
+        return startY + (endY - startY) * jumpProgress - jumpHeight;
+    }
+
+    @Override
+    public double getRenderExtent() {
+        // Sprite plus the wall pass ring
+        double extent = SkinManager.getDisplaySize() * 0.5 + 5;
+        if (hasShield) {
+            extent = Math.max(extent, SkinManager.getDisplaySize() * 0.6 + 6);
         }
+        if (hasEffect(ItemType.MAGNET)) {
+            extent = Math.max(extent, Constants.MAGNET_RANGE * Constants.TILE_SIZE + 2);
+        }
+        return extent;
+    }
+
+    @Override
+    public boolean isAnimating() {
+        // Facing and effect rings can change without the player moving
+        return true;
+    }
+
+    @Override
+    public void render(Renderer gc) {
+        double pixelX = getRenderX();
+        double pixelY = getRenderY();
 
         // Shield effect
         if (hasShield) {
-            gc.setFill(Color.web(Constants.COLOR_ITEM_SHIELD, 0.3));
+            gc.setFill(Palette.getInstance().color(Constants.COLOR_ITEM_SHIELD, 0.3));
             double shieldSize = SkinManager.getDisplaySize() * 0.6;
             gc.fillOval(pixelX - shieldSize - 5, pixelY - shieldSize - 5, (shieldSize + 5) * 2, (shieldSize + 5) * 2);
         }
 
         Direction facingDir = (direction != Direction.NONE) ? direction : lastFacingDirection;
-        Image playerImage = SkinManager.getInstance().getImage(facingDir);
+        ImageRenderer images = gc instanceof ImageRenderer imageRenderer ? imageRenderer : null;
+        Image playerImage = images != null ? SkinManager.getInstance().getImage(facingDir) : null;
 
         if (playerImage != null) {
             double imgWidth = playerImage.getWidth();
             double imgHeight = playerImage.getHeight();
-            gc.drawImage(playerImage, pixelX - imgWidth / 2, pixelY - imgHeight / 2);
+            images.drawImage(playerImage, pixelX - imgWidth / 2, pixelY - imgHeight / 2);
         } else {
             renderFallback(gc, pixelX, pixelY, facingDir);
         }
 
         // Wall pass effect
         if (hasEffect(ItemType.WALL_PASS)) {
-            gc.setStroke(Color.web(Constants.COLOR_ITEM_WALL_PASS, 0.7));
+            gc.setStroke(Palette.getInstance().color(Constants.COLOR_ITEM_WALL_PASS, 0.7));
             gc.setLineWidth(2);
             double effectSize = SkinManager.getDisplaySize() * 0.5;
             gc.strokeOval(pixelX - effectSize - 3, pixelY - effectSize - 3, (effectSize + 3) * 2, (effectSize + 3) * 2);
         }
 
         // Magnet range indicator
-        if (hasEffect(ItemType.MAGNET)) {
-            gc.setStroke(Color.web(Constants.COLOR_ITEM_MAGNET, 0.3));
+        if (hasEffect(ItemType.MAGNET) && RenderQuality.getInstance().isEnabled(RenderQuality.Effect.MAGNET_RING)) {
+            gc.setStroke(Palette.getInstance().color(Constants.COLOR_ITEM_MAGNET, 0.3));
             gc.setLineWidth(1);
             double magnetRadius = Constants.MAGNET_RANGE * Constants.TILE_SIZE;
             gc.strokeOval(pixelX - magnetRadius, pixelY - magnetRadius, magnetRadius * 2, magnetRadius * 2);
@@ -336,12 +405,12 @@ public class Player extends Entity {
     /**
      * Fallback rendering when skin images are unavailable.
      */
-    private void renderFallback(GraphicsContext gc, double pixelX, double pixelY, Direction facingDir) {
-        gc.setFill(Color.web(Constants.COLOR_PLAYER));
+    private void renderFallback(Renderer gc, double pixelX, double pixelY, Direction facingDir) {
+        gc.setFill(Palette.getInstance().color(Constants.COLOR_PLAYER));
         gc.fillOval(pixelX - Constants.PLAYER_RADIUS, pixelY - Constants.PLAYER_RADIUS,
                 Constants.PLAYER_RADIUS * 2, Constants.PLAYER_RADIUS * 2);
 
-        gc.setFill(Color.web(Constants.COLOR_FLOOR));
+        gc.setFill(Palette.getInstance().color(Constants.COLOR_FLOOR));
         double mouthAngle = switch (facingDir) {
             case RIGHT -> 0;
             case DOWN -> 90;
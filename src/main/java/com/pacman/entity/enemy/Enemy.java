@@ -2,10 +2,12 @@ package com.pacman.entity.enemy;
 
 import com.pacman.entity.Entity;
 import com.pacman.entity.Player;
+import com.pacman.entity.enemy.GhostSpriteAtlas.BodyVariant;
+import com.pacman.entity.enemy.GhostSpriteAtlas.EyeStyle;
 import com.pacman.map.GameMap;
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
 import com.pacman.util.Direction;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 import java.util.ArrayList;
@@ -171,28 +173,21 @@ public abstract class Enemy extends Entity {
     }
 
     @Override
-    public void render(GraphicsContext gc) {
-        double pixelX = getPixelX();
-        double pixelY = getPixelY();
-
-        if (frozen) {
-            gc.setFill(Color.LIGHTBLUE);
-        } else {
-            gc.setFill(Color.web(color));
-        }
-
-        renderGhostBody(gc, pixelX, pixelY);
-        renderEyes(gc, pixelX, pixelY);
+    public void render(Renderer gc) {
+        GhostSpriteAtlas atlas = GhostSpriteAtlas.getInstance();
+        BodyVariant variant = frozen ? BodyVariant.FROZEN : BodyVariant.NORMAL;
+        atlas.drawBody(gc, color, variant, getPixelX(), getPixelY());
+        atlas.drawEyes(gc, EyeStyle.NORMAL, direction, getPixelX(), getPixelY());
+    }
 
-        if (frozen) {
-            gc.setStroke(Color.CYAN);
-            gc.setLineWidth(2);
-            gc.strokeOval(pixelX - ENEMY_RADIUS - 2, pixelY - ENEMY_RADIUS - 2,
-                    (ENEMY_RADIUS + 2) * 2, (ENEMY_RADIUS + 2) * 2);
-        }
+    @Override
+    public double getRenderExtent() {
+        // Leaves room for the frozen ring, phantom waves and hunter speed lines
+        return ENEMY_RADIUS + 14;
     }
 
-    protected void renderGhostBody(GraphicsContext gc, double x, double y) {
+    /** Vector ghost body, used to rasterize the sprite atlas */
+    static void drawGhostBody(Renderer gc, double x, double y) {
         gc.fillArc(x - ENEMY_RADIUS, y - ENEMY_RADIUS, ENEMY_RADIUS * 2, ENEMY_RADIUS * 2,
                 0, 180, javafx.scene.shape.ArcType.ROUND);
         gc.fillRect(x - ENEMY_RADIUS, y, ENEMY_RADIUS * 2, ENEMY_RADIUS * 0.7);
@@ -204,7 +199,16 @@ public abstract class Enemy extends Entity {
         }
     }
 
-    protected void renderEyes(GraphicsContext gc, double x, double y) {
+    /** Vector frozen outline, used to rasterize the sprite atlas */
+    static void drawFrozenRing(Renderer gc, double x, double y) {
+        gc.setStroke(Color.CYAN);
+        gc.setLineWidth(2);
+        gc.strokeOval(x - ENEMY_RADIUS - 2, y - ENEMY_RADIUS - 2,
+                (ENEMY_RADIUS + 2) * 2, (ENEMY_RADIUS + 2) * 2);
+    }
+
+    /** Vector eyes looking in the given direction, used to rasterize the sprite atlas */
+    static void drawEyes(Renderer gc, double x, double y, Direction direction) {
         gc.setFill(Color.WHITE);
         gc.fillOval(x - ENEMY_RADIUS * 0.5, y - ENEMY_RADIUS * 0.4, ENEMY_RADIUS * 0.4, ENEMY_RADIUS * 0.5);
         gc.fillOval(x + ENEMY_RADIUS * 0.1, y - ENEMY_RADIUS * 0.4, ENEMY_RADIUS * 0.4, ENEMY_RADIUS * 0.5);
@@ -218,6 +222,20 @@ public abstract class Enemy extends Entity {
                 ENEMY_RADIUS * 0.2, ENEMY_RADIUS * 0.3);
     }
 
+    @Override
+    public Enemy renderCopy() {
+        Enemy copy = (Enemy) super.renderCopy();
+        copy.gameMap = null;
+        copy.player = null;
+        return copy;
+    }
+
+    @Override
+    public void copyRenderState(Entity source) {
+        super.copyRenderState(source);
+        this.frozen = ((Enemy) source).frozen;
+    }
+
     public boolean isFrozen() { return frozen; }
     public String getColor() { return color; }
 }
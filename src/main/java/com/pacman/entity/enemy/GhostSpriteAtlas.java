@@ -0,0 +1,164 @@
+package com.pacman.entity.enemy;
+
+import com.pacman.render.FxRenderer;
+import com.pacman.render.ImageRenderer;
+import com.pacman.render.Renderer;
+import com.pacman.util.Constants;
+import com.pacman.util.Direction;
+import com.pacman.util.Palette;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ghost sprite atlas (OOP: Singleton pattern)
+ * Pre-rasterizes ghost bodies and eyes into a single image on first use,
+ * so drawing an enemy is a couple of drawImage calls. Renderers without
+ * image support get the same shapes drawn as vectors.
+ */
+public class GhostSpriteAtlas {
+    /** Body appearance variants */
+    public enum BodyVariant {
+        NORMAL, FROZEN, RUSHING
+    }
+
+    /** Eye styles used by the different enemy types */
+    public enum EyeStyle {
+        NORMAL, ANGRY, PHANTOM
+    }
+
+    private static final String[] GHOST_COLORS = {
+            Constants.COLOR_CHASER,
+            Constants.COLOR_WANDERER,
+            Constants.COLOR_HUNTER,
+            Constants.COLOR_PATROLLER,
+            Constants.COLOR_PHANTOM
+    };
+    private static final String COLOR_RUSHING = "#FF6600";
+    private static final int CELL_SIZE = (Enemy.ENEMY_RADIUS + 4) * 2;
+
+    /** Body row: one cell per ghost color, then the frozen and rushing cells */
+    private static final int FROZEN_CELL = GHOST_COLORS.length;
+    private static final int RUSHING_CELL = GHOST_COLORS.length + 1;
+    private static final int BODY_CELLS = GHOST_COLORS.length + 2;
+
+    /** Created eagerly, after the color table it reads: thumbnails render enemies on several threads */
+    private static final GhostSpriteAtlas INSTANCE = new GhostSpriteAtlas();
+
+    private final Map<String, Integer> colorCells;
+    private WritableImage atlas;
+    private int paletteVersion;
+
+    private GhostSpriteAtlas() {
+        this.colorCells = new HashMap<>();
+        for (int i = 0; i < GHOST_COLORS.length; i++) {
+            colorCells.put(GHOST_COLORS[i], i);
+        }
+    }
+
+    /** The atlas is rasterized on the FX Application Thread, by the first draw to an FX renderer */
+    public static GhostSpriteAtlas getInstance() {
+        return INSTANCE;
+    }
+
+    /** Rasterize now rather than on the first frame (FX thread) */
+    public void prepare() {
+        ensureCurrent();
+    }
+
+    /** Re-rasterize when the palette theme has changed */
+    private void ensureCurrent() {
+        if (paletteVersion != Palette.getInstance().getVersion()) {
+            rasterize();
+        }
+    }
+
+    private void rasterize() {
+        Palette palette = Palette.getInstance();
+        int columns = Math.max(BODY_CELLS, Direction.values().length);
+        int rows = 1 + EyeStyle.values().length;
+        Canvas canvas = new Canvas(columns * CELL_SIZE, rows * CELL_SIZE);
+        Renderer gc = new FxRenderer(canvas.getGraphicsContext2D());
+
+        // Bodies
+        for (int i = 0; i < GHOST_COLORS.length; i++) {
+            drawVectorBody(gc, GHOST_COLORS[i], BodyVariant.NORMAL, cellCenter(i), cellCenter(0));
+        }
+        drawVectorBody(gc, null, BodyVariant.FROZEN, cellCenter(FROZEN_CELL), cellCenter(0));
+        drawVectorBody(gc, null, BodyVariant.RUSHING, cellCenter(RUSHING_CELL), cellCenter(0));
+
+        // Eyes, one row per style and one column per direction
+        for (EyeStyle style : EyeStyle.values()) {
+            for (Direction dir : Direction.values()) {
+                drawVectorEyes(gc, style, dir, cellCenter(dir.ordinal()), cellCenter(1 + style.ordinal()));
+            }
+        }
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        atlas = canvas.snapshot(params, atlas);
+        paletteVersion = palette.getVersion();
+    }
+
+    private static double cellCenter(int index) {
+        return index * CELL_SIZE + CELL_SIZE / 2.0;
+    }
+
+    /** Vector body for a variant; color is only used for NORMAL */
+    private static void drawVectorBody(Renderer gc, String color, BodyVariant variant, double x, double y) {
+        switch (variant) {
+            case FROZEN -> gc.setFill(Color.LIGHTBLUE);
+            case RUSHING -> gc.setFill(Palette.getInstance().color(COLOR_RUSHING));
+            case NORMAL -> gc.setFill(Palette.getInstance().color(color));
+        }
+        Enemy.drawGhostBody(gc, x, y);
+        if (variant == BodyVariant.FROZEN) {
+            Enemy.drawFrozenRing(gc, x, y);
+        }
+    }
+
+    private static void drawVectorEyes(Renderer gc, EyeStyle style, Direction direction, double x, double y) {
+        switch (style) {
+            case NORMAL -> Enemy.drawEyes(gc, x, y, direction);
+            case ANGRY -> Hunter.drawAngryEyes(gc, x, y, direction);
+            case PHANTOM -> Phantom.drawPhantomEyes(gc, x, y, direction);
+        }
+    }
+
+    /** Draw a ghost body centered on (x, y) */
+    public void drawBody(Renderer gc, String color, BodyVariant variant, double x, double y) {
+        int cell = switch (variant) {
+            case FROZEN -> FROZEN_CELL;
+            case RUSHING -> RUSHING_CELL;
+            case NORMAL -> colorCells.getOrDefault(color, -1);
+        };
+
+        if (cell < 0 || !(gc instanceof ImageRenderer images)) {
+            // Color outside the atlas or no image support, fall back to vector drawing
+            drawVectorBody(gc, color, variant, x, y);
+            return;
+        }
+        ensureCurrent();
+        drawCell(images, cell, 0, x, y);
+    }
+
+    /** Draw a pair of eyes looking in the given direction, centered on (x, y) */
+    public void drawEyes(Renderer gc, EyeStyle style, Direction direction, double x, double y) {
+        if (!(gc instanceof ImageRenderer images)) {
+            drawVectorEyes(gc, style, direction, x, y);
+            return;
+        }
+        ensureCurrent();
+        drawCell(images, direction.ordinal(), 1 + style.ordinal(), x, y);
+    }
+
+    private void drawCell(ImageRenderer gc, int column, int row, double x, double y) {
+        gc.drawImage(atlas,
+                column * CELL_SIZE, row * CELL_SIZE, CELL_SIZE, CELL_SIZE,
+                x - CELL_SIZE / 2.0, y - CELL_SIZE / 2.0, CELL_SIZE, CELL_SIZE);
+    }
+}
@@ -1,8 +1,13 @@
 package com.pacman.entity.enemy;
 
+import com.pacman.effect.EffectManager;
+import com.pacman.effect.EffectType;
+import com.pacman.entity.Entity;
+import com.pacman.entity.enemy.GhostSpriteAtlas.BodyVariant;
+import com.pacman.entity.enemy.GhostSpriteAtlas.EyeStyle;
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
 import com.pacman.util.Direction;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 import java.util.List;
@@ -18,6 +23,9 @@ public class Hunter extends Enemy {
     private double rushDuration;
     private static final double MAX_RUSH_DURATION = 2.0;
     private static final double RUSH_COOLDOWN_TIME = 1.5;
+    /** Seconds of rushing between trail emissions */
+    private static final double TRAIL_INTERVAL = 0.05;
+    private double trailTimer;
 
     public Hunter(double gridX, double gridY) {
         super(gridX, gridY, Constants.HUNTER_BASE_SPEED, Constants.COLOR_HUNTER);
@@ -39,6 +47,8 @@ public class Hunter extends Enemy {
             rushDuration += deltaTime;
             if (rushDuration >= MAX_RUSH_DURATION) {
                 stopRush();
+            } else if (!frozen) {
+                emitTrail(deltaTime);
             }
         }
         super.update(deltaTime);
@@ -47,9 +57,20 @@ public class Hunter extends Enemy {
     private void startRush() {
         isRushing = true;
         rushDuration = 0;
+        trailTimer = 0;
         speed = Constants.HUNTER_RUSH_SPEED;
     }
 
+    /** Rush trail particles streaming out behind the hunter */
+    private void emitTrail(double deltaTime) {
+        trailTimer += deltaTime;
+        if (trailTimer < TRAIL_INTERVAL) return;
+        trailTimer -= TRAIL_INTERVAL;
+        EffectManager.getInstance().emit(EffectType.RUSH_TRAIL,
+                getPixelX() - direction.getDx() * 10, getPixelY() - direction.getDy() * 10,
+                -direction.getDx(), -direction.getDy());
+    }
+
     private void stopRush() {
         isRushing = false;
         rushCooldown = RUSH_COOLDOWN_TIME;
@@ -137,46 +158,19 @@ public class Hunter extends Enemy {
     }
 
     @Override
-    public void render(GraphicsContext gc) {
+    public void render(Renderer gc) {
         double pixelX = getPixelX();
         double pixelY = getPixelY();
 
-        if (frozen) {
-            gc.setFill(Color.LIGHTBLUE);
-        } else if (isRushing) {
-            gc.setFill(Color.web("#FF6600"));
-        } else {
-            gc.setFill(Color.web(color));
-        }
-
-        renderGhostBody(gc, pixelX, pixelY);
-
-        if (isRushing) {
-            renderAngryEyes(gc, pixelX, pixelY);
-        } else {
-            renderEyes(gc, pixelX, pixelY);
-        }
-
-        // Rush speed lines effect
-        if (isRushing && !frozen) {
-            gc.setStroke(Color.ORANGE);
-            gc.setLineWidth(2);
-            double offsetX = -direction.getDx() * 10;
-            double offsetY = -direction.getDy() * 10;
-            for (int i = 0; i < 3; i++) {
-                gc.strokeLine(pixelX + offsetX + random.nextInt(10) - 5, pixelY + offsetY + random.nextInt(10) - 5,
-                        pixelX + offsetX * 1.5 + random.nextInt(10) - 5, pixelY + offsetY * 1.5 + random.nextInt(10) - 5);
-            }
-        }
-
-        if (frozen) {
-            gc.setStroke(Color.CYAN);
-            gc.setLineWidth(2);
-            gc.strokeOval(pixelX - ENEMY_RADIUS - 2, pixelY - ENEMY_RADIUS - 2, (ENEMY_RADIUS + 2) * 2, (ENEMY_RADIUS + 2) * 2);
-        }
+        GhostSpriteAtlas atlas = GhostSpriteAtlas.getInstance();
+        BodyVariant variant = frozen ? BodyVariant.FROZEN
+                : isRushing ? BodyVariant.RUSHING : BodyVariant.NORMAL;
+        atlas.drawBody(gc, color, variant, pixelX, pixelY);
+        atlas.drawEyes(gc, isRushing ? EyeStyle.ANGRY : EyeStyle.NORMAL, direction, pixelX, pixelY);
     }
 
-    private void renderAngryEyes(GraphicsContext gc, double x, double y) {
+    /** Vector angry eyes shown while rushing, used to rasterize the sprite atlas */
+    static void drawAngryEyes(Renderer gc, double x, double y, Direction direction) {
         gc.setFill(Color.WHITE);
         gc.fillOval(x - ENEMY_RADIUS * 0.45, y - ENEMY_RADIUS * 0.35, ENEMY_RADIUS * 0.35, ENEMY_RADIUS * 0.4);
         gc.fillOval(x + ENEMY_RADIUS * 0.1, y - ENEMY_RADIUS * 0.35, ENEMY_RADIUS * 0.35, ENEMY_RADIUS * 0.4);
@@ -188,5 +182,11 @@ public class Hunter extends Enemy {
         gc.fillOval(x + ENEMY_RADIUS * 0.2 + pupilOffsetX, y - ENEMY_RADIUS * 0.25 + pupilOffsetY, ENEMY_RADIUS * 0.2, ENEMY_RADIUS * 0.25);
     }
 
+    @Override
+    public void copyRenderState(Entity source) {
+        super.copyRenderState(source);
+        this.isRushing = ((Hunter) source).isRushing;
+    }
+
     public boolean isRushing() { return isRushing; }
 }
@@ -150,8 +150,8 @@ public class Patroller extends Enemy {
                 while (distance < 8) {
                     testX += dir.getDx();
                     testY += dir.getDy();
-                    if (testX < 1 || testX >= Constants.MAP_COLS - 1 ||
-                            testY < 1 || testY >= Constants.MAP_ROWS - 1 ||
+                    if (testX < 1 || testX >= gameMap.getWidth() - 1 ||
+                            testY < 1 || testY >= gameMap.getHeight() - 1 ||
                             !gameMap.canMoveTo(testX, testY, false)) break;
                     distance++;
                 }
@@ -182,7 +182,7 @@ public class Patroller extends Enemy {
             for (int[] delta : directions) {
                 int px = startX + delta[0];
                 int py = startY + delta[1];
-                if (px >= 1 && px < Constants.MAP_COLS - 1 && py >= 1 && py < Constants.MAP_ROWS - 1 &&
+                if (px >= 1 && px < gameMap.getWidth() - 1 && py >= 1 && py < gameMap.getHeight() - 1 &&
                         gameMap.canMoveTo(px, py, false)) {
                     patrolPath.add(new int[]{px, py});
                 }
@@ -190,6 +190,13 @@ public class Patroller extends Enemy {
         }
     }
 
+    @Override
+    public Patroller renderCopy() {
+        Patroller copy = (Patroller) super.renderCopy();
+        copy.patrolPath = null;
+        return copy;
+    }
+
     public List<int[]> getPatrolPath() { return patrolPath; }
     public int getCurrentPathIndex() { return currentPathIndex; }
 }
@@ -1,8 +1,13 @@
 package com.pacman.entity.enemy;
 
+import com.pacman.entity.Entity;
+import com.pacman.entity.enemy.GhostSpriteAtlas.BodyVariant;
+import com.pacman.entity.enemy.GhostSpriteAtlas.EyeStyle;
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
 import com.pacman.util.Direction;
-import javafx.scene.canvas.GraphicsContext;
+import com.pacman.util.Palette;
+import com.pacman.util.RenderQuality;
 import javafx.scene.paint.Color;
 
 import java.util.ArrayList;
@@ -171,48 +176,45 @@ public class Phantom extends Enemy {
     }
 
     @Override
-    public void render(GraphicsContext gc) {
+    public void render(Renderer gc) {
         double pixelX = getPixelX();
         double pixelY = getPixelY();
 
         gc.setGlobalAlpha(opacity);
 
-        if (frozen) {
-            gc.setFill(Color.LIGHTBLUE);
-        } else {
-            gc.setFill(Color.web(color));
-        }
-
-        renderGhostBody(gc, pixelX, pixelY);
-        renderPhantomEyes(gc, pixelX, pixelY);
+        GhostSpriteAtlas atlas = GhostSpriteAtlas.getInstance();
+        BodyVariant variant = frozen ? BodyVariant.FROZEN : BodyVariant.NORMAL;
+        atlas.drawBody(gc, color, variant, pixelX, pixelY);
+        atlas.drawEyes(gc, EyeStyle.PHANTOM, direction, pixelX, pixelY);
 
         // Wave effect when invisible
-        if (invisible && opacity > 0.1) {
-            gc.setStroke(Color.web(color, 0.3));
+        if (invisible && opacity > 0.1 && RenderQuality.getInstance().isEnabled(RenderQuality.Effect.PHANTOM_WAVES)) {
+            gc.setStroke(Palette.getInstance().color(color, 0.3));
             gc.setLineWidth(1);
-            double waveOffset = (System.currentTimeMillis() % 1000) / 1000.0 * Math.PI * 2;
+            // Phase follows game time, so the snapshot renders the same way at any frame rate
+            double waveOffset = visibilityTimer * Math.PI * 2;
             for (int i = 0; i < 3; i++) {
                 double waveRadius = ENEMY_RADIUS + 3 + i * 4 + Math.sin(waveOffset + i) * 2;
                 gc.strokeOval(pixelX - waveRadius, pixelY - waveRadius, waveRadius * 2, waveRadius * 2);
             }
         }
 
-        if (frozen) {
-            gc.setStroke(Color.CYAN);
-            gc.setLineWidth(2);
-            gc.strokeOval(pixelX - ENEMY_RADIUS - 2, pixelY - ENEMY_RADIUS - 2, (ENEMY_RADIUS + 2) * 2, (ENEMY_RADIUS + 2) * 2);
-        }
-
         gc.setGlobalAlpha(1.0);
     }
 
-    private void renderPhantomEyes(GraphicsContext gc, double x, double y) {
+    @Override
+    public boolean isAnimating() {
+        return invisible || opacity < 1.0;
+    }
+
+    /** Vector hollow phantom eyes, used to rasterize the sprite atlas */
+    static void drawPhantomEyes(Renderer gc, double x, double y, Direction direction) {
         gc.setStroke(Color.WHITE);
         gc.setLineWidth(2);
         gc.strokeOval(x - ENEMY_RADIUS * 0.5, y - ENEMY_RADIUS * 0.4, ENEMY_RADIUS * 0.35, ENEMY_RADIUS * 0.45);
         gc.strokeOval(x + ENEMY_RADIUS * 0.15, y - ENEMY_RADIUS * 0.4, ENEMY_RADIUS * 0.35, ENEMY_RADIUS * 0.45);
 
-        gc.setFill(Color.web("#FFFFFF", 0.6));
+        gc.setFill(Palette.getInstance().color("#FFFFFF", 0.6));
         double pupilOffsetX = direction.getDx() * 1.5;
         double pupilOffsetY = direction.getDy() * 1.5;
         gc.fillOval(x - ENEMY_RADIUS * 0.38 + pupilOffsetX, y - ENEMY_RADIUS * 0.25 + pupilOffsetY, ENEMY_RADIUS * 0.15, ENEMY_RADIUS * 0.2);
@@ -257,8 +259,8 @@ public class Phantom extends Enemy {
                 while (distance < 8) {
                     testX += dir.getDx();
                     testY += dir.getDy();
-                    if (testX < 1 || testX >= Constants.MAP_COLS - 1 ||
-                            testY < 1 || testY >= Constants.MAP_ROWS - 1 ||
+                    if (testX < 1 || testX >= gameMap.getWidth() - 1 ||
+                            testY < 1 || testY >= gameMap.getHeight() - 1 ||
                             !gameMap.canMoveTo(testX, testY, false)) break;
                     distance++;
                 }
@@ -289,7 +291,7 @@ public class Phantom extends Enemy {
             for (int[] delta : directions) {
                 int px = startX + delta[0];
                 int py = startY + delta[1];
-                if (px >= 1 && px < Constants.MAP_COLS - 1 && py >= 1 && py < Constants.MAP_ROWS - 1 &&
+                if (px >= 1 && px < gameMap.getWidth() - 1 && py >= 1 && py < gameMap.getHeight() - 1 &&
                         gameMap.canMoveTo(px, py, false)) {
                     patrolPath.add(new int[]{px, py});
                 }
@@ -297,6 +299,23 @@ public class Phantom extends Enemy {
         }
     }
 
+    @Override
+    public Phantom renderCopy() {
+        Phantom copy = (Phantom) super.renderCopy();
+        copy.patrolPath = null;
+        return copy;
+    }
+
+    @Override
+    public void copyRenderState(Entity source) {
+        super.copyRenderState(source);
+        Phantom phantom = (Phantom) source;
+        this.invisible = phantom.invisible;
+        this.visibilityTimer = phantom.visibilityTimer;
+        this.opacity = phantom.opacity;
+    }
+
     public boolean isInvisible() { return invisible; }
     public double getOpacity() { return opacity; }
+    public List<int[]> getPatrolPath() { return patrolPath; }
 }
@@ -0,0 +1,93 @@
+package com.pacman.game;
+
+import com.pacman.util.Constants;
+import com.pacman.util.RenderQuality;
+
+/**
+ * Frame pacing and adaptive quality controller.
+ * Caps rendering at the target rate, measures the cost of each simulation
+ * tick and each rendered frame, and drops optional effects one at a time
+ * while rendering runs over budget, bringing them back once there is headroom.
+ * Ticks run on their own thread, so their cost doesn't count against the
+ * render budget; ticks longer than Constants.FRAME_TIME are only counted.
+ */
+public class FramePacer {
+    /** Weight of the newest sample in the moving averages */
+    private static final double SMOOTHING = 0.1;
+    /** Over budget for this many frames in a row before dropping an effect */
+    private static final int DEGRADE_FRAMES = 30;
+    /** Comfortably under budget for this many frames before restoring one */
+    private static final int RESTORE_FRAMES = 240;
+    /** Fraction of the budget below which there is room to restore effects */
+    private static final double RESTORE_THRESHOLD = 0.6;
+
+    private final long targetNanos;
+    private long nextFrameDue;
+    private volatile double averageUpdateNanos;
+    /** Ticks that took longer than one simulation step, written by the simulation thread */
+    private volatile long tickOverruns;
+    private double averageRenderNanos;
+    private int overBudgetFrames;
+    private int underBudgetFrames;
+
+    public FramePacer(long targetNanos) {
+        this.targetNanos = targetNanos;
+    }
+
+    /** Forget measurements, e.g. when a level restarts */
+    public void reset() {
+        nextFrameDue = 0;
+        averageUpdateNanos = 0;
+        tickOverruns = 0;
+        averageRenderNanos = 0;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+    }
+
+    /**
+     * Whether to render on this display pulse. Keeps the average rate at the
+     * target even when the display refreshes faster.
+     */
+    public boolean shouldRender(long now) {
+        if (now < nextFrameDue) return false;
+        nextFrameDue += targetNanos;
+        if (nextFrameDue < now) {
+            // Fell behind (or first frame), don't render a burst to catch up
+            nextFrameDue = now + targetNanos;
+        }
+        return true;
+    }
+
+    /** Record the cost of one simulation tick (simulation thread) */
+    public void recordUpdate(long nanos) {
+        averageUpdateNanos += (nanos - averageUpdateNanos) * SMOOTHING;
+        if (nanos > Constants.FRAME_TIME) tickOverruns++;
+    }
+
+    /** Record the cost of one rendered frame and adapt quality (FX thread) */
+    public void recordRender(long nanos) {
+        averageRenderNanos += (nanos - averageRenderNanos) * SMOOTHING;
+
+        double cost = averageRenderNanos;
+        if (cost > targetNanos) {
+            underBudgetFrames = 0;
+            if (++overBudgetFrames >= DEGRADE_FRAMES) {
+                overBudgetFrames = 0;
+                RenderQuality.getInstance().reduce();
+            }
+        } else if (cost < targetNanos * RESTORE_THRESHOLD) {
+            overBudgetFrames = 0;
+            if (++underBudgetFrames >= RESTORE_FRAMES) {
+                underBudgetFrames = 0;
+                RenderQuality.getInstance().restore();
+            }
+        } else {
+            overBudgetFrames = 0;
+            underBudgetFrames = 0;
+        }
+    }
+
+    public double getAverageUpdateMillis() { return averageUpdateNanos / 1_000_000.0; }
+    public double getAverageRenderMillis() { return averageRenderNanos / 1_000_000.0; }
+    public long getTickOverruns() { return tickOverruns; }
+}
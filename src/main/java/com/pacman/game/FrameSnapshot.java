@@ -0,0 +1,55 @@
+package com.pacman.game;
+
+import com.pacman.entity.Player;
+import com.pacman.map.GameMap;
+import com.pacman.map.MapSnapshot;
+
+/**
+ * Render snapshot of one simulation tick.
+ * Game keeps three per map and passes them around instead of allocating:
+ * the simulation thread refills its back buffer each tick and swaps it
+ * into the ready slot, and the renderer swaps the ready one out to draw.
+ * A snapshot is never written while the renderer holds it.
+ */
+public final class FrameSnapshot {
+    private final Player player;
+    private final MapSnapshot map;
+    private long tick;
+    private GameState state;
+    private int countdown;
+    private double gameTime;
+    private int lives;
+    private int remainingDots;
+    private int collectedDots;
+
+    /** Buffer for a game on this map, with its own render copies of the entities */
+    FrameSnapshot(GameMap gameMap, Player player) {
+        this.player = player.renderCopy();
+        this.map = gameMap.newSnapshot();
+    }
+
+    /** Refill from the simulation (simulation thread) */
+    void update(long tick, GameState state, int countdown, double gameTime, int lives,
+                GameMap gameMap, Player livePlayer) {
+        this.tick = tick;
+        this.state = state;
+        this.countdown = countdown;
+        this.gameTime = gameTime;
+        this.lives = lives;
+        this.remainingDots = gameMap.getRemainingDots();
+        this.collectedDots = gameMap.getCollectedDots();
+        player.copyRenderState(livePlayer);
+        gameMap.updateSnapshot(map);
+    }
+
+    /** Simulation tick this snapshot was taken at; later snapshots have larger ticks */
+    public long tick() { return tick; }
+    public GameState state() { return state; }
+    public int countdown() { return countdown; }
+    public double gameTime() { return gameTime; }
+    public int lives() { return lives; }
+    public int remainingDots() { return remainingDots; }
+    public int collectedDots() { return collectedDots; }
+    public Player player() { return player; }
+    public MapSnapshot map() { return map; }
+}
@@ -1,14 +1,28 @@
 package com.pacman.game;
 
+import com.pacman.effect.EffectManager;
+import com.pacman.effect.ParticleSystem;
 import com.pacman.entity.Player;
+import com.pacman.entity.enemy.Enemy;
+import com.pacman.map.Camera;
+import com.pacman.map.DirtyRegionTracker;
 import com.pacman.map.GameMap;
+import com.pacman.map.MazeChunkGenerator;
+import com.pacman.map.TileBitmap;
+import com.pacman.render.FxRenderer;
+import com.pacman.render.Renderer;
+import com.pacman.ui.Minimap;
 import com.pacman.ui.SceneManager;
+import com.pacman.ui.TextCache;
 import com.pacman.util.Constants;
 import com.pacman.util.Direction;
-import com.pacman.util.LevelLoader;
+import com.pacman.util.LevelCache;
 import com.pacman.util.SoundManager;
 import com.pacman.util.SoundManager.SoundType;
+import com.pacman.util.Palette;
+import com.pacman.util.RenderQuality;
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -22,14 +36,23 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.stage.Stage;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * Main game controller - handles game loop, rendering, and input
+ * Main game controller - handles game loop, rendering, and input.
+ * The simulation runs on its own thread at a fixed tick rate and publishes
+ * a FrameSnapshot each tick, reusing preallocated buffers; the FX thread
+ * only renders the latest snapshot and forwards input through a queue.
  */
 public class Game {
     
     private int currentLevel;
-    private GameState state;
+    private volatile GameState state;
     private GameMap gameMap;
     private Player player;
     private Level level;
@@ -37,8 +60,26 @@ public class Game {
     private BorderPane mainLayout;
     private Canvas gameCanvas;
     private GraphicsContext gc;
-    private AnimationTimer gameLoop;
-    private long lastFrameTime;
+    private Renderer renderer;
+    private AnimationTimer renderLoop;
+    private long lastRenderTime;
+    private int lastRenderedCountdown;
+    private boolean forceRender;
+    private Thread simulationThread;
+    private volatile boolean running;
+    private final Queue<InputAction> inputQueue;
+    /** Snapshot the simulation fills (simulation thread) */
+    private FrameSnapshot back;
+    /** Snapshot being drawn (FX thread) */
+    private FrameSnapshot front;
+    /** Latest finished snapshot, swapped with back on publish and with front on render */
+    private final AtomicReference<FrameSnapshot> ready;
+    private long tick;
+    private final HudModel hud;
+    private final Camera camera;
+    private final FramePacer pacer;
+    private final ParticleSystem particles;
+    private int lastQualityVersion;
     private int lives;
     private double gameTime;
     private int countdown;
@@ -49,6 +90,25 @@ public class Game {
     private Label timeLabel;
     private Label livesLabel;
     private VBox pauseOverlay;
+    private final DirtyRegionTracker dirtyRegions;
+    private GameState lastRenderedState;
+    private boolean wasBlinded;
+    private TileBitmap tileBitmap;
+    private boolean zoomedOut;
+    private StackPane viewport;
+    private Minimap minimap;
+    private boolean showMinimap;
+    private Font countdownFont;
+
+    /** Frame interval while the window is minimized or unfocused */
+    private static final long ICONIFIED_FRAME_TIME = 500_000_000L;
+    private static final long UNFOCUSED_FRAME_TIME = 1_000_000_000L / 30;
+    /** Largest tile size in the zoomed-out view, in pixels */
+    private static final int OVERVIEW_MAX_TILE_PIXELS = Constants.TILE_SIZE / 4;
+    /** Countdown overlay strings, indexed by the countdown number */
+    private static final String[] COUNTDOWN_TEXTS = {"GO!", "1", "2", "3"};
+    /** Size of the particle pool */
+    private static final int MAX_PARTICLES = 1024;
 
     /** Collision cooldown to prevent repeated damage */
     private double collisionCooldown;
@@ -61,16 +121,38 @@ public class Game {
         this.countdown = 3;
         this.countdownTimer = 0;
         this.collisionCooldown = 0;
+        this.dirtyRegions = new DirtyRegionTracker();
+        this.inputQueue = new ConcurrentLinkedQueue<>();
+        this.ready = new AtomicReference<>();
+        this.hud = new HudModel();
+        this.camera = new Camera(Constants.MAP_WIDTH, Constants.MAP_HEIGHT);
+        this.pacer = new FramePacer(Constants.FRAME_TIME);
+        this.particles = new ParticleSystem(MAX_PARTICLES);
 
         initializeGame();
         createScene();
     }
     
     private void initializeGame() {
-        level = LevelLoader.loadLevel(currentLevel);
-        gameMap = LevelLoader.buildGameMap(level);
+        if (currentLevel == Constants.ENDLESS_LEVEL) {
+            // Every endless run is a new maze
+            level = null;
+            gameMap = MazeChunkGenerator.newEndlessMap(System.nanoTime());
+        } else {
+            // Parsed and built once per level; restarts only copy the template
+            LevelCache levels = LevelCache.getInstance();
+            level = levels.getLevel(currentLevel);
+            gameMap = levels.newGameMap(currentLevel);
+        }
         player = new Player(gameMap.getSpawnX(), gameMap.getSpawnY());
         player.setGameMap(gameMap);
+        tileBitmap = new TileBitmap(gameMap);
+        dirtyRegions.reset();
+
+        // Snapshot buffers hold render copies of this map's entities
+        back = new FrameSnapshot(gameMap, player);
+        front = new FrameSnapshot(gameMap, player);
+        ready.set(new FrameSnapshot(gameMap, player));
     }
     
     private void createScene() {
@@ -86,8 +168,17 @@ public class Game {
         
         gameCanvas = new Canvas(Constants.MAP_WIDTH, Constants.MAP_HEIGHT);
         gc = gameCanvas.getGraphicsContext2D();
-        canvasContainer.getChildren().add(gameCanvas);
+        renderer = new FxRenderer(gc);
+        // The canvas and the minimap in its corner
+        viewport = new StackPane(gameCanvas);
+        viewport.setMaxSize(Constants.MAP_WIDTH, Constants.MAP_HEIGHT);
+        installMinimap();
+        canvasContainer.getChildren().add(viewport);
         
+        // Countdown strings are rasterized once, not drawn as text every frame
+        countdownFont = TextCache.getInstance().font("Arial", FontWeight.BOLD, 72);
+        TextCache.getInstance().prepare(countdownFont, Color.WHITE, COUNTDOWN_TEXTS);
+
         pauseOverlay = createPauseOverlay();
         pauseOverlay.setVisible(false);
         canvasContainer.getChildren().add(pauseOverlay);
@@ -98,6 +189,21 @@ public class Game {
         setupKeyboardInput();
     }
     
+    /** Minimap for the current map, shown by default on maps larger than the view */
+    private void installMinimap() {
+        int index = viewport.getChildren().indexOf(minimap);
+        minimap = new Minimap(gameMap);
+        StackPane.setAlignment(minimap, Pos.TOP_RIGHT);
+        StackPane.setMargin(minimap, new Insets(8));
+        if (index >= 0) {
+            viewport.getChildren().set(index, minimap);
+        } else {
+            viewport.getChildren().add(minimap);
+        }
+        showMinimap = Minimap.isUseful(gameMap);
+        minimap.setVisible(showMinimap && !zoomedOut);
+    }
+
     private HBox createTopUI() {
         HBox topUI = new HBox(40);
         topUI.setAlignment(Pos.CENTER);
@@ -105,7 +211,8 @@ public class Game {
         topUI.setBackground(new Background(new BackgroundFill(
                 Color.web("#16213E"), CornerRadii.EMPTY, Insets.EMPTY)));
         
-        levelLabel = createUILabel("Level: " + currentLevel);
+        hud.setLevel(currentLevel);
+        levelLabel = createUILabel(hud.format(HudModel.Field.LEVEL));
         dotsLabel = createUILabel("Dots: " + gameMap.getRemainingDots());
         timeLabel = createUILabel("Time: 0.0s");
         livesLabel = createUILabel("Lives: " + lives);
@@ -113,12 +220,24 @@ public class Game {
         Button pauseBtn = new Button("Pause (ESC)");
         pauseBtn.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         pauseBtn.setStyle("-fx-background-color: #E94560; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5;");
-        pauseBtn.setOnAction(e -> togglePause());
+        pauseBtn.setOnAction(e -> enqueue(InputAction.TOGGLE_PAUSE));
         
         topUI.getChildren().addAll(levelLabel, dotsLabel, timeLabel, livesLabel, pauseBtn);
+        hud.addListener(this::onHudChanged);
         return topUI;
     }
     
+    /** Only touch a label when its displayed value changed */
+    private void onHudChanged(HudModel model, HudModel.Field field) {
+        Label label = switch (field) {
+            case LEVEL -> levelLabel;
+            case DOTS -> dotsLabel;
+            case TIME -> timeLabel;
+            case LIVES -> livesLabel;
+        };
+        label.setText(model.format(field));
+    }
+    
     private Label createUILabel(String text) {
         Label label = new Label(text);
         label.setFont(Font.font("Arial", FontWeight.BOLD, 18));
@@ -138,7 +257,7 @@ public class Game {
         pauseLabel.setTextFill(Color.WHITE);
 
         Button resumeBtn = createOverlayButton("Resume");
-        resumeBtn.setOnAction(e -> togglePause());
+        resumeBtn.setOnAction(e -> enqueue(InputAction.TOGGLE_PAUSE));
 
         Button restartBtn = createOverlayButton("Restart");
         restartBtn.setOnAction(e -> restartLevel());
@@ -146,7 +265,7 @@ public class Game {
         Button menuBtn = createOverlayButton("Back to Menu");
         menuBtn.setOnAction(e -> {
             stop();
-            SceneManager.getInstance().showMenu();
+            SceneManager.getInstance().onGameQuit();
         });
         
         overlay.getChildren().addAll(pauseLabel, resumeBtn, restartBtn, menuBtn);
@@ -177,65 +296,218 @@ public class Game {
             }
 
             if (code == KeyCode.ESCAPE || code == KeyCode.P) {
-                togglePause();
+                enqueue(InputAction.TOGGLE_PAUSE);
                 return;
             }
 
-            if (state == GameState.PLAYING || state == GameState.COUNTDOWN) {
-                Direction dir = null;
-                if (code == KeyCode.W || code == KeyCode.UP) {
-                    dir = Direction.UP;
-                } else if (code == KeyCode.S || code == KeyCode.DOWN) {
-                    dir = Direction.DOWN;
-                } else if (code == KeyCode.A || code == KeyCode.LEFT) {
-                    dir = Direction.LEFT;
-                } else if (code == KeyCode.D || code == KeyCode.RIGHT) {
-                    dir = Direction.RIGHT;
-                }
+            // Debug: outline the regions repainted each frame
+            if (code == KeyCode.F3) {
+                dirtyRegions.setDebugHighlight(!dirtyRegions.isDebugHighlight());
+                forceRender = true;
+                wakeRenderer();
+                return;
+            }
 
-                if (dir != null) {
-                    player.setNextDirection(dir);
-                }
+            // Toggle the zoomed-out overview of the map
+            if (code == KeyCode.Z) {
+                zoomedOut = !zoomedOut;
+                minimap.setVisible(showMinimap && !zoomedOut);
+                dirtyRegions.requestFullRepaint();
+                forceRender = true;
+                wakeRenderer();
+                return;
+            }
+
+            if (code == KeyCode.M) {
+                showMinimap = !showMinimap;
+                minimap.setVisible(showMinimap && !zoomedOut);
+                forceRender = true;
+                wakeRenderer();
+                return;
+            }
+
+            InputAction action = null;
+            if (code == KeyCode.W || code == KeyCode.UP) {
+                action = InputAction.MOVE_UP;
+            } else if (code == KeyCode.S || code == KeyCode.DOWN) {
+                action = InputAction.MOVE_DOWN;
+            } else if (code == KeyCode.A || code == KeyCode.LEFT) {
+                action = InputAction.MOVE_LEFT;
+            } else if (code == KeyCode.D || code == KeyCode.RIGHT) {
+                action = InputAction.MOVE_RIGHT;
+            }
+
+            if (action != null) {
+                enqueue(action);
             }
         });
     }
     
+    /** Hand input to the simulation thread, waking it if it is parked while paused */
+    private void enqueue(InputAction action) {
+        inputQueue.add(action);
+        Thread simulation = simulationThread;
+        if (simulation != null) {
+            LockSupport.unpark(simulation);
+        }
+    }
+    
+    /** Apply queued input on the simulation thread */
+    private void processInput() {
+        InputAction action;
+        while ((action = inputQueue.poll()) != null) {
+            if (action == InputAction.TOGGLE_PAUSE) {
+                togglePause();
+            } else if (state == GameState.PLAYING || state == GameState.COUNTDOWN) {
+                player.setNextDirection(action.getDirection());
+            }
+        }
+    }
+    
     private void togglePause() {
         if (state == GameState.PLAYING) {
             state = GameState.PAUSED;
-            pauseOverlay.setVisible(true);
         } else if (state == GameState.PAUSED) {
             state = GameState.PLAYING;
-            pauseOverlay.setVisible(false);
         }
     }
     
     public void start() {
-        lastFrameTime = System.nanoTime();
         mainLayout.requestFocus();
+        inputQueue.clear();
+        EffectManager.getInstance().clear();
+        particles.clear();
+        publishSnapshot();
+        pacer.reset();
+        forceRender = true;
+        running = true;
+
+        simulationThread = new Thread(this::runSimulation, "simulation");
+        simulationThread.setDaemon(true);
+        simulationThread.start();
 
-        gameLoop = new AnimationTimer() {
+        renderLoop = new AnimationTimer() {
             @Override
             public void handle(long now) {
-                double deltaTime = (now - lastFrameTime) / 1_000_000_000.0;
-                lastFrameTime = now;
-
-                deltaTime = Math.min(deltaTime, 0.05);
+                if (isIdle()) {
+                    // Nothing new to draw, sleep until the simulation wakes us
+                    stop();
+                    return;
+                }
+                if (now - lastRenderTime < backgroundFrameTime()) return;
+                if (!pacer.shouldRender(now)) return;
 
-                update(deltaTime);
+                lastRenderTime = now;
+                long renderStart = System.nanoTime();
                 render();
+                pacer.recordRender(System.nanoTime() - renderStart);
             }
         };
 
-        gameLoop.start();
+        renderLoop.start();
+    }
+    
+    /**
+     * Whether the last drawn frame is still current: paused (the overlay
+     * covers a frozen map) or the same countdown number.
+     */
+    private boolean isIdle() {
+        if (forceRender) return false;
+        FrameSnapshot frame = latestFrame();
+        if (frame.state() != lastRenderedState) return false;
+        return frame.state() == GameState.PAUSED
+                || (frame.state() == GameState.COUNTDOWN && frame.countdown() == lastRenderedCountdown);
+    }
+
+    /** Minimum time between frames when the window is in the background, 0 otherwise */
+    private long backgroundFrameTime() {
+        if (!(scene.getWindow() instanceof Stage stage)) return 0;
+        if (stage.isIconified()) return ICONIFIED_FRAME_TIME;
+        if (!stage.isFocused()) return UNFOCUSED_FRAME_TIME;
+        return 0;
+    }
+
+    /** Restart the render loop after an idle stretch (FX thread) */
+    private void wakeRenderer() {
+        if (running && renderLoop != null) {
+            renderLoop.start();
+        }
     }
     
     public void stop() {
-        if (gameLoop != null) {
-            gameLoop.stop();
+        running = false;
+        if (renderLoop != null) {
+            renderLoop.stop();
+        }
+        if (simulationThread != null) {
+            LockSupport.unpark(simulationThread);
+        }
+        if (simulationThread != null && simulationThread != Thread.currentThread()) {
+            try {
+                simulationThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // A stopped game never resumes its map, restarts build a new one
+        gameMap.release();
+    }
+    
+    /** Fixed-rate simulation loop, runs until stopped or the level ends */
+    private void runSimulation() {
+        long tickNanos = Constants.FRAME_TIME;
+        long lastTime = System.nanoTime();
+        long nextTick = lastTime + tickNanos;
+
+        while (running) {
+            // Nothing changes while paused, so sleep until input arrives
+            if (state == GameState.PAUSED && inputQueue.isEmpty()) {
+                LockSupport.park(this);
+                lastTime = System.nanoTime();
+                nextTick = lastTime + tickNanos;
+                continue;
+            }
+
+            long now = System.nanoTime();
+            double deltaTime = Math.min((now - lastTime) / 1_000_000_000.0, 0.05);
+            lastTime = now;
+
+            GameState stateBefore = state;
+            int countdownBefore = countdown;
+            processInput();
+            update(deltaTime);
+            publishSnapshot();
+            pacer.recordUpdate(System.nanoTime() - now);
+
+            if (state != stateBefore || countdown != countdownBefore) {
+                Platform.runLater(this::wakeRenderer);
+            }
+
+            long sleep = nextTick - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+                nextTick += tickNanos;
+            } else {
+                // Fell behind, don't try to catch up with a burst of ticks
+                nextTick = System.nanoTime() + tickNanos;
+            }
         }
     }
     
+    /** Fill the back buffer with this tick's state and hand it to the renderer */
+    private void publishSnapshot() {
+        back.update(++tick, state, countdown, gameTime, lives, gameMap, player);
+        back = ready.getAndSet(back);
+    }
+
+    /** Take the ready snapshot if it is newer than the one being drawn (FX thread) */
+    private FrameSnapshot latestFrame() {
+        if (ready.get().tick() > front.tick()) {
+            front = ready.getAndSet(front);
+        }
+        return front;
+    }
+    
     private void update(double deltaTime) {
         switch (state) {
             case COUNTDOWN -> updateCountdown(deltaTime);
@@ -260,6 +532,7 @@ public class Game {
     
     private void updatePlaying(double deltaTime) {
         gameTime += deltaTime;
+        EffectManager.getInstance().setTime(gameTime);
 
         // Update collision cooldown
         if (collisionCooldown > 0) {
@@ -272,12 +545,12 @@ public class Game {
         // Check collision only after cooldown expires
         if (collisionCooldown <= 0 && gameMap.checkEnemyCollision(player)) {
             lives--;
-            livesLabel.setText("Lives: " + lives);
             collisionCooldown = 1.5; // 1.5s cooldown to prevent rapid damage
             SoundManager.getInstance().play(SoundType.HURT);
 
             if (lives <= 0) {
                 onGameOver();
+                return;
             }
             // Continue game without respawning
         }
@@ -285,9 +558,6 @@ public class Game {
         if (gameMap.allDotsCollected()) {
             onLevelComplete();
         }
-
-        dotsLabel.setText("Dots: " + gameMap.getRemainingDots());
-        timeLabel.setText(String.format("Time: %.1fs", gameTime));
     }
     
     private void resetPlayerPosition() {
@@ -300,55 +570,195 @@ public class Game {
     private void restartLevel() {
         stop();
         initializeGame();
+        installMinimap();
         
         lives = Constants.DEFAULT_LIVES;
         gameTime = 0;
         countdown = 3;
         countdownTimer = 0;
+        collisionCooldown = 0;
         state = GameState.COUNTDOWN;
         
-        pauseOverlay.setVisible(false);
-        livesLabel.setText("Lives: " + lives);
-        dotsLabel.setText("Dots: " + gameMap.getRemainingDots());
-        timeLabel.setText("Time: 0.0s");
-        
         start();
     }
     
-    private void onGameOver() {
+    /**
+     * Swap in the current level as now cached (FX thread), after its file was
+     * edited. Lives and time carry on; the player stays where it is if that
+     * is still open floor, otherwise it goes to the new spawn point.
+     */
+    public void reloadLevel() {
+        if (!running) return;
         stop();
+        double x = player.getGridX();
+        double y = player.getGridY();
+        Direction direction = player.getDirection();
+
+        initializeGame();
+        installMinimap();
+        if (gameMap.canMoveTo(x, y, false)) {
+            player.setGridX(x);
+            player.setGridY(y);
+            player.setDirection(direction);
+        }
+        start();
+    }
+
+    /** Called on the simulation thread; the scene switch happens on the FX thread */
+    private void onGameOver() {
+        running = false;
         SoundManager.getInstance().play(SoundType.GAME_OVER);
-        SceneManager.getInstance().onGameOver(currentLevel);
+        Platform.runLater(() -> {
+            stop();
+            SceneManager.getInstance().onGameOver(currentLevel);
+        });
     }
 
     private void onLevelComplete() {
-        stop();
+        running = false;
         SoundManager.getInstance().play(SoundType.LEVEL_COMPLETE);
-        SceneManager.getInstance().onLevelComplete(currentLevel);
+        Platform.runLater(() -> {
+            stop();
+            SceneManager.getInstance().onLevelComplete(currentLevel);
+        });
     }
     
     private void render() {
-        gc.setFill(Color.web(Constants.COLOR_FLOOR));
-        gc.fillRect(0, 0, Constants.MAP_WIDTH, Constants.MAP_HEIGHT);
-        
-        gameMap.render(gc, player);
-        player.render(gc);
-        
-        if (state == GameState.COUNTDOWN) {
-            renderCountdown();
+        FrameSnapshot frame = latestFrame();
+        Player framePlayer = frame.player();
+
+        boolean paused = frame.state() == GameState.PAUSED;
+        if (pauseOverlay.isVisible() != paused) {
+            pauseOverlay.setVisible(paused);
+        }
+        hud.update(currentLevel, frame);
+
+        if (zoomedOut) {
+            renderOverview(frame);
+            lastRenderedState = frame.state();
+            lastRenderedCountdown = frame.countdown();
+            forceRender = false;
+            // The close-up view resumes with a full frame
+            dirtyRegions.requestFullRepaint();
+            return;
+        }
+
+        // The canvas is the viewport; the camera follows the player over larger maps
+        boolean cameraMoved = camera.follow(framePlayer.getRenderX(), framePlayer.getRenderY(),
+                gameMap.getWidth() * Constants.TILE_SIZE, gameMap.getHeight() * Constants.TILE_SIZE);
+
+        // Overlays cover the whole canvas, so those frames (and the one after) repaint in full
+        boolean fullRepaint = frame.state() == GameState.COUNTDOWN || frame.state() != lastRenderedState
+                || framePlayer.isBlinded() || wasBlinded || gameMap.needsFullRepaint() || cameraMoved
+                || RenderQuality.getInstance().getVersion() != lastQualityVersion;
+        if (fullRepaint) {
+            dirtyRegions.requestFullRepaint();
+        }
+        lastRenderedState = frame.state();
+        lastRenderedCountdown = frame.countdown();
+        forceRender = false;
+        lastQualityVersion = RenderQuality.getInstance().getVersion();
+        wasBlinded = framePlayer.isBlinded();
+
+        gameMap.trackDirtyRegions(dirtyRegions, frame.map(), framePlayer, camera);
+
+        // Particles run on game time, so they freeze with the snapshot while paused
+        EffectManager.getInstance().drainTo(particles);
+        particles.advanceTo(frame.gameTime());
+
+        boolean repaintAll = dirtyRegions.isFullRepaintRequested();
+        if (!repaintAll) {
+            particles.markDirty(dirtyRegions);
+        }
+        if (repaintAll) {
+            gc.setFill(Palette.getInstance().color(Constants.COLOR_FLOOR));
+            gc.fillRect(0, 0, Constants.MAP_WIDTH, Constants.MAP_HEIGHT);
+        }
+
+        renderer.save();
+        renderer.translate(-camera.getX(), -camera.getY());
+        if (repaintAll) {
+            gameMap.render(renderer, frame.map(), framePlayer, camera);
+            framePlayer.render(renderer);
+        } else {
+            gameMap.renderDirty(renderer, frame.map(), framePlayer, dirtyRegions, camera);
+        }
+        particles.render(renderer);
+        dirtyRegions.endFrame(renderer);
+        renderer.restore();
+
+        if (minimap.isVisible()) {
+            minimap.render(frame.map(), framePlayer, frame.remainingDots());
+        }
+
+        if (repaintAll && frame.state() == GameState.COUNTDOWN) {
+            renderCountdown(frame.countdown());
         }
     }
     
-    private void renderCountdown() {
-        gc.setFill(Color.web("#000000", 0.5));
+    /**
+     * Zoomed-out view: the tile layer blitted as one bitmap of flat tile
+     * colors, with markers for the player and enemies. Maps too large to
+     * fit are shown around the player.
+     */
+    private void renderOverview(FrameSnapshot frame) {
+        int mapCols = gameMap.getWidth();
+        int mapRows = gameMap.getHeight();
+        int fit = Math.min(Constants.MAP_WIDTH / mapCols, Constants.MAP_HEIGHT / mapRows);
+        int tilePixels = Math.max(1, Math.min(OVERVIEW_MAX_TILE_PIXELS, fit));
+        int columns = Math.min(mapCols, Constants.MAP_WIDTH / tilePixels);
+        int rows = Math.min(mapRows, Constants.MAP_HEIGHT / tilePixels);
+
+        Player framePlayer = frame.player();
+        int firstCol = Math.max(0, Math.min(mapCols - columns, framePlayer.getTileX() - columns / 2));
+        int firstRow = Math.max(0, Math.min(mapRows - rows, framePlayer.getTileY() - rows / 2));
+        double left = (Constants.MAP_WIDTH - columns * tilePixels) / 2;
+        double top = (Constants.MAP_HEIGHT - rows * tilePixels) / 2;
+
+        Palette palette = Palette.getInstance();
+        gc.setFill(Color.BLACK);
         gc.fillRect(0, 0, Constants.MAP_WIDTH, Constants.MAP_HEIGHT);
-        
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 72));
-        
-        String text = countdown > 0 ? String.valueOf(countdown) : "GO!";
-        double textWidth = text.length() * 36;
-        gc.fillText(text, (Constants.MAP_WIDTH - textWidth) / 2 + 20, Constants.MAP_HEIGHT / 2 + 20);
+        gc.drawImage(tileBitmap.render(firstCol, firstRow, columns, rows, tilePixels), left, top);
+
+        double markerSize = Math.max(3, tilePixels);
+        for (Enemy enemy : frame.map().getEnemies()) {
+            double x = left + (enemy.getGridX() - firstCol + 0.5) * tilePixels;
+            double y = top + (enemy.getGridY() - firstRow + 0.5) * tilePixels;
+            if (x < left || y < top || x > left + columns * tilePixels || y > top + rows * tilePixels) continue;
+            gc.setFill(palette.color(enemy.getColor()));
+            gc.fillOval(x - markerSize / 2, y - markerSize / 2, markerSize, markerSize);
+        }
+        gc.setFill(palette.color(Constants.COLOR_PLAYER));
+        gc.fillOval(left + (framePlayer.getGridX() - firstCol + 0.5) * tilePixels - markerSize / 2,
+                top + (framePlayer.getGridY() - firstRow + 0.5) * tilePixels - markerSize / 2, markerSize, markerSize);
+
+        // Keep effects flowing so the close-up view doesn't resume with stale bursts
+        EffectManager.getInstance().drainTo(particles);
+        particles.advanceTo(frame.gameTime());
+
+        if (frame.state() == GameState.COUNTDOWN) {
+            renderCountdown(frame.countdown());
+        }
+    }
+
+    private void renderCountdown(int countdown) {
+        gc.setFill(Palette.getInstance().color("#000000", 0.5));
+        gc.fillRect(0, 0, Constants.MAP_WIDTH, Constants.MAP_HEIGHT);
+
+        String text = countdown < COUNTDOWN_TEXTS.length
+                ? COUNTDOWN_TEXTS[Math.max(0, countdown)] : String.valueOf(countdown);
+        TextCache.getInstance().drawCentered(gc, text, countdownFont, Color.WHITE,
+                Constants.MAP_WIDTH / 2.0, Constants.MAP_HEIGHT / 2.0 + 20);
+    }
+    
+    /** Frame timing of the running game, for diagnostics */
+    public FramePacer getFramePacer() {
+        return pacer;
+    }
+    
+    /** HUD values of the running game, observable without touching the UI */
+    public HudModel getHudModel() {
+        return hud;
     }
     
     public Scene getScene() {
@@ -364,6 +774,7 @@ public class Game {
     }
     
     public double getGameTime() {
-        return gameTime;
+        FrameSnapshot frame = ready.get();
+        return frame != null ? frame.gameTime() : 0;
     }
 }
@@ -0,0 +1,112 @@
+package com.pacman.game;
+
+import com.pacman.util.Constants;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Observable HUD values (OOP: Observer pattern).
+ * Listeners are only notified when a displayed value actually changes,
+ * so labels are not re-laid out every frame. Has no JavaFX dependency,
+ * which lets headless sessions subscribe to it for telemetry.
+ */
+public class HudModel {
+
+    public enum Field {
+        LEVEL, DOTS, TIME, LIVES
+    }
+
+    /** Notified with the field that changed */
+    public interface Listener {
+        void onHudChanged(HudModel model, Field field);
+    }
+
+    private final List<Listener> listeners;
+    private int level;
+    private int remainingDots;
+    private int collectedDots;
+    /** Elapsed time in tenths of a second, the HUD's display granularity */
+    private long timeTenths;
+    private int lives;
+
+    public HudModel() {
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.level = -1;
+        this.remainingDots = -1;
+        this.collectedDots = -1;
+        this.timeTenths = -1;
+        this.lives = -1;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Copy the HUD values out of a simulation snapshot */
+    public void update(int level, FrameSnapshot frame) {
+        setLevel(level);
+        setRemainingDots(frame.remainingDots());
+        setCollectedDots(frame.collectedDots());
+        setGameTime(frame.gameTime());
+        setLives(frame.lives());
+    }
+
+    public void setLevel(int level) {
+        if (this.level == level) return;
+        this.level = level;
+        fire(Field.LEVEL);
+    }
+
+    public void setRemainingDots(int remainingDots) {
+        if (this.remainingDots == remainingDots) return;
+        this.remainingDots = remainingDots;
+        fire(Field.DOTS);
+    }
+
+    public void setCollectedDots(int collectedDots) {
+        if (this.collectedDots == collectedDots) return;
+        this.collectedDots = collectedDots;
+        fire(Field.DOTS);
+    }
+
+    public void setGameTime(double seconds) {
+        long tenths = (long) (seconds * 10);
+        if (this.timeTenths == tenths) return;
+        this.timeTenths = tenths;
+        fire(Field.TIME);
+    }
+
+    public void setLives(int lives) {
+        if (this.lives == lives) return;
+        this.lives = lives;
+        fire(Field.LIVES);
+    }
+
+    private void fire(Field field) {
+        for (Listener listener : listeners) {
+            listener.onHudChanged(this, field);
+        }
+    }
+
+    public int getLevel() { return level; }
+    public int getRemainingDots() { return remainingDots; }
+    public int getCollectedDots() { return collectedDots; }
+    public double getGameTime() { return timeTenths / 10.0; }
+    public int getLives() { return lives; }
+
+    /** Display text for a field, e.g. "Time: 12.3s"; endless runs show dots eaten instead of left */
+    public String format(Field field) {
+        boolean endless = level == Constants.ENDLESS_LEVEL;
+        return switch (field) {
+            case LEVEL -> endless ? "Level: Endless" : "Level: " + level;
+            case DOTS -> endless ? "Eaten: " + collectedDots : "Dots: " + remainingDots;
+            case TIME -> "Time: " + (timeTenths / 10) + "." + (timeTenths % 10) + "s";
+            case LIVES -> "Lives: " + lives;
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.pacman.game;
+
+import com.pacman.util.Direction;
+
+/**
+ * Player input handed from the FX thread to the simulation thread
+ */
+public enum InputAction {
+    MOVE_UP(Direction.UP),
+    MOVE_DOWN(Direction.DOWN),
+    MOVE_LEFT(Direction.LEFT),
+    MOVE_RIGHT(Direction.RIGHT),
+    TOGGLE_PAUSE(Direction.NONE);
+
+    private final Direction direction;
+
+    InputAction(Direction direction) {
+        this.direction = direction;
+    }
+
+    public Direction getDirection() { return direction; }
+    public boolean isMove() { return direction != Direction.NONE; }
+}
@@ -1,8 +1,10 @@
 package com.pacman.game;
 
 import com.pacman.util.Direction;
+import com.pacman.util.LevelMapBuilder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -84,6 +86,12 @@ public class Level {
         }
 
         public Direction getDirection() {
+            return parseDirection(direction);
+        }
+
+        /** Direction named in level data ("up", "down", "left" or "right"), NONE otherwise */
+        public static Direction parseDirection(String direction) {
+            if (direction == null) return Direction.NONE;
             return switch (direction.toLowerCase()) {
                 case "up" -> Direction.UP;
                 case "down" -> Direction.DOWN;
@@ -112,6 +120,23 @@ public class Level {
     public int getChapter() { return chapter; }
     public void setChapter(int chapter) { this.chapter = chapter; }
     public String[] getMapLayout() { return mapLayout; }
+
+    /**
+     * Map width in tiles: the longest mapLayout row, or the default width without a layout.
+     * Shorter rows are padded with wall when the map is built.
+     */
+    public int getWidth() {
+        return LevelMapBuilder.widthOf(layoutRows());
+    }
+
+    /** Map height in tiles: the number of mapLayout rows, or the default height without a layout */
+    public int getHeight() {
+        return LevelMapBuilder.heightOf(layoutRows());
+    }
+
+    private List<String> layoutRows() {
+        return mapLayout != null ? Arrays.asList(mapLayout) : List.of();
+    }
     public void setMapLayout(String[] mapLayout) { this.mapLayout = mapLayout; }
     public int getSpawnX() { return spawnX; }
     public void setSpawnX(int spawnX) { this.spawnX = spawnX; }
@@ -2,9 +2,9 @@ package com.pacman.item;
 
 import com.pacman.entity.Entity;
 import com.pacman.entity.Player;
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
+import com.pacman.util.Palette;
 
 /**
  * Abstract base class for all items (OOP: Abstraction & Inheritance)
@@ -30,7 +30,7 @@ public abstract class Item extends Entity {
     }
     
     @Override
-    public void render(GraphicsContext gc) {
+    public void render(Renderer gc) {
         if (collected) return;
 
         double pixelX = getPixelX();
@@ -39,20 +39,31 @@ public abstract class Item extends Entity {
         pixelY += floatOffset;
 
         // Glow effect
-        gc.setFill(Color.web(type.getColor(), 0.3));
+        gc.setFill(Palette.getInstance().color(type.getColor(), 0.3));
         gc.fillOval(pixelX - ITEM_RADIUS - 4, pixelY - ITEM_RADIUS - 4,
                 (ITEM_RADIUS + 4) * 2, (ITEM_RADIUS + 4) * 2);
 
         // Item body
-        gc.setFill(Color.web(type.getColor()));
+        gc.setFill(Palette.getInstance().item(type));
         gc.fillOval(pixelX - ITEM_RADIUS, pixelY - ITEM_RADIUS,
                 ITEM_RADIUS * 2, ITEM_RADIUS * 2);
 
         renderIcon(gc, pixelX, pixelY);
     }
 
+    @Override
+    public double getRenderExtent() {
+        // Glow ring plus the floating offset
+        return ITEM_RADIUS + 4 + 3 + 1;
+    }
+
+    @Override
+    public boolean isAnimating() {
+        return !collected;
+    }
+
     /** OOP: Abstract method - each subclass implements its own icon */
-    protected abstract void renderIcon(GraphicsContext gc, double x, double y);
+    protected abstract void renderIcon(Renderer gc, double x, double y);
 
     /** OOP: Abstract method - polymorphism for different item effects */
     public abstract void applyEffect(Player player);
@@ -73,6 +84,14 @@ public abstract class Item extends Entity {
         return distance < 0.6;
     }
 
+    @Override
+    public void copyRenderState(Entity source) {
+        super.copyRenderState(source);
+        Item item = (Item) source;
+        this.collected = item.collected;
+        this.animationTimer = item.animationTimer;
+    }
+
     public ItemType getType() { return type; }
     public boolean isCollected() { return collected; }
 }
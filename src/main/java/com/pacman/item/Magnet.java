@@ -1,8 +1,8 @@
 package com.pacman.item;
 
 import com.pacman.entity.Player;
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 /**
@@ -15,7 +15,7 @@ public class Magnet extends Item {
     }
 
     @Override
-    protected void renderIcon(GraphicsContext gc, double x, double y) {
+    protected void renderIcon(Renderer gc, double x, double y) {
         gc.setLineWidth(3);
         gc.setStroke(Color.RED);
         gc.strokeLine(x - 6, y - 5, x - 6, y + 5);
@@ -1,7 +1,8 @@
 package com.pacman.item;
 
 import com.pacman.entity.Player;
-import javafx.scene.canvas.GraphicsContext;
+import com.pacman.render.Renderer;
+import com.pacman.util.Palette;
 import javafx.scene.paint.Color;
 
 /**
@@ -14,13 +15,13 @@ public class Shield extends Item {
     }
 
     @Override
-    protected void renderIcon(GraphicsContext gc, double x, double y) {
+    protected void renderIcon(Renderer gc, double x, double y) {
         gc.setFill(Color.WHITE);
         double[] xPoints = {x, x - 7, x - 6, x, x + 6, x + 7};
         double[] yPoints = {y - 7, y - 3, y + 5, y + 8, y + 5, y - 3};
         gc.fillPolygon(xPoints, yPoints, 6);
 
-        gc.setStroke(Color.web(type.getColor()));
+        gc.setStroke(Palette.getInstance().item(type));
         gc.setLineWidth(2);
         gc.strokeLine(x, y - 4, x, y + 4);
         gc.strokeLine(x - 3, y, x + 3, y);
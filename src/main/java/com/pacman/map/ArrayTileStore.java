@@ -0,0 +1,66 @@
+package com.pacman.map;
+
+import com.pacman.map.tile.TileType;
+import com.pacman.util.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Flat tile storage for fixed-size levels.
+ * Types and one-way directions are kept as ordinals, one byte per cell in row-major order.
+ */
+public class ArrayTileStore implements TileStore {
+    private static final TileType[] TILE_TYPES = TileType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int width;
+    private final int height;
+    private final byte[] types;
+    private final byte[] directions;
+
+    public ArrayTileStore(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid map size: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.types = new byte[width * height];
+        this.directions = new byte[width * height];
+        Arrays.fill(types, (byte) TileType.FLOOR.ordinal());
+        Arrays.fill(directions, (byte) Direction.NONE.ordinal());
+    }
+
+    private ArrayTileStore(ArrayTileStore other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.types = other.types.clone();
+        this.directions = other.directions.clone();
+    }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public TileType getType(int x, int y) {
+        return TILE_TYPES[types[y * width + x]];
+    }
+
+    @Override
+    public Direction getDirection(int x, int y) {
+        return DIRECTIONS[directions[y * width + x]];
+    }
+
+    @Override
+    public void setTile(int x, int y, TileType type, Direction direction) {
+        types[y * width + x] = (byte) type.ordinal();
+        directions[y * width + x] = (byte) direction.ordinal();
+    }
+
+    @Override
+    public ArrayTileStore copy() {
+        return new ArrayTileStore(this);
+    }
+}
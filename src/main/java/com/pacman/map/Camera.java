@@ -0,0 +1,70 @@
+package com.pacman.map;
+
+import com.pacman.util.Constants;
+
+/**
+ * Viewport onto the map in pixel coordinates.
+ * Follows a target (the player) and clamps to the map edges; maps smaller
+ * than the viewport are centered. Also answers culling queries so only
+ * what is on screen gets drawn.
+ */
+public class Camera {
+    private final double viewportWidth;
+    private final double viewportHeight;
+    private double x;
+    private double y;
+
+    public Camera(double viewportWidth, double viewportHeight) {
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+    }
+
+    /**
+     * Center the view on a target, kept on whole pixels so cached tiles stay sharp.
+     * @return true if the view moved
+     */
+    public boolean follow(double targetX, double targetY, double worldWidth, double worldHeight) {
+        double newX = Math.round(axis(targetX, worldWidth, viewportWidth));
+        double newY = Math.round(axis(targetY, worldHeight, viewportHeight));
+        boolean moved = newX != x || newY != y;
+        x = newX;
+        y = newY;
+        return moved;
+    }
+
+    private static double axis(double target, double world, double viewport) {
+        if (world <= viewport) {
+            return (world - viewport) / 2;
+        }
+        return Math.max(0, Math.min(world - viewport, target - viewport / 2));
+    }
+
+    /** Whether a square of the given half-size around (centerX, centerY) is on screen */
+    public boolean isVisible(double centerX, double centerY, double extent) {
+        return centerX + extent > x && centerX - extent < x + viewportWidth
+                && centerY + extent > y && centerY - extent < y + viewportHeight;
+    }
+
+    /** First tile column on screen, clamped to the map */
+    public int getFirstCol() {
+        return Math.max(0, (int) Math.floor(x / Constants.TILE_SIZE));
+    }
+
+    /** Last tile column on screen, clamped to a map of the given width */
+    public int getLastCol(int mapCols) {
+        return Math.min(mapCols - 1, (int) Math.floor((x + viewportWidth - 1) / Constants.TILE_SIZE));
+    }
+
+    public int getFirstRow() {
+        return Math.max(0, (int) Math.floor(y / Constants.TILE_SIZE));
+    }
+
+    public int getLastRow(int mapRows) {
+        return Math.min(mapRows - 1, (int) Math.floor((y + viewportHeight - 1) / Constants.TILE_SIZE));
+    }
+
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getViewportWidth() { return viewportWidth; }
+    public double getViewportHeight() { return viewportHeight; }
+}
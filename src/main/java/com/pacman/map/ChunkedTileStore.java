@@ -0,0 +1,409 @@
+package com.pacman.map;
+
+import com.pacman.item.ItemType;
+import com.pacman.map.tile.TileType;
+import com.pacman.util.Constants;
+import com.pacman.util.Direction;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Streamed tile storage for endless maps.
+ * The world is split into 16x16 chunks of primitive arrays holding tiles,
+ * dots and items. Chunks around the player are generated ahead of time on
+ * a background thread; the least recently used ones are evicted past a
+ * fixed cap, so memory stays bounded however far the player travels.
+ * Generation must be deterministic: an evicted chunk is regenerated as new,
+ * and collected dots and items are kept apart from the chunks (a few bits
+ * per chunk of the world) so they stay collected. Tile edits are not kept.
+ * All stores share one daemon generator thread, which stops once every
+ * store has been released.
+ */
+public class ChunkedTileStore implements TileStore {
+    public static final int CHUNK_SIZE = 16;
+    private static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+
+    private static final TileType[] TILE_TYPES = TileType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    private static final int BIT_WORDS = CHUNK_CELLS / 64;
+
+    /** Generator thread shared by all open stores, and how many stores hold it */
+    private static ExecutorService generatorThread;
+    private static int openStores;
+
+    /** Fills one chunk, given in chunk coordinates */
+    public interface ChunkGenerator {
+        void generate(int chunkX, int chunkY, ChunkBuilder chunk);
+    }
+
+    /**
+     * Write access to a chunk while it is generated, in chunk-local coordinates.
+     * Portals need a linked partner, so streamed chunks don't contain them.
+     */
+    public static final class ChunkBuilder {
+        private final Chunk chunk;
+
+        private ChunkBuilder(Chunk chunk) {
+            this.chunk = chunk;
+        }
+
+        public void setTile(int localX, int localY, TileType type) {
+            setTile(localX, localY, type, Direction.NONE);
+        }
+
+        public void setTile(int localX, int localY, TileType type, Direction direction) {
+            int index = localY * CHUNK_SIZE + localX;
+            chunk.types[index] = (byte) type.ordinal();
+            chunk.directions[index] = (byte) direction.ordinal();
+        }
+
+        public void addDot(int localX, int localY) {
+            int index = localY * CHUNK_SIZE + localX;
+            chunk.dots[index >> 6] |= 1L << index;
+        }
+
+        public void addItem(int localX, int localY, ItemType type) {
+            chunk.items[localY * CHUNK_SIZE + localX] = (byte) (type.ordinal() + 1);
+        }
+    }
+
+    /** Generated content of a chunk, not changed afterwards except by setTile */
+    private static final class Chunk {
+        final byte[] types = new byte[CHUNK_CELLS];
+        final byte[] directions = new byte[CHUNK_CELLS];
+        /** One bit per cell that was generated with a dot */
+        final long[] dots = new long[BIT_WORDS];
+        /** Item ordinal + 1 per cell, 0 for none */
+        final byte[] items = new byte[CHUNK_CELLS];
+        volatile long lastUsed;
+
+        Chunk() {
+            Arrays.fill(types, (byte) TileType.FLOOR.ordinal());
+            Arrays.fill(directions, (byte) Direction.NONE.ordinal());
+        }
+
+        Chunk copy() {
+            Chunk copy = new Chunk();
+            System.arraycopy(types, 0, copy.types, 0, CHUNK_CELLS);
+            System.arraycopy(directions, 0, copy.directions, 0, CHUNK_CELLS);
+            System.arraycopy(dots, 0, copy.dots, 0, BIT_WORDS);
+            System.arraycopy(items, 0, copy.items, 0, CHUNK_CELLS);
+            copy.lastUsed = lastUsed;
+            return copy;
+        }
+    }
+
+    /** Dots and items collected in a chunk, kept when the chunk itself is evicted */
+    private static final class Collected {
+        final long[] dots = new long[BIT_WORDS];
+        final long[] items = new long[BIT_WORDS];
+
+        Collected copy() {
+            Collected copy = new Collected();
+            System.arraycopy(dots, 0, copy.dots, 0, BIT_WORDS);
+            System.arraycopy(items, 0, copy.items, 0, BIT_WORDS);
+            return copy;
+        }
+    }
+
+    private final int widthInChunks;
+    private final int heightInChunks;
+    private final ChunkGenerator generator;
+    private final int loadRadius;
+    private final int maxResident;
+    private final Map<Long, Chunk> resident;
+    /** Generation tasks by chunk, cancelled on release */
+    private final Map<Long, Future<?>> pending;
+    /** Written by the simulation thread, read by the renderer */
+    private final Map<Long, Collected> collected;
+    private final ExecutorService executor;
+    private volatile boolean released;
+    private int collectedDots;
+    private volatile Runnable changeListener;
+    /** Advanced by the simulation thread, read by the generator thread to stamp new chunks */
+    private volatile long clock;
+    /** Chunk the load window is centred on, simulation thread only */
+    private int focusChunkX;
+    private int focusChunkY;
+
+    /**
+     * @param loadRadius chunks kept loaded around the player in each direction
+     * @param maxResident cap on loaded chunks, at least the load window
+     */
+    public ChunkedTileStore(int widthInChunks, int heightInChunks, ChunkGenerator generator,
+                            int loadRadius, int maxResident) {
+        if (widthInChunks <= 0 || heightInChunks <= 0
+                || (long) widthInChunks * CHUNK_SIZE * Constants.TILE_SIZE > Integer.MAX_VALUE
+                || (long) heightInChunks * CHUNK_SIZE * Constants.TILE_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid world size: " + widthInChunks + "x" + heightInChunks);
+        }
+        int window = (2 * loadRadius + 1) * (2 * loadRadius + 1);
+        if (maxResident < window) {
+            throw new IllegalArgumentException("maxResident " + maxResident + " is smaller than the load window " + window);
+        }
+        this.widthInChunks = widthInChunks;
+        this.heightInChunks = heightInChunks;
+        this.generator = generator;
+        this.loadRadius = loadRadius;
+        this.maxResident = maxResident;
+        this.resident = new ConcurrentHashMap<>();
+        this.pending = new ConcurrentHashMap<>();
+        this.collected = new ConcurrentHashMap<>();
+        this.executor = acquireGenerator();
+        this.focusChunkX = -1;
+        this.focusChunkY = -1;
+    }
+
+    /** Copy with the other store's loaded chunks and collected pickups; it must be released too */
+    private ChunkedTileStore(ChunkedTileStore other) {
+        this(other.widthInChunks, other.heightInChunks, other.generator, other.loadRadius, other.maxResident);
+        for (Map.Entry<Long, Chunk> entry : other.resident.entrySet()) {
+            resident.put(entry.getKey(), entry.getValue().copy());
+        }
+        for (Map.Entry<Long, Collected> entry : other.collected.entrySet()) {
+            collected.put(entry.getKey(), entry.getValue().copy());
+        }
+        this.collectedDots = other.collectedDots;
+        this.clock = other.clock;
+    }
+
+    private static synchronized ExecutorService acquireGenerator() {
+        if (openStores++ == 0) {
+            generatorThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "chunk-generator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return generatorThread;
+    }
+
+    private static synchronized void releaseGenerator() {
+        if (--openStores == 0) {
+            generatorThread.shutdownNow();
+            generatorThread = null;
+        }
+    }
+
+    private static long key(int chunkX, int chunkY) {
+        return ((long) chunkY << 32) | (chunkX & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Chunk holding a tile, or null if it is not loaded.
+     * Reads never request generation: only streamAround and preload decide
+     * what is loaded, so the renderer can't pull in chunks insert() evicts again.
+     */
+    private Chunk chunkAt(int x, int y) {
+        return resident.get(key(x / CHUNK_SIZE, y / CHUNK_SIZE));
+    }
+
+    private static int localIndex(int x, int y) {
+        return (y % CHUNK_SIZE) * CHUNK_SIZE + (x % CHUNK_SIZE);
+    }
+
+    private void request(int chunkX, int chunkY) {
+        if (chunkX < 0 || chunkY < 0 || chunkX >= widthInChunks || chunkY >= heightInChunks) return;
+        long key = key(chunkX, chunkY);
+        if (released || pending.containsKey(key)) return;
+
+        // Stamped with the request time, so chunks for a window already left are evicted first
+        long requestedAt = clock;
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            Chunk chunk = generate(chunkX, chunkY, requestedAt);
+            if (!released) insert(key, chunk);
+            pending.remove(key);
+            Runnable listener = changeListener;
+            if (listener != null) listener.run();
+        }, null);
+        // Registered before it runs, so a fast task can't leave a stale entry behind
+        pending.put(key, task);
+        executor.execute(task);
+    }
+
+    private Chunk generate(int chunkX, int chunkY, long stamp) {
+        Chunk chunk = new Chunk();
+        generator.generate(chunkX, chunkY, new ChunkBuilder(chunk));
+        chunk.lastUsed = stamp;
+        return chunk;
+    }
+
+    /** Add a loaded chunk, dropping the least recently used ones beyond the cap */
+    private void insert(long key, Chunk chunk) {
+        synchronized (resident) {
+            resident.put(key, chunk);
+            while (resident.size() > maxResident) {
+                Long oldest = null;
+                long oldestUse = Long.MAX_VALUE;
+                for (Map.Entry<Long, Chunk> entry : resident.entrySet()) {
+                    if (entry.getValue().lastUsed < oldestUse) {
+                        oldestUse = entry.getValue().lastUsed;
+                        oldest = entry.getKey();
+                    }
+                }
+                if (oldest == null) return;
+                resident.remove(oldest);
+            }
+        }
+    }
+
+    /** Synchronously load the window around a tile, e.g. the spawn point before the game starts */
+    public void preload(int x, int y) {
+        int centerX = x / CHUNK_SIZE;
+        int centerY = y / CHUNK_SIZE;
+        for (int chunkY = centerY - loadRadius; chunkY <= centerY + loadRadius; chunkY++) {
+            for (int chunkX = centerX - loadRadius; chunkX <= centerX + loadRadius; chunkX++) {
+                if (chunkX < 0 || chunkY < 0 || chunkX >= widthInChunks || chunkY >= heightInChunks) continue;
+                long key = key(chunkX, chunkY);
+                if (!resident.containsKey(key)) insert(key, generate(chunkX, chunkY, clock));
+            }
+        }
+    }
+
+    @Override
+    public void streamAround(int x, int y) {
+        int centerX = x / CHUNK_SIZE;
+        int centerY = y / CHUNK_SIZE;
+        if (centerX == focusChunkX && centerY == focusChunkY) return;
+        focusChunkX = centerX;
+        focusChunkY = centerY;
+        clock++;
+
+        for (int chunkY = centerY - loadRadius; chunkY <= centerY + loadRadius; chunkY++) {
+            for (int chunkX = centerX - loadRadius; chunkX <= centerX + loadRadius; chunkX++) {
+                Chunk chunk = resident.get(key(chunkX, chunkY));
+                if (chunk != null) {
+                    chunk.lastUsed = clock;
+                } else {
+                    request(chunkX, chunkY);
+                }
+            }
+        }
+    }
+
+    /** Cancel outstanding generation and let go of the shared generator thread */
+    @Override
+    public void release() {
+        if (released) return;
+        released = true;
+        for (Future<?> task : pending.values()) task.cancel(true);
+        pending.clear();
+        releaseGenerator();
+    }
+
+    public int getResidentChunkCount() {
+        return resident.size();
+    }
+
+    @Override
+    public int getWidth() { return widthInChunks * CHUNK_SIZE; }
+
+    @Override
+    public int getHeight() { return heightInChunks * CHUNK_SIZE; }
+
+    /** Unloaded cells read as walls, so nothing walks into ungenerated space */
+    @Override
+    public TileType getType(int x, int y) {
+        Chunk chunk = chunkAt(x, y);
+        if (chunk == null) return TileType.WALL;
+        return TILE_TYPES[chunk.types[localIndex(x, y)]];
+    }
+
+    @Override
+    public Direction getDirection(int x, int y) {
+        Chunk chunk = chunkAt(x, y);
+        if (chunk == null) return Direction.NONE;
+        return DIRECTIONS[chunk.directions[localIndex(x, y)]];
+    }
+
+    /** Only changes loaded chunks; edits are lost when the chunk is evicted */
+    @Override
+    public void setTile(int x, int y, TileType type, Direction direction) {
+        Chunk chunk = chunkAt(x, y);
+        if (chunk == null) return;
+        int index = localIndex(x, y);
+        chunk.types[index] = (byte) type.ordinal();
+        chunk.directions[index] = (byte) direction.ordinal();
+    }
+
+    /**
+     * Collected bits are written by the simulation and read by the renderer
+     * without locking; a stale read only shows a collected dot for one more frame.
+     */
+    @Override
+    public boolean hasDot(int x, int y) {
+        Chunk chunk = chunkAt(x, y);
+        if (chunk == null) return false;
+        int index = localIndex(x, y);
+        long bit = 1L << index;
+        if ((chunk.dots[index >> 6] & bit) == 0) return false;
+        Collected taken = collected.get(key(x / CHUNK_SIZE, y / CHUNK_SIZE));
+        return taken == null || (taken.dots[index >> 6] & bit) == 0;
+    }
+
+    @Override
+    public boolean collectDot(int x, int y) {
+        if (!hasDot(x, y)) return false;
+        int index = localIndex(x, y);
+        collectedIn(x, y).dots[index >> 6] |= 1L << index;
+        collectedDots++;
+        return true;
+    }
+
+    @Override
+    public int getCollectedDots() {
+        return collectedDots;
+    }
+
+    @Override
+    public ItemType getItem(int x, int y) {
+        Chunk chunk = chunkAt(x, y);
+        if (chunk == null) return null;
+        int index = localIndex(x, y);
+        int item = chunk.items[index];
+        if (item == 0) return null;
+        Collected taken = collected.get(key(x / CHUNK_SIZE, y / CHUNK_SIZE));
+        if (taken != null && (taken.items[index >> 6] & (1L << index)) != 0) return null;
+        return ITEM_TYPES[item - 1];
+    }
+
+    @Override
+    public ItemType takeItem(int x, int y) {
+        ItemType item = getItem(x, y);
+        if (item != null) {
+            int index = localIndex(x, y);
+            collectedIn(x, y).items[index >> 6] |= 1L << index;
+        }
+        return item;
+    }
+
+    private Collected collectedIn(int x, int y) {
+        return collected.computeIfAbsent(key(x / CHUNK_SIZE, y / CHUNK_SIZE), key -> new Collected());
+    }
+
+    @Override
+    public boolean hasStoredPickups() {
+        return true;
+    }
+
+    @Override
+    public void setChangeListener(Runnable listener) {
+        this.changeListener = listener;
+    }
+
+    /**
+     * Chunks still being generated for this store are not carried over;
+     * the copy requests them again when it streams.
+     */
+    @Override
+    public ChunkedTileStore copy() {
+        return new ChunkedTileStore(this);
+    }
+}
@@ -0,0 +1,73 @@
+package com.pacman.map;
+
+import com.pacman.entity.Player;
+import com.pacman.render.Renderer;
+import com.pacman.util.Constants;
+import javafx.scene.paint.Color;
+
+/**
+ * Circular visible region around the player.
+ * Visibility is an integer squared-distance test on tile coordinates; the
+ * fog is a precomputed radial mask drawn once at the player's position.
+ */
+public class CircularVisibility implements VisibilityRegion {
+    /** Width in pixels of the soft edge of the mask */
+    private static final double EDGE_SOFTNESS = 6.0;
+
+    private final int range;
+    private final int rangeSquared;
+    private int[] mask;
+    private int maskSize;
+
+    public CircularVisibility(int range) {
+        this.range = range;
+        this.rangeSquared = range * range;
+    }
+
+    @Override
+    public boolean isVisible(int tileX, int tileY, Player player) {
+        int dx = tileX - player.getTileX();
+        int dy = tileY - player.getTileY();
+        return dx * dx + dy * dy <= rangeSquared;
+    }
+
+    /** Opaque black outside the circle, transparent inside, as ARGB pixels built once */
+    private int[] buildMask() {
+        int size = (2 * range + 1) * Constants.TILE_SIZE;
+        double center = size / 2.0;
+        double radius = (range + 0.5) * Constants.TILE_SIZE;
+
+        int[] pixels = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                double dx = x + 0.5 - center;
+                double dy = y + 0.5 - center;
+                double dist = Math.sqrt(dx * dx + dy * dy);
+                double alpha = Math.max(0, Math.min(1, (dist - radius + EDGE_SOFTNESS) / EDGE_SOFTNESS));
+                pixels[y * size + x] = (int) Math.round(alpha * 255) << 24;
+            }
+        }
+        maskSize = size;
+        return pixels;
+    }
+
+    @Override
+    public void renderFog(Renderer gc, Player player, double mapWidth, double mapHeight) {
+        if (mask == null) mask = buildMask();
+
+        double size = maskSize;
+        double left = Math.round(player.getRenderX() - size / 2);
+        double top = Math.round(player.getRenderY() - size / 2);
+        double right = left + size;
+        double bottom = top + size;
+
+        gc.drawArgb(mask, maskSize, maskSize, left, top);
+
+        // Solid fog around the mask
+        gc.setFill(Color.BLACK);
+        if (top > 0) gc.fillRect(0, 0, mapWidth, top);
+        if (bottom < mapHeight) gc.fillRect(0, bottom, mapWidth, mapHeight - bottom);
+        if (left > 0) gc.fillRect(0, top, left, size);
+        if (right < mapWidth) gc.fillRect(right, top, mapWidth - right, size);
+    }
+}
@@ -0,0 +1,171 @@
+package com.pacman.map;
+
+import com.pacman.render.Renderer;
+import javafx.scene.paint.Color;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Dirty-rectangle tracker for partial canvas repaints.
+ * Remembers where each tracked object was drawn last frame and collects
+ * the screen areas that changed, so only those are redrawn over the
+ * cached tile layer.
+ */
+public class DirtyRegionTracker {
+    /** Per-object state: centerX, centerY, extent, visible, last frame marked */
+    private static final int STATE_SIZE = 5;
+
+    private final Map<Object, double[]> lastBounds;
+    private double[] rects;
+    private int rectCount;
+    private double[] highlightRects;
+    private int highlightCount;
+    private long frame;
+    private boolean fullRepaint;
+    private boolean debugHighlight;
+
+    public DirtyRegionTracker() {
+        this.lastBounds = new IdentityHashMap<>();
+        this.rects = new double[64 * 4];
+        this.highlightRects = new double[64 * 4];
+        this.fullRepaint = true;
+    }
+
+    /** Forget all tracked objects (e.g. on level restart) and repaint everything */
+    public void reset() {
+        lastBounds.clear();
+        rectCount = 0;
+        highlightCount = 0;
+        fullRepaint = true;
+    }
+
+    public void requestFullRepaint() {
+        fullRepaint = true;
+    }
+
+    public boolean isFullRepaintRequested() {
+        return fullRepaint;
+    }
+
+    /**
+     * Record where an object is drawn this frame.
+     * Marks its old and new area dirty if it moved, changed visibility or is animating.
+     */
+    public void track(Object key, double centerX, double centerY, double extent, boolean visible, boolean animating) {
+        double[] last = lastBounds.get(key);
+        if (last == null) {
+            last = new double[STATE_SIZE];
+            last[4] = -1;
+            lastBounds.put(key, last);
+            if (visible) markDirty(centerX, centerY, extent);
+        } else {
+            boolean wasVisible = last[3] != 0;
+            boolean changed = animating || wasVisible != visible
+                    || last[0] != centerX || last[1] != centerY || last[2] != extent;
+            if (changed) {
+                if (wasVisible) markDirty(last[0], last[1], last[2]);
+                if (visible) markDirty(centerX, centerY, extent);
+            }
+        }
+        last[0] = centerX;
+        last[1] = centerY;
+        last[2] = extent;
+        last[3] = visible ? 1 : 0;
+    }
+
+    /**
+     * Pull an object that overlaps a dirty area into the repaint set,
+     * so it is restored and redrawn as a whole.
+     * @return true if the object must be redrawn this frame
+     */
+    public boolean claim(Object key) {
+        double[] last = lastBounds.get(key);
+        if (last == null || last[3] == 0) return false;
+        if (last[4] == frame) return true;
+        if (!intersects(last[0], last[1], last[2])) return false;
+
+        last[4] = frame;
+        markDirty(last[0], last[1], last[2]);
+        return true;
+    }
+
+    private void markDirty(double centerX, double centerY, double extent) {
+        markDirty(centerX - extent, centerY - extent, extent * 2, extent * 2);
+    }
+
+    /** Add a rectangle to repaint, snapped outwards to whole pixels */
+    public void markDirty(double x, double y, double width, double height) {
+        double left = Math.floor(x);
+        double top = Math.floor(y);
+        double right = Math.ceil(x + width);
+        double bottom = Math.ceil(y + height);
+
+        if (rectCount * 4 == rects.length) {
+            double[] grown = new double[rects.length * 2];
+            System.arraycopy(rects, 0, grown, 0, rects.length);
+            rects = grown;
+        }
+        int i = rectCount * 4;
+        rects[i] = left;
+        rects[i + 1] = top;
+        rects[i + 2] = right - left;
+        rects[i + 3] = bottom - top;
+        rectCount++;
+    }
+
+    public boolean intersects(double centerX, double centerY, double extent) {
+        double left = centerX - extent;
+        double top = centerY - extent;
+        double right = centerX + extent;
+        double bottom = centerY + extent;
+        for (int i = 0; i < rectCount * 4; i += 4) {
+            if (left < rects[i] + rects[i + 2] && right > rects[i]
+                    && top < rects[i + 1] + rects[i + 3] && bottom > rects[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getRectCount() { return rectCount; }
+    public double getRectX(int index) { return rects[index * 4]; }
+    public double getRectY(int index) { return rects[index * 4 + 1]; }
+    public double getRectWidth(int index) { return rects[index * 4 + 2]; }
+    public double getRectHeight(int index) { return rects[index * 4 + 3]; }
+
+    /**
+     * Finish the frame: optionally outline the repainted areas, then clear them.
+     * Outlines are scheduled for repaint next frame so they don't linger.
+     */
+    public void endFrame(Renderer gc) {
+        boolean repaintedAll = fullRepaint;
+        fullRepaint = false;
+        frame++;
+
+        if (debugHighlight && !repaintedAll) {
+            gc.setStroke(Color.RED);
+            gc.setLineWidth(1);
+            for (int i = 0; i < rectCount * 4; i += 4) {
+                gc.strokeRect(rects[i] + 0.5, rects[i + 1] + 0.5, rects[i + 2] - 1, rects[i + 3] - 1);
+            }
+        }
+
+        // Swap buffers, keeping last frame's highlighted areas as next frame's dirty set
+        double[] swap = highlightRects;
+        highlightRects = rects;
+        highlightCount = debugHighlight && !repaintedAll ? rectCount : 0;
+        rects = swap;
+        rectCount = 0;
+        for (int i = 0; i < highlightCount * 4; i += 4) {
+            markDirty(highlightRects[i], highlightRects[i + 1], highlightRects[i + 2], highlightRects[i + 3]);
+        }
+    }
+
+    public boolean isDebugHighlight() { return debugHighlight; }
+
+    public void setDebugHighlight(boolean debugHighlight) {
+        this.debugHighlight = debugHighlight;
+        this.fullRepaint = true;
+    }
+}
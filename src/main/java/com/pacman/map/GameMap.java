@@ -1,99 +1,182 @@
 package com.pacman.map;
 
+import com.pacman.effect.EffectManager;
+import com.pacman.effect.EffectType;
 import com.pacman.entity.Dot;
 import com.pacman.entity.Player;
 import com.pacman.entity.enemy.*;
 import com.pacman.item.*;
 import com.pacman.map.tile.Tile;
 import com.pacman.map.tile.TileType;
+import com.pacman.render.ImageRenderer;
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
 import com.pacman.util.Direction;
 import com.pacman.util.SoundManager;
 import com.pacman.util.SoundManager.SoundType;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.paint.Color;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Game map class - manages tiles, dots, items, and enemies
  */
 public class GameMap {
-    private Tile[][] tiles;
+    /** Dirty-region key for the player, whose snapshot copy changes every tick */
+    private static final Object PLAYER_KEY = new Object();
+
+    private final TileStore tiles;
+    /** Linked portal cell per cell (-1 if none), allocated on first link */
+    private int[] portalLinks;
+    /** Cells whose tiles animate, kept in insertion order */
+    private final Set<Integer> animatedCells;
     private List<Dot> dots;
     private List<Item> items;
     private List<Enemy> enemies;
     private int spawnX, spawnY;
-    private int width, height;
+    private final int width, height;
+    private final TileLayerCache tileLayer;
+    private VisibilityRegion visibilityRegion;
+    /** Dot index per tile (-1 if none), built lazily for viewport culling */
+    private int[] dotIndexByTile;
+    private int[] visibleDots;
+    /** Reusable entities for drawing dots and items held by the tile store */
+    private Dot storedDotView;
+    private final Map<ItemType, Item> storedItemViews;
 
+    /** Map of the default size */
     public GameMap() {
-        this.width = Constants.MAP_COLS;
-        this.height = Constants.MAP_ROWS;
-        this.tiles = new Tile[height][width];
+        this(Constants.MAP_COLS, Constants.MAP_ROWS);
+    }
+
+    /** Empty all-floor map of the given size in tiles */
+    public GameMap(int width, int height) {
+        this(new ArrayTileStore(width, height));
+    }
+
+    /** Map backed by the given tile storage, e.g. a ChunkedTileStore for endless maps */
+    public GameMap(TileStore tiles) {
+        this.tiles = tiles;
+        this.width = tiles.getWidth();
+        this.height = tiles.getHeight();
+        this.animatedCells = new LinkedHashSet<>();
         this.dots = new ArrayList<>();
         this.items = new ArrayList<>();
         this.enemies = new ArrayList<>();
+        this.storedItemViews = new EnumMap<>(ItemType.class);
         this.spawnX = 1;
         this.spawnY = 1;
-        initEmptyMap();
-    }
-
-    private void initEmptyMap() {
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                Tile tile = new Tile(x, y, TileType.FLOOR);
-                tile.setGameMap(this);
-                tiles[y][x] = tile;
-            }
-        }
+        this.tileLayer = new TileLayerCache(this);
+        this.visibilityRegion = new CircularVisibility(Constants.BLIND_VISIBLE_RANGE);
+        tiles.setChangeListener(tileLayer::invalidate);
     }
     
     public void setTile(int x, int y, TileType type) {
-        if (isValidPosition(x, y)) {
-            Tile tile = new Tile(x, y, type);
-            tile.setGameMap(this);
-            tiles[y][x] = tile;
-        }
+        setTile(x, y, type, Direction.NONE);
     }
 
     public void setTile(int x, int y, TileType type, Direction direction) {
         if (isValidPosition(x, y)) {
-            Tile tile = new Tile(x, y, type);
-            tile.setDirection(direction);
-            tile.setGameMap(this);
-            tiles[y][x] = tile;
+            int index = y * width + x;
+            tiles.setTile(x, y, type, direction);
+            if (portalLinks != null) unlinkPortal(index);
+            if (type.isAnimated()) {
+                animatedCells.add(index);
+            } else {
+                animatedCells.remove(index);
+            }
+            tileLayer.invalidate();
+        }
+    }
+
+    private void unlinkPortal(int index) {
+        int linked = portalLinks[index];
+        if (linked >= 0) {
+            portalLinks[linked] = -1;
+            portalLinks[index] = -1;
         }
     }
     
+    /** Type of the tile at (x, y), without creating a Tile view */
+    public TileType getTileType(int x, int y) {
+        return tiles.getType(x, y);
+    }
+
+    /** One-way or jump pad direction of the tile at (x, y), without creating a Tile view */
+    public Direction getTileDirection(int x, int y) {
+        return tiles.getDirection(x, y);
+    }
+
+    /** Cell index (y * width + x) of the portal linked to (x, y), or -1 if none */
+    public int getPortalLink(int x, int y) {
+        return portalLinks != null ? portalLinks[y * width + x] : -1;
+    }
+
+    /**
+     * Tile view of a cell, created on demand from the tile store. Allocates,
+     * so hot paths read getTileType and friends and only ask for a Tile to
+     * run its behaviour.
+     * @return the tile, or null outside the map
+     */
     public Tile getTile(int x, int y) {
-        if (isValidPosition(x, y)) {
-            return tiles[y][x];
+        if (!isValidPosition(x, y)) return null;
+
+        Tile tile = new Tile(x, y, tiles.getType(x, y));
+        tile.setDirection(tiles.getDirection(x, y));
+        tile.setGameMap(this);
+        int linked = portalLinks != null ? portalLinks[y * width + x] : -1;
+        if (linked >= 0) {
+            Tile target = new Tile(linked % width, linked / width, tiles.getType(linked % width, linked / width));
+            target.setGameMap(this);
+            tile.setLinkedTile(target);
+        }
+        return tile;
+    }
+
+    /** Tile views of every animated cell, for the tile layer cache */
+    List<Tile> createAnimatedTiles() {
+        List<Tile> animated = new ArrayList<>(animatedCells.size());
+        for (int index : animatedCells) {
+            animated.add(getTile(index % width, index / width));
         }
-        return null;
+        return animated;
     }
     
     public void linkPortals(int x1, int y1, int x2, int y2) {
-        Tile tile1 = getTile(x1, y1);
-        Tile tile2 = getTile(x2, y2);
-        
-        if (tile1 != null && tile2 != null) {
-            tile1.setLinkedTile(tile2);
-            tile2.setLinkedTile(tile1);
+        if (!isValidPosition(x1, y1) || !isValidPosition(x2, y2)) return;
+
+        if (portalLinks == null) {
+            portalLinks = new int[width * height];
+            Arrays.fill(portalLinks, -1);
         }
+        int first = y1 * width + x1;
+        int second = y2 * width + x2;
+        unlinkPortal(first);
+        unlinkPortal(second);
+        portalLinks[first] = second;
+        portalLinks[second] = first;
     }
     
     public void addDot(int x, int y) {
-        if (isValidPosition(x, y) && tiles[y][x].isWalkable()) {
+        if (isValidPosition(x, y) && getTileType(x, y).isWalkable()) {
             dots.add(new Dot(x, y));
+            dotIndexByTile = null;
         }
     }
     
     /** Add dots only on FLOOR tiles, excluding spawn and special tiles */
     public void addDotsOnAllFloors() {
+        // Streamed stores carry their own dots
+        if (tiles.hasStoredPickups()) return;
+
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
-                if (tiles[y][x].getType() == TileType.FLOOR) {
+                if (getTileType(x, y) == TileType.FLOOR) {
                     if (x != spawnX || y != spawnY) {
                         addDot(x, y);
                     }
@@ -105,28 +188,41 @@ public class GameMap {
     public void addItem(int x, int y, ItemType type) {
         if (!isValidPosition(x, y)) return;
 
-        Item item = switch (type) {
+        items.add(createItem(type, x, y));
+        dots.removeIf(dot -> dot.getTileX() == x && dot.getTileY() == y);
+        dotIndexByTile = null;
+    }
+    
+    private static Item createItem(ItemType type, int x, int y) {
+        return switch (type) {
             case MAGNET -> new Magnet(x, y);
             case SHIELD -> new Shield(x, y);
             case WALL_PASS -> new WallPass(x, y);
         };
-
-        items.add(item);
-        dots.removeIf(dot -> dot.getTileX() == x && dot.getTileY() == y);
     }
     
     public Enemy addEnemy(int x, int y, String enemyType) {
+        return addEnemy(x, y, enemyType, null);
+    }
+
+    /**
+     * Add an enemy; patrollers and phantoms follow the given path, or
+     * generate one from the map when it is null or empty.
+     */
+    public Enemy addEnemy(int x, int y, String enemyType, List<int[]> patrolPath) {
+        boolean hasPath = patrolPath != null && !patrolPath.isEmpty();
+
         // Find valid spawn position if invalid
         int spawnX = x;
         int spawnY = y;
-        if (!isValidPosition(x, y) || !tiles[y][x].isWalkable()) {
+        if (!isValidPosition(x, y) || !getTileType(x, y).isWalkable()) {
             outerLoop:
             for (int radius = 1; radius < Math.max(width, height); radius++) {
                 for (int dx = -radius; dx <= radius; dx++) {
                     for (int dy = -radius; dy <= radius; dy++) {
                         int newX = x + dx;
                         int newY = y + dy;
-                        if (isValidPosition(newX, newY) && tiles[newY][newX].isWalkable()) {
+                        if (isValidPosition(newX, newY) && getTileType(newX, newY).isWalkable()) {
                             spawnX = newX;
                             spawnY = newY;
                             break outerLoop;
@@ -146,13 +242,15 @@ public class GameMap {
             case "patroller" -> {
                 Patroller p = new Patroller(finalSpawnX, finalSpawnY);
                 p.setGameMap(this);
-                p.generateDefaultPath();
+                if (hasPath) p.setPatrolPath(patrolPath);
+                else p.generateDefaultPath();
                 yield p;
             }
             case "phantom" -> {
                 Phantom ph = new Phantom(finalSpawnX, finalSpawnY);
                 ph.setGameMap(this);
-                ph.generateDefaultPath();
+                if (hasPath) ph.setPatrolPath(patrolPath);
+                else ph.generateDefaultPath();
                 yield ph;
             }
             default -> new Wanderer(finalSpawnX, finalSpawnY);
@@ -161,6 +259,7 @@ public class GameMap {
         enemy.setGameMap(this);
         enemies.add(enemy);
         dots.removeIf(dot -> dot.getTileX() == finalSpawnX && dot.getTileY() == finalSpawnY);
+        dotIndexByTile = null;
         return enemy;
     }
 
@@ -178,7 +277,7 @@ public class GameMap {
         int tileY = (int) Math.round(y);
         if (!isValidPosition(tileX, tileY)) return false;
         if (canWallPass) return true;
-        return tiles[tileY][tileX].isWalkable();
+        return getTileType(tileX, tileY).isWalkable();
     }
 
     public boolean canMoveTo(double x, double y, Direction fromDirection, boolean canWallPass) {
@@ -186,28 +285,42 @@ public class GameMap {
         int tileY = (int) Math.round(y);
         if (!isValidPosition(tileX, tileY)) return false;
 
-        Tile tile = tiles[tileY][tileX];
         if (canWallPass) return true;
 
-        if (tile.getType() == TileType.ONE_WAY) {
-            return tile.canEnterFrom(fromDirection);
+        TileType type = getTileType(tileX, tileY);
+        if (type == TileType.ONE_WAY) {
+            return fromDirection == tiles.getDirection(tileX, tileY).getOpposite();
         }
-        return tile.isWalkable();
+        return type.isWalkable();
     }
 
     public boolean canEnterFrom(int x, int y, Direction fromDirection, boolean canWallPass) {
         if (!isValidPosition(x, y)) return false;
         if (canWallPass) return true;
-        return tiles[y][x].canEnterFrom(fromDirection);
+        TileType type = getTileType(x, y);
+        if (type == TileType.ONE_WAY) {
+            return fromDirection == tiles.getDirection(x, y).getOpposite();
+        }
+        return type.isWalkable();
     }
     
     public void update(Player player, double deltaTime) {
         int playerTileX = player.getTileX();
         int playerTileY = player.getTileY();
 
-        // Process tile effects
+        tiles.streamAround(playerTileX, playerTileY);
+
+        // Process tile effects; plain tiles only end ice sliding, which needs no Tile view
         if (isValidPosition(playerTileX, playerTileY)) {
-            tiles[playerTileY][playerTileX].onStep(player);
+            if (getTileType(playerTileX, playerTileY).hasStepEffect()) {
+                getTile(playerTileX, playerTileY).onStep(player);
+            } else {
+                player.setOnIce(false);
+            }
+        }
+
+        if (tiles.hasStoredPickups()) {
+            collectStoredPickups(player);
         }
 
         // Collect dots
@@ -220,11 +333,11 @@ public class GameMap {
                     );
                     if (dist <= Constants.MAGNET_RANGE) {
                         dot.collect();
-                        SoundManager.getInstance().play(SoundType.EAT_DOT);
+                        onDotCollected(dot.getGridX(), dot.getGridY());
                     }
                 } else {
                     dot.collect();
-                    SoundManager.getInstance().play(SoundType.EAT_DOT);
+                    onDotCollected(dot.getGridX(), dot.getGridY());
                 }
             }
         }
@@ -239,7 +352,7 @@ public class GameMap {
                     );
                     if (dist <= Constants.MAGNET_RANGE) {
                         dot.collect();
-                        SoundManager.getInstance().play(SoundType.EAT_DOT);
+                        onDotCollected(dot.getGridX(), dot.getGridY());
                     }
                 }
             }
@@ -260,6 +373,36 @@ public class GameMap {
         }
     }
     
+    private static void onDotCollected(double gridX, double gridY) {
+        SoundManager.getInstance().play(SoundType.EAT_DOT);
+        EffectManager.getInstance().emit(EffectType.DOT_PICKUP,
+                (gridX + 0.5) * Constants.TILE_SIZE, (gridY + 0.5) * Constants.TILE_SIZE);
+    }
+
+    /** Dots and items held by the tile store: the player's tile, plus the magnet range */
+    private void collectStoredPickups(Player player) {
+        int playerTileX = player.getTileX();
+        int playerTileY = player.getTileY();
+        if (!isValidPosition(playerTileX, playerTileY)) return;
+
+        int range = player.hasEffect(ItemType.MAGNET) ? Constants.MAGNET_RANGE : 0;
+        for (int y = playerTileY - range; y <= playerTileY + range; y++) {
+            for (int x = playerTileX - range; x <= playerTileX + range; x++) {
+                int dx = x - playerTileX;
+                int dy = y - playerTileY;
+                if (dx * dx + dy * dy <= range * range && isValidPosition(x, y) && tiles.collectDot(x, y)) {
+                    onDotCollected(x, y);
+                }
+            }
+        }
+
+        ItemType itemType = tiles.takeItem(playerTileX, playerTileY);
+        if (itemType != null) {
+            createItem(itemType, playerTileX, playerTileY).collect(player);
+            SoundManager.getInstance().play(SoundType.ITEM_PICKUP);
+        }
+    }
+    
     public boolean checkEnemyCollision(Player player) {
         if (player.isJumping() || player.isInvincible()) return false;
 
@@ -273,6 +416,8 @@ public class GameMap {
     }
 
     public boolean allDotsCollected() {
+        // Streamed maps never run out of dots
+        if (tiles.hasStoredPickups()) return false;
         for (Dot dot : dots) {
             if (!dot.isCollected()) return false;
         }
@@ -286,55 +431,335 @@ public class GameMap {
         }
         return count;
     }
+
+    /** Dots eaten so far, the score on streamed maps that never run out */
+    public int getCollectedDots() {
+        int count = tiles.getCollectedDots();
+        for (Dot dot : dots) {
+            if (dot.isCollected()) count++;
+        }
+        return count;
+    }
+
+    /** Stop the tile store's background work once the map is no longer played */
+    public void release() {
+        tiles.release();
+    }
     
-    public void render(GraphicsContext gc, Player player) {
-        // Render tiles
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                if (player != null && player.isBlinded()) {
-                    double dist = Math.sqrt(
-                            Math.pow(x - player.getGridX(), 2) +
-                            Math.pow(y - player.getGridY(), 2)
-                    );
-                    if (dist > Constants.BLIND_VISIBLE_RANGE) {
-                        gc.setFill(Color.BLACK);
-                        gc.fillRect(x * Constants.TILE_SIZE, y * Constants.TILE_SIZE,
-                                Constants.TILE_SIZE, Constants.TILE_SIZE);
-                        continue;
-                    }
-                }
-                tiles[y][x].render(gc);
+    /**
+     * Fresh map for a new play session: the same tiles, portals and spawn,
+     * with new dots, items and enemies in their starting state. Patrol paths
+     * are shared, since they are not changed once generated.
+     */
+    public GameMap copy() {
+        GameMap copy = new GameMap(tiles.copy());
+        copy.portalLinks = portalLinks != null ? portalLinks.clone() : null;
+        copy.animatedCells.addAll(animatedCells);
+        copy.spawnX = spawnX;
+        copy.spawnY = spawnY;
+        copy.visibilityRegion = visibilityRegion;
+        for (Dot dot : dots) copy.dots.add(new Dot(dot.getTileX(), dot.getTileY()));
+        for (Item item : items) copy.items.add((Item) item.copy());
+        for (Enemy enemy : enemies) {
+            Enemy enemyCopy = (Enemy) enemy.copy();
+            enemyCopy.setGameMap(copy);
+            copy.enemies.add(enemyCopy);
+        }
+        return copy;
+    }
+
+    /**
+     * Snapshot buffer for this map, with its own render copy of every item
+     * and enemy. Reused each tick through updateSnapshot, so ticks don't allocate.
+     */
+    public MapSnapshot newSnapshot() {
+        List<Item> itemCopies = new ArrayList<>(items.size());
+        for (Item item : items) itemCopies.add((Item) item.renderCopy());
+        List<Enemy> enemyCopies = new ArrayList<>(enemies.size());
+        for (Enemy enemy : enemies) enemyCopies.add(enemy.renderCopy());
+        MapSnapshot snapshot = new MapSnapshot(new boolean[dots.size()], itemCopies, enemyCopies);
+        updateSnapshot(snapshot);
+        return snapshot;
+    }
+
+    /** Copy the dynamic map state into a snapshot of this map for the renderer (simulation thread) */
+    public void updateSnapshot(MapSnapshot snapshot) {
+        snapshot.update(dots, items, enemies);
+    }
+
+    /** Dot index per tile (-1 for none), built on first use */
+    private int[] dotIndex() {
+        if (dotIndexByTile == null) {
+            int[] index = new int[width * height];
+            Arrays.fill(index, -1);
+            for (int i = 0; i < dots.size(); i++) {
+                Dot dot = dots.get(i);
+                index[dot.getTileY() * width + dot.getTileX()] = i;
             }
+            dotIndexByTile = index;
         }
+        return dotIndexByTile;
+    }
 
-        for (Dot dot : dots) {
-            if (!player.isBlinded() || isInVisibleRange(dot, player)) {
+    /** Whether a dot is still on the tile as of a snapshot (FX thread) */
+    public boolean hasDotAt(MapSnapshot snapshot, int x, int y) {
+        if (!isValidPosition(x, y)) return false;
+        if (tiles.hasStoredPickups()) return tiles.hasDot(x, y);
+        if (dots.isEmpty()) return false;
+        int index = dotIndex()[y * width + x];
+        return index >= 0 && !snapshot.isDotCollected(index);
+    }
+
+    /**
+     * Collect indices of dots on tiles inside the camera view.
+     * @return number of indices written to visibleDots
+     */
+    private int collectVisibleDots(Camera camera) {
+        if (dots.isEmpty()) return 0;
+        int[] dotIndex = dotIndex();
+
+        int firstCol = camera.getFirstCol();
+        int lastCol = camera.getLastCol(width);
+        int firstRow = camera.getFirstRow();
+        int lastRow = camera.getLastRow(height);
+        int capacity = Math.max(0, lastCol - firstCol + 1) * Math.max(0, lastRow - firstRow + 1);
+        if (visibleDots == null || visibleDots.length < capacity) {
+            visibleDots = new int[capacity];
+        }
+
+        int count = 0;
+        for (int y = firstRow; y <= lastRow; y++) {
+            for (int x = firstCol; x <= lastCol; x++) {
+                int dot = dotIndex[y * width + x];
+                if (dot >= 0) visibleDots[count++] = dot;
+            }
+        }
+        return count;
+    }
+
+    private static boolean onScreen(Camera camera, com.pacman.entity.Entity entity) {
+        return camera.isVisible(entity.getRenderX(), entity.getRenderY(), entity.getRenderExtent());
+    }
+
+    /**
+     * Render a snapshot of the map, culled to the camera view.
+     * Runs on the FX thread for the game canvas, or on any thread for a
+     * software renderer. Expects gc to be translated by the camera offset.
+     * @param player snapshot copy of the player, used for the blind trap
+     */
+    public void render(Renderer gc, MapSnapshot snapshot, Player player, Camera camera) {
+        boolean blinded = player != null && player.isBlinded();
+
+        // Static tiles come from the offscreen cache, animated ones are drawn on top
+        if (gc instanceof ImageRenderer images) {
+            tileLayer.render(images, camera);
+        } else {
+            renderStaticRegion(gc, camera.getX(), camera.getY(), camera.getViewportWidth(), camera.getViewportHeight());
+        }
+        for (Tile tile : tileLayer.getAnimatedTiles()) {
+            if (isTileOnScreen(camera, tile)) tile.renderAnimated(gc);
+        }
+
+        int dotCount = collectVisibleDots(camera);
+        for (int i = 0; i < dotCount; i++) {
+            int index = visibleDots[i];
+            Dot dot = dots.get(index);
+            if (!snapshot.isDotCollected(index) && (!blinded || isInVisibleRange(dot, player))) {
                 dot.render(gc);
             }
         }
 
-        for (Item item : items) {
-            if (!player.isBlinded() || isInVisibleRange(item, player)) {
+        if (tiles.hasStoredPickups()) {
+            renderStoredPickups(gc, camera.getFirstCol(), camera.getFirstRow(),
+                    camera.getLastCol(width), camera.getLastRow(height), blinded ? player : null);
+        }
+
+        for (Item item : snapshot.getItems()) {
+            if (onScreen(camera, item) && (!blinded || isInVisibleRange(item, player))) {
                 item.render(gc);
             }
         }
 
-        for (Enemy enemy : enemies) {
-            if (!player.isBlinded() || isInVisibleRange(enemy, player)) {
+        for (Enemy enemy : snapshot.getEnemies()) {
+            if (onScreen(camera, enemy) && (!blinded || isInVisibleRange(enemy, player))) {
                 enemy.render(gc);
             }
         }
+
+        // Fog is a single precomputed mask positioned at the player
+        if (blinded) {
+            visibilityRegion.renderFog(gc, player,
+                    width * Constants.TILE_SIZE, height * Constants.TILE_SIZE);
+        }
+    }
+
+    /**
+     * Draw the tile store's dots and items in a tile range.
+     * @param blindedPlayer the player if blinded, to skip pickups outside the visible region
+     */
+    private void renderStoredPickups(Renderer gc, int firstCol, int firstRow, int lastCol, int lastRow,
+                                     Player blindedPlayer) {
+        if (storedDotView == null) storedDotView = new Dot(0, 0);
+        for (int y = Math.max(0, firstRow); y <= Math.min(height - 1, lastRow); y++) {
+            for (int x = Math.max(0, firstCol); x <= Math.min(width - 1, lastCol); x++) {
+                if (blindedPlayer != null && !visibilityRegion.isVisible(x, y, blindedPlayer)) continue;
+                if (tiles.hasDot(x, y)) {
+                    storedDotView.setGridX(x);
+                    storedDotView.setGridY(y);
+                    storedDotView.render(gc);
+                }
+                ItemType itemType = tiles.getItem(x, y);
+                if (itemType != null) {
+                    Item view = storedItemViews.computeIfAbsent(itemType, type -> createItem(type, 0, 0));
+                    view.setGridX(x);
+                    view.setGridY(y);
+                    view.render(gc);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draw the static tile layer inside a pixel rectangle: blitted from the
+     * cache when the renderer takes images, otherwise drawn tile by tile.
+     */
+    private void renderStaticRegion(Renderer gc, double x, double y, double w, double h) {
+        if (gc instanceof ImageRenderer images) {
+            tileLayer.renderRegion(images, x, y, w, h);
+            return;
+        }
+        int firstCol = Math.max(0, (int) Math.floor(x / Constants.TILE_SIZE));
+        int firstRow = Math.max(0, (int) Math.floor(y / Constants.TILE_SIZE));
+        int lastCol = Math.min(width - 1, (int) Math.floor((x + w) / Constants.TILE_SIZE));
+        int lastRow = Math.min(height - 1, (int) Math.floor((y + h) / Constants.TILE_SIZE));
+        gc.save();
+        gc.clipRect(x, y, w, h);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                Tile.renderStatic(gc, col, row, tiles.getType(col, row), tiles.getDirection(col, row));
+            }
+        }
+        gc.restore();
+    }
+
+    private static boolean isTileOnScreen(Camera camera, Tile tile) {
+        double half = Constants.TILE_SIZE / 2.0;
+        return camera.isVisible((tile.getGridX() + 0.5) * Constants.TILE_SIZE,
+                (tile.getGridY() + 0.5) * Constants.TILE_SIZE, half);
+    }
+
+    /** Changes whenever a tile does, lets tile bitmaps know when to rebuild */
+    public int getTileGeneration() {
+        return tileLayer.getGeneration();
+    }
+
+    /** Whether the next frame must be painted in full rather than by dirty regions */
+    public boolean needsFullRepaint() {
+        return tileLayer.isStale();
+    }
+
+    /**
+     * Record this frame's render bounds of everything on screen.
+     * Live entities serve only as stable identity keys; bounds come from the snapshot.
+     * Dots are only tracked inside the view, which is fine because the view
+     * moving forces a full repaint.
+     */
+    public void trackDirtyRegions(DirtyRegionTracker tracker, MapSnapshot snapshot, Player player, Camera camera) {
+        for (Tile tile : tileLayer.getAnimatedTiles()) {
+            double half = Constants.TILE_SIZE / 2.0;
+            tracker.track(tile, (tile.getGridX() + 0.5) * Constants.TILE_SIZE,
+                    (tile.getGridY() + 0.5) * Constants.TILE_SIZE, half, isTileOnScreen(camera, tile), true);
+        }
+        int dotCount = collectVisibleDots(camera);
+        for (int i = 0; i < dotCount; i++) {
+            int index = visibleDots[i];
+            trackEntity(tracker, dots.get(index), dots.get(index), !snapshot.isDotCollected(index));
+        }
+        for (int i = 0; i < snapshot.getItems().size(); i++) {
+            Item item = snapshot.getItems().get(i);
+            trackEntity(tracker, items.get(i), item, !item.isCollected() && onScreen(camera, item));
+        }
+        for (int i = 0; i < snapshot.getEnemies().size(); i++) {
+            Enemy enemy = snapshot.getEnemies().get(i);
+            trackEntity(tracker, enemies.get(i), enemy, onScreen(camera, enemy));
+        }
+        trackEntity(tracker, PLAYER_KEY, player, true);
+    }
+
+    private void trackEntity(DirtyRegionTracker tracker, Object key, com.pacman.entity.Entity entity, boolean visible) {
+        tracker.track(key, entity.getRenderX(), entity.getRenderY(),
+                entity.getRenderExtent(), visible, entity.isAnimating());
+    }
+
+    /**
+     * Repaint only the dirty regions: restore the cached tile layer under each
+     * rectangle, then redraw everything that overlaps one, in normal draw order.
+     * Expects gc to be translated by the camera offset.
+     */
+    public void renderDirty(Renderer gc, MapSnapshot snapshot, Player player,
+                            DirtyRegionTracker tracker, Camera camera) {
+        int dotCount = collectVisibleDots(camera);
+
+        // Objects overlapping a dirty area join it, until the set stops growing
+        int claimedBefore;
+        do {
+            claimedBefore = tracker.getRectCount();
+            for (Tile tile : tileLayer.getAnimatedTiles()) tracker.claim(tile);
+            for (int i = 0; i < dotCount; i++) tracker.claim(dots.get(visibleDots[i]));
+            for (Item item : items) tracker.claim(item);
+            for (Enemy enemy : enemies) tracker.claim(enemy);
+            tracker.claim(PLAYER_KEY);
+        } while (tracker.getRectCount() != claimedBefore);
+
+        for (int i = 0; i < tracker.getRectCount(); i++) {
+            renderStaticRegion(gc, tracker.getRectX(i), tracker.getRectY(i),
+                    tracker.getRectWidth(i), tracker.getRectHeight(i));
+        }
+
+        // Stored pickups aren't tracked individually, redraw them clipped to each restored area
+        if (tiles.hasStoredPickups()) {
+            for (int i = 0; i < tracker.getRectCount(); i++) {
+                double x = tracker.getRectX(i);
+                double y = tracker.getRectY(i);
+                double w = tracker.getRectWidth(i);
+                double h = tracker.getRectHeight(i);
+                gc.save();
+                gc.clipRect(x, y, w, h);
+                renderStoredPickups(gc, (int) Math.floor(x / Constants.TILE_SIZE), (int) Math.floor(y / Constants.TILE_SIZE),
+                        (int) Math.floor((x + w) / Constants.TILE_SIZE), (int) Math.floor((y + h) / Constants.TILE_SIZE),
+                        player.isBlinded() ? player : null);
+                gc.restore();
+            }
+        }
+
+        for (Tile tile : tileLayer.getAnimatedTiles()) {
+            if (tracker.claim(tile)) tile.renderAnimated(gc);
+        }
+        for (int i = 0; i < dotCount; i++) {
+            int index = visibleDots[i];
+            if (tracker.claim(dots.get(index)) && !snapshot.isDotCollected(index)) dots.get(index).render(gc);
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (tracker.claim(items.get(i))) snapshot.getItems().get(i).render(gc);
+        }
+        for (int i = 0; i < enemies.size(); i++) {
+            if (tracker.claim(enemies.get(i))) snapshot.getEnemies().get(i).render(gc);
+        }
+        if (tracker.claim(PLAYER_KEY)) player.render(gc);
     }
 
     private boolean isInVisibleRange(com.pacman.entity.Entity entity, Player player) {
         if (player == null || !player.isBlinded()) return true;
-        double dist = Math.sqrt(
-                Math.pow(entity.getGridX() - player.getGridX(), 2) +
-                Math.pow(entity.getGridY() - player.getGridY(), 2)
-        );
-        return dist <= Constants.BLIND_VISIBLE_RANGE;
+        return visibilityRegion.isVisible(entity.getTileX(), entity.getTileY(), player);
+    }
+
+    /** Swap the shape of the blind-trap visible region */
+    public void setVisibilityRegion(VisibilityRegion visibilityRegion) {
+        this.visibilityRegion = visibilityRegion;
     }
 
+    public VisibilityRegion getVisibilityRegion() { return visibilityRegion; }
+
     public int getWidth() { return width; }
     public int getHeight() { return height; }
     public int getSpawnX() { return spawnX; }
@@ -0,0 +1,491 @@
+package com.pacman.map;
+
+import com.pacman.entity.Dot;
+import com.pacman.map.tile.TileType;
+import com.pacman.util.Direction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that a level can be completed, without playing it.
+ * Movement follows the player's rules: walls block, one-way tiles can only
+ * be entered in their direction, stepping on a linked portal moves the
+ * player to the other end, and a jump pad throws the player to the first
+ * open tile ahead, as Tile.handleJumpPad does. A player on ice keeps
+ * sliding the way they entered it and can only turn once something blocks
+ * them, so the search runs over states of a tile plus the direction of
+ * travel on ice. Items such as wall pass are not taken into account, so a
+ * level must be solvable without them.
+ * A move is one step onto a neighbouring tile, including whatever jump
+ * or teleport that step triggers.
+ */
+public class LevelAnalyzer {
+    private static final Direction[] MOVES = Direction.validDirections();
+    /** Heading of a state that may move any way: off ice, or stopped on it */
+    private static final int FREE = MOVES.length;
+    /** States per tile: sliding in one of the MOVES on ice, or FREE */
+    private static final int STATES = MOVES.length + 1;
+
+    /**
+     * Result of an analysis. Positions are {x, y} tile pairs.
+     * @param totalDots dots on the map
+     * @param unreachableDots dots that can't be reached from the spawn
+     * @param chokePoints reachable tiles that, if blocked, cut the spawn off from some dots
+     * @param deadEnds reachable tiles with a single way out
+     * @param movesLowerBound moves needed to reach the farthest dot; no route can be shorter
+     * @param greedyMoves length of a nearest-dot-first route that collects every reachable dot
+     */
+    public record Report(int totalDots, List<int[]> unreachableDots, List<int[]> chokePoints,
+                         List<int[]> deadEnds, int movesLowerBound, int greedyMoves) {
+
+        /** Whether every dot can be collected */
+        public boolean isSolvable() {
+            return unreachableDots.isEmpty();
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final int spawn;
+    /** Whether each tile holds a dot */
+    private final boolean[] hasDot;
+    private final int dotCount;
+    /** Whether each tile is ice */
+    private final boolean[] ice;
+    /**
+     * Tiles visited by moving from a tile in a direction, indexed by
+     * tile * 4 + direction; the last one is where the player ends up.
+     * Null where the move is blocked.
+     */
+    private final int[][] moves;
+
+    private LevelAnalyzer(GameMap map) {
+        this.width = map.getWidth();
+        this.height = map.getHeight();
+        int cells = width * height;
+
+        int spawnX = map.getSpawnX();
+        int spawnY = map.getSpawnY();
+        this.spawn = map.isValidPosition(spawnX, spawnY) && map.getTileType(spawnX, spawnY).isWalkable()
+                ? spawnY * width + spawnX : -1;
+
+        this.hasDot = new boolean[cells];
+        for (Dot dot : map.getDots()) {
+            hasDot[dot.getTileY() * width + dot.getTileX()] = true;
+        }
+        this.dotCount = map.getDots().size();
+
+        this.ice = new boolean[cells];
+        this.moves = new int[cells * MOVES.length][];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                ice[y * width + x] = map.getTileType(x, y) == TileType.ICE;
+                if (!map.getTileType(x, y).isWalkable()) continue;
+                for (int d = 0; d < MOVES.length; d++) {
+                    moves[(y * width + x) * MOVES.length + d] = move(map, x, y, MOVES[d]);
+                }
+            }
+        }
+    }
+
+    /** Analyze a map in its starting state */
+    public static Report analyze(GameMap map) {
+        return new LevelAnalyzer(map).analyze();
+    }
+
+    private Report analyze() {
+        int[] distance = distances(-1);
+        int reachableDots = 0;
+        int lowerBound = 0;
+        List<int[]> unreachable = new ArrayList<>();
+        int[] dotDistance = dotDistances(distance, -1);
+        for (int cell = 0; cell < hasDot.length; cell++) {
+            if (!hasDot[cell]) continue;
+            if (dotDistance[cell] < 0) {
+                unreachable.add(position(cell));
+            } else {
+                reachableDots++;
+                lowerBound = Math.max(lowerBound, dotDistance[cell]);
+            }
+        }
+
+        boolean[] choke = chokePoints(distance, reachableDots);
+        List<int[]> chokePoints = new ArrayList<>();
+        List<int[]> deadEnds = new ArrayList<>();
+        for (int cell = 0; cell < hasDot.length; cell++) {
+            if (!isReachable(distance, cell) || cell == spawn) continue;
+            if (choke[cell]) chokePoints.add(position(cell));
+            if (exits(cell) == 1) deadEnds.add(position(cell));
+        }
+
+        return new Report(dotCount, unreachable, chokePoints, deadEnds, lowerBound, greedyRoute());
+    }
+
+    /** Tiles visited by one move, following portals and jump pads, or null if blocked */
+    private static int[] move(GameMap map, int x, int y, Direction direction) {
+        int nextX = x + direction.getDx();
+        int nextY = y + direction.getDy();
+        if (!map.canEnterFrom(nextX, nextY, direction.getOpposite(), false)) return null;
+
+        int width = map.getWidth();
+        List<Integer> visited = new ArrayList<>(3);
+        visited.add(nextY * width + nextX);
+        // A few chained effects at most, e.g. a jump landing on another pad
+        for (int effect = 0; effect < 4; effect++) {
+            TileType type = map.getTileType(nextX, nextY);
+            int link = type == TileType.PORTAL ? map.getPortalLink(nextX, nextY) : -1;
+            if (link >= 0) {
+                // The teleport cooldown stops the far end from sending the player back
+                nextX = link % width;
+                nextY = link / width;
+                visited.add(link);
+                break;
+            }
+            if (type != TileType.JUMP_PAD) break;
+
+            Direction padDirection = map.getTileDirection(nextX, nextY);
+            Direction jump = padDirection != Direction.NONE ? padDirection : direction;
+            int[] landing = jumpLanding(map, nextX, nextY, jump);
+            if (landing == null) break;
+            nextX = landing[0];
+            nextY = landing[1];
+            visited.add(nextY * width + nextX);
+        }
+
+        int[] cells = new int[visited.size()];
+        for (int i = 0; i < cells.length; i++) cells[i] = visited.get(i);
+        return cells;
+    }
+
+    /**
+     * Whether a state may take a move: on ice only straight on, unless
+     * that way is blocked and the player has come to a stop.
+     */
+    private boolean allows(int cell, int heading, int d) {
+        if (heading == FREE || heading == d) return true;
+        return moves[cell * MOVES.length + heading] == null;
+    }
+
+    /** State after a move in direction d that ends on a tile */
+    private int stateAfter(int end, int d) {
+        return end * STATES + (ice[end] ? d : FREE);
+    }
+
+    private static boolean isReachable(int[] distance, int cell) {
+        for (int heading = 0; heading < STATES; heading++) {
+            if (distance[cell * STATES + heading] >= 0) return true;
+        }
+        return false;
+    }
+
+    /** First open tile ahead of a jump pad, as in Tile.handleJumpPad */
+    private static int[] jumpLanding(GameMap map, int x, int y, Direction direction) {
+        int maxDistance = Math.max(map.getWidth(), map.getHeight());
+        for (int distance = 1; distance <= maxDistance; distance++) {
+            int testX = x + direction.getDx() * distance;
+            int testY = y + direction.getDy() * distance;
+            if (!map.isValidPosition(testX, testY)) return null;
+            if (map.canMoveTo(testX, testY, false)) return new int[]{testX, testY};
+        }
+        return null;
+    }
+
+    /**
+     * Fewest moves from the spawn to each state, tile * STATES + heading
+     * (-1 if unreachable), never passing through the blocked tile (-1 for none).
+     */
+    private int[] distances(int blocked) {
+        int[] distance = new int[width * height * STATES];
+        Arrays.fill(distance, -1);
+        if (spawn < 0 || spawn == blocked) return distance;
+
+        int[] queue = new int[distance.length];
+        int head = 0, tail = 0;
+        int start = spawn * STATES + FREE;
+        distance[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int state = queue[head++];
+            int cell = state / STATES;
+            for (int d = 0; d < MOVES.length; d++) {
+                int[] visited = moves[cell * MOVES.length + d];
+                if (visited == null || !allows(cell, state % STATES, d) || contains(visited, blocked)) continue;
+                int next = stateAfter(visited[visited.length - 1], d);
+                if (distance[next] < 0) {
+                    distance[next] = distance[state] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Fewest moves to pass over each tile, given the state distances (-1 if never passed),
+     * never passing through the blocked tile (-1 for none).
+     */
+    private int[] dotDistances(int[] distance, int blocked) {
+        int[] passed = new int[width * height];
+        Arrays.fill(passed, -1);
+        for (int state = 0; state < distance.length; state++) {
+            if (distance[state] < 0) continue;
+            int cell = state / STATES;
+            if (passed[cell] < 0 || passed[cell] > distance[state]) passed[cell] = distance[state];
+            for (int d = 0; d < MOVES.length; d++) {
+                int[] visited = moves[cell * MOVES.length + d];
+                if (visited == null || !allows(cell, state % STATES, d) || contains(visited, blocked)) continue;
+                for (int tile : visited) {
+                    if (passed[tile] < 0 || passed[tile] > distance[state] + 1) passed[tile] = distance[state] + 1;
+                }
+            }
+        }
+        return passed;
+    }
+
+    private int countReachableDots(int blocked) {
+        int[] passed = dotDistances(distances(blocked), blocked);
+        int count = 0;
+        for (int cell = 0; cell < passed.length; cell++) {
+            if (hasDot[cell] && passed[cell] >= 0 && cell != blocked) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Tiles that, if blocked, cut the spawn off from a dot on another tile.
+     * Computed from the dominator tree of the move graph: its nodes are the
+     * states plus, for portals and jump pads, the tile passed over with the
+     * direction of the move, so every node belongs to one tile. Each dot
+     * tile gets a sink node fed by all of that tile's nodes; a tile is a
+     * choke point if one of its nodes dominates the sink of another tile.
+     * Blocking a tile removes all its nodes at once, so tiles with several
+     * nodes that dominate nothing on their own are checked by searching
+     * again with the tile blocked; there are few of them (ice, portals).
+     */
+    private boolean[] chokePoints(int[] distance, int reachableDots) {
+        int cells = width * height;
+        boolean[] choke = new boolean[cells];
+        if (spawn < 0) return choke;
+        int sinkBase = cells * STATES;
+        int nodeCount = sinkBase + cells;
+
+        // Edges of the move graph, states and passed-over tiles into sinks
+        int[] from = new int[64];
+        int[] to = new int[64];
+        int edgeCount = 0;
+        boolean[] linked = new boolean[sinkBase];
+        for (int state = 0; state < sinkBase; state++) {
+            if (distance[state] < 0) continue;
+            int cell = state / STATES;
+            for (int d = 0; d < MOVES.length; d++) {
+                int[] visited = moves[cell * MOVES.length + d];
+                if (visited == null || !allows(cell, state % STATES, d)) continue;
+                int node = state;
+                for (int i = 0; i < visited.length; i++) {
+                    int next = i == visited.length - 1 ? stateAfter(visited[i], d) : visited[i] * STATES + d;
+                    if (edgeCount + 2 > from.length) {
+                        from = Arrays.copyOf(from, from.length * 2);
+                        to = Arrays.copyOf(to, to.length * 2);
+                    }
+                    from[edgeCount] = node;
+                    to[edgeCount++] = next;
+                    if (hasDot[visited[i]] && !linked[next]) {
+                        linked[next] = true;
+                        from[edgeCount] = next;
+                        to[edgeCount++] = sinkBase + visited[i];
+                    }
+                    node = next;
+                }
+            }
+        }
+        int[][] successors = adjacency(nodeCount, from, to, edgeCount);
+        int[][] predecessors = adjacency(nodeCount, to, from, edgeCount);
+
+        // Reverse postorder from the spawn state
+        int root = spawn * STATES + FREE;
+        int[] order = new int[nodeCount];
+        int[] rank = new int[nodeCount];
+        Arrays.fill(rank, -1);
+        int ordered = reversePostorder(root, successors, order, rank);
+
+        // Dominators (Cooper, Harvey and Kennedy's iterative algorithm)
+        int[] idom = new int[nodeCount];
+        Arrays.fill(idom, -1);
+        idom[root] = root;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < ordered; i++) {
+                int node = order[i];
+                int newIdom = -1;
+                for (int pred : predecessors[node]) {
+                    if (idom[pred] < 0) continue;
+                    newIdom = newIdom < 0 ? pred : intersect(pred, newIdom, idom, rank);
+                }
+                if (idom[node] != newIdom) {
+                    idom[node] = newIdom;
+                    changed = true;
+                }
+            }
+        }
+
+        // Sinks under each node of the dominator tree: their count and one of their tiles
+        int[] sinks = new int[nodeCount];
+        int[] sinkTile = new int[nodeCount];
+        for (int i = ordered - 1; i > 0; i--) {
+            int node = order[i];
+            if (node >= sinkBase) {
+                sinks[node]++;
+                sinkTile[node] = node - sinkBase;
+            }
+            int parent = idom[node];
+            if (sinks[node] > 0) sinkTile[parent] = sinkTile[node];
+            sinks[parent] += sinks[node];
+        }
+
+        int[] nodesPerTile = new int[cells];
+        for (int i = 1; i < ordered; i++) {
+            int node = order[i];
+            if (node >= sinkBase) continue;
+            int cell = node / STATES;
+            nodesPerTile[cell]++;
+            if (sinks[node] >= 2 || (sinks[node] == 1 && sinkTile[node] != cell)) choke[cell] = true;
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            if (choke[cell] || nodesPerTile[cell] < 2 || cell == spawn || !isReachable(distance, cell)) continue;
+            choke[cell] = reachableDots - countReachableDots(cell) - (hasDot[cell] ? 1 : 0) > 0;
+        }
+        choke[spawn] = false;
+        return choke;
+    }
+
+    /** Edge lists per node, from parallel arrays of edge ends */
+    private static int[][] adjacency(int nodeCount, int[] from, int[] to, int edgeCount) {
+        int[] degree = new int[nodeCount];
+        for (int i = 0; i < edgeCount; i++) degree[from[i]]++;
+        int[][] lists = new int[nodeCount][];
+        for (int node = 0; node < nodeCount; node++) lists[node] = new int[degree[node]];
+        Arrays.fill(degree, 0);
+        for (int i = 0; i < edgeCount; i++) lists[from[i]][degree[from[i]]++] = to[i];
+        return lists;
+    }
+
+    /**
+     * Nodes reachable from the root in reverse postorder, written to order;
+     * rank holds each node's position (-1 if unreachable).
+     * @return number of nodes ordered
+     */
+    private static int reversePostorder(int root, int[][] successors, int[] order, int[] rank) {
+        int[] stack = new int[order.length];
+        int[] nextEdge = new int[order.length];
+        boolean[] seen = new boolean[order.length];
+        int depth = 0;
+        int finished = 0;
+        stack[depth++] = root;
+        seen[root] = true;
+        while (depth > 0) {
+            int node = stack[depth - 1];
+            if (nextEdge[node] < successors[node].length) {
+                int next = successors[node][nextEdge[node]++];
+                if (!seen[next]) {
+                    seen[next] = true;
+                    stack[depth++] = next;
+                }
+            } else {
+                depth--;
+                order[finished++] = node;
+            }
+        }
+        for (int i = 0, j = finished - 1; i < j; i++, j--) {
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (int i = 0; i < finished; i++) rank[order[i]] = i;
+        return finished;
+    }
+
+    /** Nearest common dominator of two nodes */
+    private static int intersect(int a, int b, int[] idom, int[] rank) {
+        while (a != b) {
+            while (rank[a] > rank[b]) a = idom[a];
+            while (rank[b] > rank[a]) b = idom[b];
+        }
+        return a;
+    }
+
+    private int exits(int cell) {
+        int exits = 0;
+        for (int d = 0; d < MOVES.length; d++) {
+            if (moves[cell * MOVES.length + d] != null) exits++;
+        }
+        return exits;
+    }
+
+    /**
+     * Moves taken by always heading for the nearest uncollected dot,
+     * collecting every dot passed on the way.
+     */
+    private int greedyRoute() {
+        if (spawn < 0) return 0;
+        int states = width * height * STATES;
+        boolean[] remaining = hasDot.clone();
+        int[] distance = new int[states];
+        int[] parentState = new int[states];
+        int[] parentMove = new int[states];
+        int[] queue = new int[states];
+
+        int position = spawn * STATES + FREE;
+        int total = 0;
+        while (true) {
+            Arrays.fill(distance, -1);
+            int head = 0, tail = 0;
+            distance[position] = 0;
+            queue[tail++] = position;
+            int target = -1;
+            search:
+            while (head < tail) {
+                int state = queue[head++];
+                int cell = state / STATES;
+                for (int d = 0; d < MOVES.length; d++) {
+                    int[] visited = moves[cell * MOVES.length + d];
+                    if (visited == null || !allows(cell, state % STATES, d)) continue;
+                    int next = stateAfter(visited[visited.length - 1], d);
+                    if (distance[next] >= 0) continue;
+                    distance[next] = distance[state] + 1;
+                    parentState[next] = state;
+                    parentMove[next] = d;
+                    queue[tail++] = next;
+                    for (int tile : visited) {
+                        if (remaining[tile]) {
+                            target = next;
+                            break search;
+                        }
+                    }
+                }
+            }
+            if (target < 0) return total;
+
+            total += distance[target];
+            for (int state = target; state != position; state = parentState[state]) {
+                for (int tile : moves[parentState[state] / STATES * MOVES.length + parentMove[state]]) {
+                    remaining[tile] = false;
+                }
+            }
+            position = target;
+        }
+    }
+
+    private static boolean contains(int[] cells, int cell) {
+        for (int c : cells) {
+            if (c == cell) return true;
+        }
+        return false;
+    }
+
+    private int[] position(int cell) {
+        return new int[]{cell % width, cell / width};
+    }
+}
@@ -0,0 +1,46 @@
+package com.pacman.map;
+
+import com.pacman.entity.Dot;
+import com.pacman.entity.enemy.Enemy;
+import com.pacman.item.Item;
+
+import java.util.List;
+
+/**
+ * Copy of the dynamic map state for one simulation tick.
+ * Created once per map by GameMap.newSnapshot() and refilled by the
+ * simulation thread each tick, then read by the renderer once published.
+ */
+public final class MapSnapshot {
+    private final boolean[] dotsCollected;
+    private final List<Item> items;
+    private final List<Enemy> enemies;
+
+    MapSnapshot(boolean[] dotsCollected, List<Item> items, List<Enemy> enemies) {
+        this.dotsCollected = dotsCollected;
+        this.items = List.copyOf(items);
+        this.enemies = List.copyOf(enemies);
+    }
+
+    public boolean isDotCollected(int index) { return dotsCollected[index]; }
+    public int getDotCount() { return dotsCollected.length; }
+
+    /** Render copies of the items, in the same order as GameMap.getItems() */
+    public List<Item> getItems() { return items; }
+
+    /** Render copies of the enemies, in the same order as GameMap.getEnemies() */
+    public List<Enemy> getEnemies() { return enemies; }
+
+    /** Refill from the live map it was created for (simulation thread) */
+    void update(List<Dot> dots, List<Item> liveItems, List<Enemy> liveEnemies) {
+        for (int i = 0; i < dotsCollected.length; i++) {
+            dotsCollected[i] = dots.get(i).isCollected();
+        }
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).copyRenderState(liveItems.get(i));
+        }
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).copyRenderState(liveEnemies.get(i));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.pacman.map;
+
+import com.pacman.item.ItemType;
+import com.pacman.map.tile.TileType;
+import com.pacman.util.Constants;
+
+/**
+ * Seeded maze generator for endless maps.
+ * Every wall is decided from its global position alone, so chunks can be
+ * generated in any order and line up at their borders. Maze cells sit on
+ * odd coordinates; each cell opens north or east, with straight corridors
+ * every eight cells keeping the whole maze connected.
+ */
+public class MazeChunkGenerator implements ChunkedTileStore.ChunkGenerator {
+    private static final int CORRIDOR_SPACING = 8;
+    /** One cell in this many holds an item instead of a dot */
+    private static final int ITEM_RARITY = 97;
+    /** Enemies of an endless map, one in each diagonal from the spawn point */
+    private static final String[] ENDLESS_ENEMIES = {"chaser", "wanderer", "hunter", "wanderer"};
+
+    private final long seed;
+    private final int cellsWide;
+    private final int cellsHigh;
+
+    public MazeChunkGenerator(long seed, int widthInChunks, int heightInChunks) {
+        this.seed = seed;
+        this.cellsWide = (widthInChunks * ChunkedTileStore.CHUNK_SIZE - 1) / 2;
+        this.cellsHigh = (heightInChunks * ChunkedTileStore.CHUNK_SIZE - 1) / 2;
+    }
+
+    /**
+     * Map for the endless mode: a maze of this seed streamed around the
+     * player, which starts in the middle with the first chunks loaded.
+     * Release the map when its game ends.
+     */
+    public static GameMap newEndlessMap(long seed) {
+        int chunks = Constants.ENDLESS_WORLD_CHUNKS;
+        ChunkedTileStore store = new ChunkedTileStore(chunks, chunks, new MazeChunkGenerator(seed, chunks, chunks),
+                Constants.ENDLESS_LOAD_RADIUS, Constants.ENDLESS_MAX_CHUNKS);
+        // Maze cells sit on odd coordinates, so the spawn point and enemy spots are open
+        int spawnX = store.getWidth() / 2 + 1;
+        int spawnY = store.getHeight() / 2 + 1;
+        store.preload(spawnX, spawnY);
+
+        GameMap map = new GameMap(store);
+        map.setSpawnPoint(spawnX, spawnY);
+        int distance = Constants.ENDLESS_ENEMY_DISTANCE;
+        for (int i = 0; i < ENDLESS_ENEMIES.length; i++) {
+            int x = spawnX + (i % 2 == 0 ? -distance : distance);
+            int y = spawnY + (i < 2 ? -distance : distance);
+            map.addEnemy(x, y, ENDLESS_ENEMIES[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public void generate(int chunkX, int chunkY, ChunkedTileStore.ChunkBuilder chunk) {
+        for (int localY = 0; localY < ChunkedTileStore.CHUNK_SIZE; localY++) {
+            for (int localX = 0; localX < ChunkedTileStore.CHUNK_SIZE; localX++) {
+                int x = chunkX * ChunkedTileStore.CHUNK_SIZE + localX;
+                int y = chunkY * ChunkedTileStore.CHUNK_SIZE + localY;
+                if (!isOpen(x, y)) {
+                    chunk.setTile(localX, localY, TileType.WALL);
+                } else if (x % 2 == 1 && y % 2 == 1 && hash(x, y) % ITEM_RARITY == 0) {
+                    ItemType[] types = ItemType.values();
+                    chunk.addItem(localX, localY, types[(int) ((hash(y, x) >>> 1) % types.length)]);
+                } else {
+                    chunk.addDot(localX, localY);
+                }
+            }
+        }
+    }
+
+    private boolean isOpen(int x, int y) {
+        boolean oddX = x % 2 == 1;
+        boolean oddY = y % 2 == 1;
+        if (oddX && oddY) return isCell((x - 1) / 2, (y - 1) / 2);
+        // Wall between a cell and the one below it
+        if (oddX) return isCell((x - 1) / 2, y / 2) && opensNorth((x - 1) / 2, y / 2);
+        // Wall between a cell and the one to its right
+        if (oddY) return isCell(x / 2 - 1, (y - 1) / 2) && opensEast(x / 2 - 1, (y - 1) / 2);
+        return false;
+    }
+
+    private boolean isCell(int cellX, int cellY) {
+        return cellX >= 0 && cellY >= 0 && cellX < cellsWide && cellY < cellsHigh;
+    }
+
+    private boolean opensNorth(int cellX, int cellY) {
+        if (cellY == 0) return false;
+        if (cellX % CORRIDOR_SPACING == CORRIDOR_SPACING - 1 || cellX + 1 >= cellsWide) return true;
+        if (cellY % CORRIDOR_SPACING == 0) return false;
+        return (hash(cellX, cellY) & 1) == 0;
+    }
+
+    private boolean opensEast(int cellX, int cellY) {
+        if (cellX + 1 >= cellsWide) return false;
+        if (cellY % CORRIDOR_SPACING == 0) return true;
+        if (cellX % CORRIDOR_SPACING == CORRIDOR_SPACING - 1) return false;
+        return (hash(cellX, cellY) & 1) != 0;
+    }
+
+    /** SplitMix64-style mix of the seed and a position, non-negative */
+    private long hash(int a, int b) {
+        long h = seed ^ (a * 0x9E3779B97F4A7C15L) ^ (b * 0xC2B2AE3D27D4EB4FL);
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return (h ^ (h >>> 31)) >>> 1;
+    }
+}
@@ -0,0 +1,103 @@
+package com.pacman.map;
+
+import com.pacman.map.tile.TileType;
+import com.pacman.util.Palette;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Tile layer rasterized as flat tile colors straight into pixels.
+ * Each tile becomes a solid block in an int[] buffer that is uploaded with
+ * a single PixelWriter.setPixels call, which is far cheaper than a fillRect
+ * per tile once tiles are only a few pixels wide. Used for zoomed-out views
+ * and the minimap; close-ups keep the vector Tile.render path.
+ * The image is only rebuilt when the region, the tiles or the palette change.
+ */
+public class TileBitmap {
+    private final GameMap gameMap;
+    private final int[] typeColors;
+    private int[] buffer;
+    private WritableImage image;
+
+    /** What the current image shows */
+    private int firstCol;
+    private int firstRow;
+    private int columns;
+    private int rows;
+    private int pixelsPerTile;
+    private int tileGeneration;
+    private int paletteVersion;
+
+    public TileBitmap(GameMap gameMap) {
+        this.gameMap = gameMap;
+        this.typeColors = new int[TileType.values().length];
+    }
+
+    /**
+     * Image of a block of tiles at the given scale (FX thread). Cells
+     * outside the map are transparent. The returned image is reused and
+     * rewritten by later calls.
+     */
+    public WritableImage render(int firstCol, int firstRow, int columns, int rows, int pixelsPerTile) {
+        int width = columns * pixelsPerTile;
+        int height = rows * pixelsPerTile;
+        int palette = Palette.getInstance().getVersion();
+        int generation = gameMap.getTileGeneration();
+        if (image != null && firstCol == this.firstCol && firstRow == this.firstRow
+                && columns == this.columns && rows == this.rows && pixelsPerTile == this.pixelsPerTile
+                && generation == tileGeneration && palette == paletteVersion) {
+            return image;
+        }
+
+        if (palette != paletteVersion) {
+            for (TileType type : TileType.values()) {
+                typeColors[type.ordinal()] = toArgb(Palette.getInstance().tile(type));
+            }
+        }
+        if (image == null || (int) image.getWidth() != width || (int) image.getHeight() != height) {
+            image = new WritableImage(width, height);
+            buffer = new int[width * height];
+        }
+
+        fill(firstCol, firstRow, columns, rows, pixelsPerTile, width);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), buffer, 0, width);
+
+        this.firstCol = firstCol;
+        this.firstRow = firstRow;
+        this.columns = columns;
+        this.rows = rows;
+        this.pixelsPerTile = pixelsPerTile;
+        this.tileGeneration = generation;
+        this.paletteVersion = palette;
+        return image;
+    }
+
+    private void fill(int firstCol, int firstRow, int columns, int rows, int pixelsPerTile, int stride) {
+        for (int row = 0; row < rows; row++) {
+            int tileY = firstRow + row;
+            int rowStart = row * pixelsPerTile * stride;
+            for (int col = 0; col < columns; col++) {
+                int tileX = firstCol + col;
+                int argb = gameMap.isValidPosition(tileX, tileY)
+                        ? typeColors[gameMap.getTileType(tileX, tileY).ordinal()] : 0;
+                int start = rowStart + col * pixelsPerTile;
+                for (int i = 0; i < pixelsPerTile; i++) {
+                    buffer[start + i] = argb;
+                }
+            }
+            // Further pixel rows of a tile row repeat the first
+            for (int line = 1; line < pixelsPerTile; line++) {
+                System.arraycopy(buffer, rowStart, buffer, rowStart + line * stride, stride);
+            }
+        }
+    }
+
+    /** Non-premultiplied ARGB value of a color */
+    public static int toArgb(Color color) {
+        return ((int) Math.round(color.getOpacity() * 255) << 24)
+                | ((int) Math.round(color.getRed() * 255) << 16)
+                | ((int) Math.round(color.getGreen() * 255) << 8)
+                | (int) Math.round(color.getBlue() * 255);
+    }
+}
@@ -0,0 +1,155 @@
+package com.pacman.map;
+
+import com.pacman.map.tile.Tile;
+import com.pacman.render.FxRenderer;
+import com.pacman.render.ImageRenderer;
+import com.pacman.render.Renderer;
+import com.pacman.util.Constants;
+import com.pacman.util.Palette;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offscreen cache of the static tile layer.
+ * The map is split into square chunks that are rasterized on first use and
+ * blitted with drawImage; only chunks near the camera are kept, so large
+ * maps cost no more than small ones. Animated tiles are redrawn every frame.
+ */
+public class TileLayerCache {
+    /** Chunk edge length in tiles */
+    private static final int CHUNK_TILES = 8;
+    private static final int CHUNK_PIXELS = CHUNK_TILES * Constants.TILE_SIZE;
+    /** Resident chunk limit, enough for a few screens around the viewport */
+    private static final int MAX_CHUNKS = 48;
+
+    private static class Chunk {
+        WritableImage image;
+        int generation;
+        int paletteVersion;
+    }
+
+    private final GameMap gameMap;
+    private List<Tile> animatedTiles;
+    private final Map<Long, Chunk> chunks;
+    private Canvas scratch;
+    private Renderer scratchRenderer;
+    private volatile int generation;
+    private int animatedGeneration;
+    private int renderedGeneration;
+    private int renderedPaletteVersion;
+
+    public TileLayerCache(GameMap gameMap) {
+        this.gameMap = gameMap;
+        this.animatedTiles = List.of();
+        this.chunks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Chunk> eldest) {
+                return size() > MAX_CHUNKS;
+            }
+        };
+        this.generation = 1;
+        this.animatedGeneration = 0;
+    }
+
+    /** Mark the cache stale, chunks are rebuilt when next drawn */
+    public void invalidate() {
+        generation++;
+    }
+
+    /** Incremented whenever a tile changes */
+    public int getGeneration() { return generation; }
+
+    /** Whether drawn chunks are out of date and the screen must be repainted in full */
+    public boolean isStale() {
+        return renderedGeneration != generation
+                || renderedPaletteVersion != Palette.getInstance().getVersion();
+    }
+
+    /** Get a chunk, rasterizing it if missing or out of date (FX thread only) */
+    private Chunk chunk(int chunkX, int chunkY) {
+        long key = (long) chunkY * chunkColumns() + chunkX;
+        Chunk chunk = chunks.get(key);
+        int paletteVersion = Palette.getInstance().getVersion();
+        if (chunk == null) {
+            chunk = new Chunk();
+            chunks.put(key, chunk);
+        } else if (chunk.generation == generation && chunk.paletteVersion == paletteVersion) {
+            return chunk;
+        }
+
+        if (scratch == null) {
+            scratch = new Canvas(CHUNK_PIXELS, CHUNK_PIXELS);
+            scratchRenderer = new FxRenderer(scratch.getGraphicsContext2D());
+        }
+        Renderer gc = scratchRenderer;
+        gc.clearRect(0, 0, CHUNK_PIXELS, CHUNK_PIXELS);
+        gc.save();
+        gc.translate(-chunkX * CHUNK_PIXELS, -chunkY * CHUNK_PIXELS);
+        int lastX = Math.min(gameMap.getWidth(), (chunkX + 1) * CHUNK_TILES);
+        int lastY = Math.min(gameMap.getHeight(), (chunkY + 1) * CHUNK_TILES);
+        for (int y = chunkY * CHUNK_TILES; y < lastY; y++) {
+            for (int x = chunkX * CHUNK_TILES; x < lastX; x++) {
+                Tile.renderStatic(gc, x, y, gameMap.getTileType(x, y), gameMap.getTileDirection(x, y));
+            }
+        }
+        gc.restore();
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        chunk.image = scratch.snapshot(params, chunk.image);
+        chunk.generation = generation;
+        chunk.paletteVersion = paletteVersion;
+        return chunk;
+    }
+
+    private int chunkColumns() {
+        return (gameMap.getWidth() + CHUNK_TILES - 1) / CHUNK_TILES;
+    }
+
+    /** Draw the part of the static layer inside the camera view */
+    public void render(ImageRenderer gc, Camera camera) {
+        renderRegion(gc, camera.getX(), camera.getY(), camera.getViewportWidth(), camera.getViewportHeight());
+        renderedGeneration = generation;
+        renderedPaletteVersion = Palette.getInstance().getVersion();
+    }
+
+    /** Restore a rectangle of the static layer (map pixel coordinates) */
+    public void renderRegion(ImageRenderer gc, double x, double y, double width, double height) {
+        double right = Math.min(x + width, gameMap.getWidth() * Constants.TILE_SIZE);
+        double bottom = Math.min(y + height, gameMap.getHeight() * Constants.TILE_SIZE);
+        x = Math.max(0, x);
+        y = Math.max(0, y);
+        if (right <= x || bottom <= y) return;
+
+        int firstChunkX = (int) (x / CHUNK_PIXELS);
+        int firstChunkY = (int) (y / CHUNK_PIXELS);
+        int lastChunkX = (int) ((right - 1) / CHUNK_PIXELS);
+        int lastChunkY = (int) ((bottom - 1) / CHUNK_PIXELS);
+        for (int cy = firstChunkY; cy <= lastChunkY; cy++) {
+            for (int cx = firstChunkX; cx <= lastChunkX; cx++) {
+                double originX = cx * CHUNK_PIXELS;
+                double originY = cy * CHUNK_PIXELS;
+                double left = Math.max(x, originX);
+                double top = Math.max(y, originY);
+                double w = Math.min(right, originX + CHUNK_PIXELS) - left;
+                double h = Math.min(bottom, originY + CHUNK_PIXELS) - top;
+                gc.drawImage(chunk(cx, cy).image, left - originX, top - originY, w, h, left, top, w, h);
+            }
+        }
+    }
+
+    /** Tiles that need per-frame redraw on top of the cached layer */
+    public List<Tile> getAnimatedTiles() {
+        if (animatedGeneration != generation) {
+            animatedTiles = gameMap.createAnimatedTiles();
+            animatedGeneration = generation;
+        }
+        return animatedTiles;
+    }
+}
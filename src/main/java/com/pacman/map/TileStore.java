@@ -0,0 +1,55 @@
+package com.pacman.map;
+
+import com.pacman.item.ItemType;
+import com.pacman.map.tile.TileType;
+import com.pacman.util.Direction;
+
+/**
+ * Backing storage for map cells (OOP: Strategy pattern).
+ * Fixed levels use a flat array; endless maps use streamed chunks that can
+ * also hold their own dots and items.
+ */
+public interface TileStore {
+
+    int getWidth();
+
+    int getHeight();
+
+    /** Tile type at a position inside the map */
+    TileType getType(int x, int y);
+
+    /** One-way direction at a position inside the map */
+    Direction getDirection(int x, int y);
+
+    void setTile(int x, int y, TileType type, Direction direction);
+
+    /** Whether the store holds an uncollected dot at this position */
+    default boolean hasDot(int x, int y) { return false; }
+
+    /** Collect a stored dot, returns false if there was none */
+    default boolean collectDot(int x, int y) { return false; }
+
+    /** Number of stored dots collected so far */
+    default int getCollectedDots() { return 0; }
+
+    /** Item stored at this position, or null */
+    default ItemType getItem(int x, int y) { return null; }
+
+    /** Remove and return the stored item at this position, or null */
+    default ItemType takeItem(int x, int y) { return null; }
+
+    /** Whether this store provides its own dots and items */
+    default boolean hasStoredPickups() { return false; }
+
+    /** Load content around a position and release what is far away (simulation thread) */
+    default void streamAround(int x, int y) {}
+
+    /** Called when content changes outside setTile, e.g. a streamed chunk arrives */
+    default void setChangeListener(Runnable listener) {}
+
+    /** Stop background work once the map is done with (FX thread) */
+    default void release() {}
+
+    /** Independent copy of the cells, for maps built once and played many times */
+    TileStore copy();
+}
@@ -0,0 +1,17 @@
+package com.pacman.map;
+
+import com.pacman.entity.Player;
+import com.pacman.render.Renderer;
+
+/**
+ * Region the player can see while blinded (OOP: Strategy pattern).
+ * Implementations decide tile visibility and draw the matching fog overlay.
+ */
+public interface VisibilityRegion {
+
+    /** Whether the tile at (tileX, tileY) is visible to the player */
+    boolean isVisible(int tileX, int tileY, Player player);
+
+    /** Cover everything outside the visible region */
+    void renderFog(Renderer gc, Player player, double mapWidth, double mapHeight);
+}
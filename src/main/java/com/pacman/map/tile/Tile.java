@@ -1,17 +1,22 @@
 package com.pacman.map.tile;
 
+import com.pacman.effect.EffectManager;
+import com.pacman.effect.EffectType;
 import com.pacman.entity.Entity;
 import com.pacman.entity.Player;
+import com.pacman.render.Renderer;
 import com.pacman.util.Constants;
 import com.pacman.util.Direction;
 import com.pacman.util.SoundManager;
 import com.pacman.util.SoundManager.SoundType;
-import javafx.scene.canvas.GraphicsContext;
+import com.pacman.util.Palette;
+import com.pacman.util.RenderQuality;
 import javafx.scene.paint.Color;
 
 /**
  * Tile class representing a single map cell (OOP: Encapsulation).
  * Different tile types produce different gameplay effects.
+ * GameMap stores tiles in primitive arrays and hands out Tile views on demand.
  */
 public class Tile {
     protected int gridX, gridY;
@@ -29,21 +34,43 @@ public class Tile {
     }
 
     /** Render tile to canvas */
-    public void render(GraphicsContext gc) {
+    public void render(Renderer gc) {
+        renderStatic(gc);
+        renderAnimated(gc);
+    }
+
+    /** Render the parts of the tile that stay fixed for the whole level */
+    public void renderStatic(Renderer gc) {
+        renderStatic(gc, gridX, gridY, type, direction);
+    }
+
+    /** Render the static parts of a cell without a Tile view, for per-cell render loops */
+    public static void renderStatic(Renderer gc, int gridX, int gridY, TileType type, Direction direction) {
         double pixelX = gridX * Constants.TILE_SIZE;
         double pixelY = gridY * Constants.TILE_SIZE;
 
-        gc.setFill(Color.web(type.getColor()));
+        gc.setFill(Palette.getInstance().tile(type));
         gc.fillRect(pixelX, pixelY, Constants.TILE_SIZE, Constants.TILE_SIZE);
-        renderSpecialEffect(gc, pixelX, pixelY);
+        renderSpecialEffect(gc, pixelX, pixelY, type, direction);
+    }
+
+    /** Render per-frame animation drawn on top of the static layer */
+    public void renderAnimated(Renderer gc) {
+        if (type == TileType.PORTAL) {
+            renderPortal(gc, gridX * Constants.TILE_SIZE, gridY * Constants.TILE_SIZE);
+        }
+    }
+
+    /** Whether this tile has animation that must be redrawn every frame */
+    public boolean isAnimated() {
+        return type.isAnimated();
     }
 
-    /** Render special visual effects based on tile type */
-    protected void renderSpecialEffect(GraphicsContext gc, double x, double y) {
+    /** Render static visual effects based on tile type */
+    private static void renderSpecialEffect(Renderer gc, double x, double y, TileType type, Direction direction) {
         switch (type) {
             case WALL -> renderWall(gc, x, y);
-            case PORTAL -> renderPortal(gc, x, y);
-            case ONE_WAY -> renderOneWay(gc, x, y);
+            case ONE_WAY -> renderOneWay(gc, x, y, direction);
             case ICE -> renderIce(gc, x, y);
             case JUMP_PAD -> renderJumpPad(gc, x, y);
             case SPEED_UP -> renderSpeedUp(gc, x, y);
@@ -53,24 +80,25 @@ public class Tile {
         }
     }
 
-    private void renderWall(GraphicsContext gc, double x, double y) {
-        gc.setStroke(Color.web("#0066CC"));
+    private static void renderWall(Renderer gc, double x, double y) {
+        gc.setStroke(Palette.getInstance().color("#0066CC"));
         gc.setLineWidth(2);
         gc.strokeRect(x + 1, y + 1, Constants.TILE_SIZE - 2, Constants.TILE_SIZE - 2);
         // Highlight effect
-        gc.setStroke(Color.web("#3399FF", 0.5));
+        gc.setStroke(Palette.getInstance().color("#3399FF", 0.5));
         gc.strokeLine(x + 3, y + 3, x + Constants.TILE_SIZE - 3, y + 3);
         gc.strokeLine(x + 3, y + 3, x + 3, y + Constants.TILE_SIZE - 3);
     }
 
-    private void renderPortal(GraphicsContext gc, double x, double y) {
+    private static void renderPortal(Renderer gc, double x, double y) {
         double centerX = x + Constants.TILE_SIZE / 2.0;
         double centerY = y + Constants.TILE_SIZE / 2.0;
         double radius = Constants.TILE_SIZE / 3.0;
 
-        // Rotation animation
-        double rotation = (System.currentTimeMillis() % 3000) / 3000.0 * Math.PI * 2;
-        gc.setStroke(Color.web("#FF00FF", 0.8));
+        // Rotation animation, held still when effects are reduced
+        double rotation = RenderQuality.getInstance().isEnabled(RenderQuality.Effect.PORTAL_ROTATION)
+                ? (System.currentTimeMillis() % 3000) / 3000.0 * Math.PI * 2 : 0;
+        gc.setStroke(Palette.getInstance().color(Constants.COLOR_PORTAL, 0.8));
         gc.setLineWidth(2);
 
         for (int i = 0; i < 4; i++) {
@@ -83,11 +111,11 @@ public class Tile {
         }
 
         // Center circle
-        gc.setFill(Color.web("#FF00FF", 0.6));
+        gc.setFill(Palette.getInstance().color(Constants.COLOR_PORTAL, 0.6));
         gc.fillOval(centerX - radius * 0.4, centerY - radius * 0.4, radius * 0.8, radius * 0.8);
     }
 
-    private void renderOneWay(GraphicsContext gc, double x, double y) {
+    private static void renderOneWay(Renderer gc, double x, double y, Direction direction) {
         double centerX = x + Constants.TILE_SIZE / 2.0;
         double centerY = y + Constants.TILE_SIZE / 2.0;
 
@@ -124,9 +152,9 @@ public class Tile {
         gc.fillPolygon(xPoints, yPoints, 3);
     }
 
-    private void renderIce(GraphicsContext gc, double x, double y) {
+    private static void renderIce(Renderer gc, double x, double y) {
         // Ice crystal effect
-        gc.setStroke(Color.web("#FFFFFF", 0.5));
+        gc.setStroke(Palette.getInstance().color("#FFFFFF", 0.5));
         gc.setLineWidth(1);
         gc.strokeLine(x + 5, y + 5, x + Constants.TILE_SIZE - 5, y + Constants.TILE_SIZE - 5);
         gc.strokeLine(x + Constants.TILE_SIZE - 5, y + 5, x + 5, y + Constants.TILE_SIZE - 5);
@@ -134,7 +162,7 @@ public class Tile {
         gc.strokeLine(x + 3, y + Constants.TILE_SIZE / 2, x + Constants.TILE_SIZE - 3, y + Constants.TILE_SIZE / 2);
     }
 
-    private void renderJumpPad(GraphicsContext gc, double x, double y) {
+    private static void renderJumpPad(Renderer gc, double x, double y) {
         double centerX = x + Constants.TILE_SIZE / 2.0;
         gc.setStroke(Color.WHITE);
         gc.setLineWidth(2);
@@ -158,7 +186,7 @@ public class Tile {
         );
     }
 
-    private void renderSpeedUp(GraphicsContext gc, double x, double y) {
+    private static void renderSpeedUp(Renderer gc, double x, double y) {
         gc.setFill(Color.YELLOW);
         double centerX = x + Constants.TILE_SIZE / 2.0;
         double centerY = y + Constants.TILE_SIZE / 2.0;
@@ -174,7 +202,7 @@ public class Tile {
         }
     }
 
-    private void renderSlowDown(GraphicsContext gc, double x, double y) {
+    private static void renderSlowDown(Renderer gc, double x, double y) {
         gc.setStroke(Color.YELLOW);
         gc.setLineWidth(3);
 
@@ -185,12 +213,12 @@ public class Tile {
         }
     }
 
-    private void renderBlindTrap(GraphicsContext gc, double x, double y) {
+    private static void renderBlindTrap(Renderer gc, double x, double y) {
         double centerX = x + Constants.TILE_SIZE / 2.0;
         double centerY = y + Constants.TILE_SIZE / 2.0;
 
         // Draw crossed-out eye icon
-        gc.setStroke(Color.web("#9932CC"));
+        gc.setStroke(Palette.getInstance().color("#9932CC"));
         gc.setLineWidth(2);
         gc.strokeOval(centerX - 10, centerY - 5, 20, 10);
         gc.fillOval(centerX - 4, centerY - 3, 8, 6);
@@ -262,19 +290,20 @@ public class Tile {
 
         int targetX = -1;
         int targetY = -1;
-        int maxSearchDistance = Math.max(Constants.MAP_COLS, Constants.MAP_ROWS);
+        if (gameMap == null) return;
+        int maxSearchDistance = Math.max(gameMap.getWidth(), gameMap.getHeight());
 
         for (int dist = 1; dist <= maxSearchDistance; dist++) {
             int testX = gridX + jumpDir.getDx() * dist;
             int testY = gridY + jumpDir.getDy() * dist;
 
             // Boundary check
-            if (testX < 0 || testX >= Constants.MAP_COLS || testY < 0 || testY >= Constants.MAP_ROWS) {
+            if (!gameMap.isValidPosition(testX, testY)) {
                 break;
             }
 
             // Check for valid landing spot (not a wall)
-            if (gameMap != null && gameMap.canMoveTo(testX, testY, false)) {
+            if (gameMap.canMoveTo(testX, testY, false)) {
                 targetX = testX;
                 targetY = testY;
                 break;
@@ -290,9 +319,12 @@ public class Tile {
     /** Handle portal teleportation */
     private void handlePortal(Player player) {
         if (linkedTile != null && player.canTeleport()) {
+            EffectManager effects = EffectManager.getInstance();
+            effects.emit(EffectType.TELEPORT, player.getPixelX(), player.getPixelY());
             player.setGridX(linkedTile.getGridX());
             player.setGridY(linkedTile.getGridY());
             player.setPortalCooldown(0.5);
+            effects.emit(EffectType.TELEPORT, player.getPixelX(), player.getPixelY());
             SoundManager.getInstance().play(SoundType.TELEPORT);
         }
     }
@@ -30,6 +30,19 @@ public enum TileType {
     public String getColor() { return color; }
     public boolean isWalkable() { return walkable; }
 
+    /** Whether tiles of this type animate and are redrawn every frame */
+    public boolean isAnimated() {
+        return this == PORTAL;
+    }
+
+    /** Whether stepping on this type does more than end ice sliding, so a Tile is needed to apply it */
+    public boolean hasStepEffect() {
+        return switch (this) {
+            case ICE, SPEED_UP, SLOW_DOWN, BLIND_TRAP, JUMP_PAD, PORTAL -> true;
+            default -> false;
+        };
+    }
+
     public static TileType fromId(String id) {
         for (TileType type : values()) {
             if (type.id.equals(id)) return type;
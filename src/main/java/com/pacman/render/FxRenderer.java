@@ -0,0 +1,116 @@
+package com.pacman.render;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Renderer backed by a JavaFX canvas (FX thread only).
+ */
+public class FxRenderer implements ImageRenderer {
+    private final GraphicsContext gc;
+    /** Images built from ARGB blocks, keyed by array identity */
+    private final Map<int[], WritableImage> argbImages;
+
+    public FxRenderer(GraphicsContext gc) {
+        this.gc = gc;
+        this.argbImages = new WeakHashMap<>();
+    }
+
+    public GraphicsContext getGraphicsContext() { return gc; }
+
+    @Override
+    public void setFill(Color color) { gc.setFill(color); }
+
+    @Override
+    public void setStroke(Color color) { gc.setStroke(color); }
+
+    @Override
+    public void setLineWidth(double width) { gc.setLineWidth(width); }
+
+    @Override
+    public void setLineDashes(double... dashes) { gc.setLineDashes(dashes); }
+
+    @Override
+    public void setGlobalAlpha(double alpha) { gc.setGlobalAlpha(alpha); }
+
+    @Override
+    public void save() { gc.save(); }
+
+    @Override
+    public void restore() { gc.restore(); }
+
+    @Override
+    public void translate(double x, double y) { gc.translate(x, y); }
+
+    @Override
+    public void clipRect(double x, double y, double width, double height) {
+        gc.beginPath();
+        gc.rect(x, y, width, height);
+        gc.clip();
+    }
+
+    @Override
+    public void clearRect(double x, double y, double width, double height) { gc.clearRect(x, y, width, height); }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height) { gc.fillRect(x, y, width, height); }
+
+    @Override
+    public void strokeRect(double x, double y, double width, double height) { gc.strokeRect(x, y, width, height); }
+
+    @Override
+    public void fillRoundRect(double x, double y, double width, double height, double arcWidth, double arcHeight) {
+        gc.fillRoundRect(x, y, width, height, arcWidth, arcHeight);
+    }
+
+    @Override
+    public void fillOval(double x, double y, double width, double height) { gc.fillOval(x, y, width, height); }
+
+    @Override
+    public void strokeOval(double x, double y, double width, double height) { gc.strokeOval(x, y, width, height); }
+
+    @Override
+    public void fillArc(double x, double y, double width, double height, double startAngle, double arcExtent, ArcType closure) {
+        gc.fillArc(x, y, width, height, startAngle, arcExtent, closure);
+    }
+
+    @Override
+    public void strokeArc(double x, double y, double width, double height, double startAngle, double arcExtent, ArcType closure) {
+        gc.strokeArc(x, y, width, height, startAngle, arcExtent, closure);
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) { gc.strokeLine(x1, y1, x2, y2); }
+
+    @Override
+    public void fillPolygon(double[] xPoints, double[] yPoints, int nPoints) { gc.fillPolygon(xPoints, yPoints, nPoints); }
+
+    /** The block is uploaded once; callers must not change the array after drawing it */
+    @Override
+    public void drawArgb(int[] pixels, int width, int height, double x, double y) {
+        WritableImage image = argbImages.get(pixels);
+        if (image == null) {
+            image = new WritableImage(width, height);
+            image.getPixelWriter().setPixels(0, 0, width, height,
+                    PixelFormat.getIntArgbInstance(), pixels, 0, width);
+            argbImages.put(pixels, image);
+        }
+        gc.drawImage(image, x, y);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y) { gc.drawImage(image, x, y); }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        gc.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+    }
+}
@@ -0,0 +1,16 @@
+package com.pacman.render;
+
+import javafx.scene.image.Image;
+
+/**
+ * Renderer that can also draw JavaFX images.
+ * Only surfaces backed by the JavaFX toolkit implement it; callers holding
+ * cached images or skins check for it and fall back to vector drawing.
+ */
+public interface ImageRenderer extends Renderer {
+
+    void drawImage(Image image, double x, double y);
+
+    void drawImage(Image image, double sx, double sy, double sw, double sh,
+                   double dx, double dy, double dw, double dh);
+}
@@ -0,0 +1,58 @@
+package com.pacman.render;
+
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+
+/**
+ * Drawing surface used by tiles, entities and the map (OOP: Strategy pattern).
+ * Mirrors the subset of GraphicsContext the game draws with, so the same
+ * render code can target the JavaFX canvas or a plain pixel buffer.
+ * Drawing images is the separate ImageRenderer capability.
+ */
+public interface Renderer {
+
+    void setFill(Color color);
+
+    void setStroke(Color color);
+
+    void setLineWidth(double width);
+
+    /** Dash pattern for strokes; no dashes, or a single 0, draws solid lines */
+    void setLineDashes(double... dashes);
+
+    void setGlobalAlpha(double alpha);
+
+    /** Push the current state (colors, line style, alpha, transform, clip) */
+    void save();
+
+    /** Pop the state pushed by the matching save() */
+    void restore();
+
+    void translate(double x, double y);
+
+    /** Intersect the clip with a rectangle */
+    void clipRect(double x, double y, double width, double height);
+
+    void clearRect(double x, double y, double width, double height);
+
+    void fillRect(double x, double y, double width, double height);
+
+    void strokeRect(double x, double y, double width, double height);
+
+    void fillRoundRect(double x, double y, double width, double height, double arcWidth, double arcHeight);
+
+    void fillOval(double x, double y, double width, double height);
+
+    void strokeOval(double x, double y, double width, double height);
+
+    void fillArc(double x, double y, double width, double height, double startAngle, double arcExtent, ArcType closure);
+
+    void strokeArc(double x, double y, double width, double height, double startAngle, double arcExtent, ArcType closure);
+
+    void strokeLine(double x1, double y1, double x2, double y2);
+
+    void fillPolygon(double[] xPoints, double[] yPoints, int nPoints);
+
+    /** Blend a block of ARGB pixels, one per unit, with its top-left corner at (x, y) */
+    void drawArgb(int[] pixels, int width, int height, double x, double y);
+}
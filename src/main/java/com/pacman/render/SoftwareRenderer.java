@@ -0,0 +1,502 @@
+package com.pacman.render;
+
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Pure-Java renderer that rasterizes into an int[] ARGB framebuffer.
+ * Needs no JavaFX toolkit, display or GPU (Color and ArcType are plain
+ * value classes), so it works on headless servers, and separate instances
+ * can render on separate threads. Shapes are sampled at pixel centers
+ * without anti-aliasing. It is not an ImageRenderer, so callers draw
+ * vectors instead of JavaFX images.
+ */
+public class SoftwareRenderer implements Renderer {
+    private static final double[] NO_DASHES = new double[0];
+
+    /** Drawing state pushed by save() and popped by restore() */
+    private static final class State {
+        Color fill = Color.BLACK;
+        Color stroke = Color.BLACK;
+        double lineWidth = 1;
+        double[] dashes = NO_DASHES;
+        double globalAlpha = 1;
+        double translateX;
+        double translateY;
+        int clipLeft;
+        int clipTop;
+        int clipRight;
+        int clipBottom;
+
+        State copy() {
+            State copy = new State();
+            copy.fill = fill;
+            copy.stroke = stroke;
+            copy.lineWidth = lineWidth;
+            copy.dashes = dashes;
+            copy.globalAlpha = globalAlpha;
+            copy.translateX = translateX;
+            copy.translateY = translateY;
+            copy.clipLeft = clipLeft;
+            copy.clipTop = clipTop;
+            copy.clipRight = clipRight;
+            copy.clipBottom = clipBottom;
+            return copy;
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+    private final Deque<State> saved;
+    private State state;
+
+    /** Paint of the shape being drawn */
+    private int paintRgb;
+    private double paintAlpha;
+
+    /** Polygon edge crossings of the current scanline, grown on demand */
+    private double[] crossingX;
+    private int[] crossingWinding;
+
+    public SoftwareRenderer(int width, int height) {
+        this(width, height, new int[width * height]);
+    }
+
+    /** Render into an existing buffer of width * height pixels, row by row */
+    public SoftwareRenderer(int width, int height, int[] pixels) {
+        if (width <= 0 || height <= 0 || pixels.length < width * height) {
+            throw new IllegalArgumentException("Buffer too small for " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+        this.saved = new ArrayDeque<>();
+        this.state = new State();
+        state.clipRight = width;
+        state.clipBottom = height;
+        this.crossingX = new double[16];
+        this.crossingWinding = new int[16];
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    /** The framebuffer, non-premultiplied ARGB, row by row */
+    public int[] getPixels() { return pixels; }
+
+    /** Fill the whole buffer, ignoring the clip */
+    public void clear(int argb) {
+        Arrays.fill(pixels, 0, width * height, argb);
+    }
+
+    // ---- State ----
+
+    @Override
+    public void setFill(Color color) { state.fill = color; }
+
+    @Override
+    public void setStroke(Color color) { state.stroke = color; }
+
+    @Override
+    public void setLineWidth(double width) { state.lineWidth = width; }
+
+    @Override
+    public void setLineDashes(double... dashes) {
+        boolean solid = dashes == null || dashes.length == 0 || (dashes.length == 1 && dashes[0] <= 0);
+        if (solid) {
+            state.dashes = NO_DASHES;
+        } else if (dashes.length % 2 == 1) {
+            // Odd patterns repeat, so dashes and gaps alternate
+            double[] even = Arrays.copyOf(dashes, dashes.length * 2);
+            System.arraycopy(dashes, 0, even, dashes.length, dashes.length);
+            state.dashes = even;
+        } else {
+            state.dashes = dashes.clone();
+        }
+    }
+
+    @Override
+    public void setGlobalAlpha(double alpha) { state.globalAlpha = Math.max(0, Math.min(1, alpha)); }
+
+    @Override
+    public void save() {
+        saved.push(state.copy());
+    }
+
+    @Override
+    public void restore() {
+        if (!saved.isEmpty()) state = saved.pop();
+    }
+
+    @Override
+    public void translate(double x, double y) {
+        state.translateX += x;
+        state.translateY += y;
+    }
+
+    @Override
+    public void clipRect(double x, double y, double width, double height) {
+        state.clipLeft = Math.max(state.clipLeft, firstCol(x));
+        state.clipTop = Math.max(state.clipTop, firstRow(y));
+        state.clipRight = Math.min(state.clipRight, endCol(x + width));
+        state.clipBottom = Math.min(state.clipBottom, endRow(y + height));
+    }
+
+    // ---- Pixel coverage: a pixel is covered when its center is, ranges are half-open ----
+
+    private int firstCol(double x) {
+        return Math.max(state.clipLeft, (int) Math.ceil(x + state.translateX - 0.5));
+    }
+
+    private int endCol(double x) {
+        return Math.min(state.clipRight, (int) Math.ceil(x + state.translateX - 0.5));
+    }
+
+    private int firstRow(double y) {
+        return Math.max(state.clipTop, (int) Math.ceil(y + state.translateY - 0.5));
+    }
+
+    private int endRow(double y) {
+        return Math.min(state.clipBottom, (int) Math.ceil(y + state.translateY - 0.5));
+    }
+
+    /** User-space x of the center of device column px */
+    private double centerX(int px) {
+        return px + 0.5 - state.translateX;
+    }
+
+    private double centerY(int py) {
+        return py + 0.5 - state.translateY;
+    }
+
+    /** Select the paint for the next shape; false if it would be invisible */
+    private boolean paint(Color color) {
+        paintAlpha = color.getOpacity() * state.globalAlpha;
+        paintRgb = ((int) Math.round(color.getRed() * 255) << 16)
+                | ((int) Math.round(color.getGreen() * 255) << 8)
+                | (int) Math.round(color.getBlue() * 255);
+        return paintAlpha > 0;
+    }
+
+    /** Source-over blend of the current paint into one device pixel */
+    private void blend(int px, int py) {
+        blend(py * width + px, paintRgb, paintAlpha);
+    }
+
+    private void blend(int index, int rgb, double alpha) {
+        if (alpha >= 1) {
+            pixels[index] = 0xFF000000 | rgb;
+            return;
+        }
+        int dst = pixels[index];
+        double dstAlpha = (dst >>> 24) / 255.0;
+        double outAlpha = alpha + dstAlpha * (1 - alpha);
+        if (outAlpha <= 0) return;
+
+        double dstWeight = dstAlpha * (1 - alpha);
+        int r = (int) Math.round((((rgb >> 16) & 0xFF) * alpha + ((dst >> 16) & 0xFF) * dstWeight) / outAlpha);
+        int g = (int) Math.round((((rgb >> 8) & 0xFF) * alpha + ((dst >> 8) & 0xFF) * dstWeight) / outAlpha);
+        int b = (int) Math.round(((rgb & 0xFF) * alpha + (dst & 0xFF) * dstWeight) / outAlpha);
+        pixels[index] = ((int) Math.round(outAlpha * 255) << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /** Paint the pixels of device row py whose centers lie in [x0, x1) */
+    private void fillSpan(int py, double x0, double x1) {
+        int end = endCol(x1);
+        for (int px = firstCol(x0); px < end; px++) {
+            blend(px, py);
+        }
+    }
+
+    // ---- Shapes ----
+
+    @Override
+    public void clearRect(double x, double y, double width, double height) {
+        int endRow = endRow(y + height);
+        int endCol = endCol(x + width);
+        int firstCol = firstCol(x);
+        for (int py = firstRow(y); py < endRow; py++) {
+            if (firstCol < endCol) Arrays.fill(pixels, py * this.width + firstCol, py * this.width + endCol, 0);
+        }
+    }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height) {
+        if (width <= 0 || height <= 0 || !paint(state.fill)) return;
+        int endRow = endRow(y + height);
+        for (int py = firstRow(y); py < endRow; py++) {
+            fillSpan(py, x, x + width);
+        }
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double width, double height) {
+        if (state.dashes.length > 0) {
+            strokeLine(x, y, x + width, y);
+            strokeLine(x + width, y, x + width, y + height);
+            strokeLine(x + width, y + height, x, y + height);
+            strokeLine(x, y + height, x, y);
+            return;
+        }
+        if (!paint(state.stroke)) return;
+
+        // Band between the outer and inner rectangles
+        double half = state.lineWidth / 2;
+        double innerTop = y + half;
+        double innerBottom = y + height - half;
+        int endRow = endRow(y + height + half);
+        for (int py = firstRow(y - half); py < endRow; py++) {
+            double cy = centerY(py);
+            if (cy >= innerTop && cy < innerBottom && width > state.lineWidth) {
+                fillSpan(py, x - half, x + half);
+                fillSpan(py, x + width - half, x + width + half);
+            } else {
+                fillSpan(py, x - half, x + width + half);
+            }
+        }
+    }
+
+    @Override
+    public void fillRoundRect(double x, double y, double width, double height, double arcWidth, double arcHeight) {
+        if (width <= 0 || height <= 0 || !paint(state.fill)) return;
+        double rx = Math.min(width, Math.abs(arcWidth)) / 2;
+        double ry = Math.min(height, Math.abs(arcHeight)) / 2;
+        int endRow = endRow(y + height);
+        for (int py = firstRow(y); py < endRow; py++) {
+            double cy = centerY(py);
+            double inset = 0;
+            if (ry > 0) {
+                double dy = Math.max(y + ry - cy, cy - (y + height - ry)) / ry;
+                if (dy > 0) inset = rx * (1 - Math.sqrt(Math.max(0, 1 - dy * dy)));
+            }
+            fillSpan(py, x + inset, x + width - inset);
+        }
+    }
+
+    @Override
+    public void fillOval(double x, double y, double width, double height) {
+        if (width <= 0 || height <= 0 || !paint(state.fill)) return;
+        double rx = width / 2;
+        double ry = height / 2;
+        double cx = x + rx;
+        double cy = y + ry;
+        int endRow = endRow(y + height);
+        for (int py = firstRow(y); py < endRow; py++) {
+            double dy = (centerY(py) - cy) / ry;
+            if (dy * dy >= 1) continue;
+            double half = rx * Math.sqrt(1 - dy * dy);
+            fillSpan(py, cx - half, cx + half);
+        }
+    }
+
+    @Override
+    public void strokeOval(double x, double y, double width, double height) {
+        strokeArc(x, y, width, height, 0, 360, ArcType.OPEN);
+    }
+
+    @Override
+    public void fillArc(double x, double y, double width, double height, double startAngle, double arcExtent, ArcType closure) {
+        if (width <= 0 || height <= 0 || !paint(state.fill)) return;
+        double rx = width / 2;
+        double ry = height / 2;
+        double cx = x + rx;
+        double cy = y + ry;
+        boolean full = Math.abs(arcExtent) >= 360;
+
+        // Chord and open fills are cut by the line between the end points
+        boolean chord = closure != ArcType.ROUND && !full;
+        double startX = cx + rx * Math.cos(Math.toRadians(startAngle));
+        double startY = cy - ry * Math.sin(Math.toRadians(startAngle));
+        double endX = cx + rx * Math.cos(Math.toRadians(startAngle + arcExtent));
+        double endY = cy - ry * Math.sin(Math.toRadians(startAngle + arcExtent));
+        double midAngle = Math.toRadians(startAngle + arcExtent / 2);
+        double arcSide = side(startX, startY, endX, endY, cx + rx * Math.cos(midAngle), cy - ry * Math.sin(midAngle));
+
+        int endRow = endRow(y + height);
+        int endCol = endCol(x + width);
+        for (int py = firstRow(y); py < endRow; py++) {
+            double uy = centerY(py);
+            double ny = (uy - cy) / ry;
+            for (int px = firstCol(x); px < endCol; px++) {
+                double ux = centerX(px);
+                double nx = (ux - cx) / rx;
+                if (nx * nx + ny * ny >= 1) continue;
+                boolean inside = chord
+                        ? side(startX, startY, endX, endY, ux, uy) * arcSide >= 0
+                        : full || inArc(Math.toDegrees(Math.atan2(-ny, nx)), startAngle, arcExtent);
+                if (inside) blend(px, py);
+            }
+        }
+    }
+
+    @Override
+    public void strokeArc(double x, double y, double width, double height, double startAngle, double arcExtent, ArcType closure) {
+        if (!paint(state.stroke)) return;
+        double half = state.lineWidth / 2;
+        double rx = width / 2;
+        double ry = height / 2;
+        double cx = x + rx;
+        double cy = y + ry;
+        double outerX = rx + half;
+        double outerY = ry + half;
+        double innerX = rx - half;
+        double innerY = ry - half;
+        boolean full = Math.abs(arcExtent) >= 360;
+
+        int endRow = endRow(cy + outerY);
+        int endCol = endCol(cx + outerX);
+        for (int py = firstRow(cy - outerY); py < endRow; py++) {
+            double uy = centerY(py);
+            double oy = (uy - cy) / outerY;
+            for (int px = firstCol(cx - outerX); px < endCol; px++) {
+                double ux = centerX(px);
+                double ox = (ux - cx) / outerX;
+                if (ox * ox + oy * oy >= 1) continue;
+                if (innerX > 0 && innerY > 0) {
+                    double ix = (ux - cx) / innerX;
+                    double iy = (uy - cy) / innerY;
+                    if (ix * ix + iy * iy < 1) continue;
+                }
+                if (full || inArc(Math.toDegrees(Math.atan2(-(uy - cy), ux - cx)), startAngle, arcExtent)) {
+                    blend(px, py);
+                }
+            }
+        }
+
+        if (full || closure == ArcType.OPEN) return;
+        double startX = cx + rx * Math.cos(Math.toRadians(startAngle));
+        double startY = cy - ry * Math.sin(Math.toRadians(startAngle));
+        double endX = cx + rx * Math.cos(Math.toRadians(startAngle + arcExtent));
+        double endY = cy - ry * Math.sin(Math.toRadians(startAngle + arcExtent));
+        if (closure == ArcType.CHORD) {
+            strokeLine(startX, startY, endX, endY);
+        } else {
+            strokeLine(cx, cy, startX, startY);
+            strokeLine(cx, cy, endX, endY);
+        }
+    }
+
+    /** Whether an angle in degrees (counterclockwise from 3 o'clock) lies on the arc */
+    private static boolean inArc(double angle, double start, double extent) {
+        if (extent < 0) {
+            start += extent;
+            extent = -extent;
+        }
+        double offset = ((angle - start) % 360 + 360) % 360;
+        return offset <= extent;
+    }
+
+    /** Sign of the side of line (x1, y1)-(x2, y2) that (px, py) is on */
+    private static double side(double x1, double y1, double x2, double y2, double px, double py) {
+        return Math.signum((x2 - x1) * (py - y1) - (y2 - y1) * (px - x1));
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double length = Math.sqrt(dx * dx + dy * dy);
+        if (length == 0 || !paint(state.stroke)) return;
+        double ux = dx / length;
+        double uy = dy / length;
+        double half = state.lineWidth / 2;
+        double[] dashes = state.dashes;
+        double dashCycle = 0;
+        for (double dash : dashes) dashCycle += dash;
+
+        // Square caps extend the line by half its width at both ends
+        int endRow = endRow(Math.max(y1, y2) + half * 1.5);
+        int endCol = endCol(Math.max(x1, x2) + half * 1.5);
+        for (int py = firstRow(Math.min(y1, y2) - half * 1.5); py < endRow; py++) {
+            double ry = centerY(py) - y1;
+            for (int px = firstCol(Math.min(x1, x2) - half * 1.5); px < endCol; px++) {
+                double rx = centerX(px) - x1;
+                double along = rx * ux + ry * uy;
+                double across = ry * ux - rx * uy;
+                if (across < -half || across >= half || along < -half || along >= length + half) continue;
+                if (dashCycle > 0 && !isDashOn(dashes, dashCycle, along)) continue;
+                blend(px, py);
+            }
+        }
+    }
+
+    private static boolean isDashOn(double[] dashes, double cycle, double along) {
+        double offset = ((along % cycle) + cycle) % cycle;
+        for (int i = 0; i < dashes.length; i++) {
+            if (offset < dashes[i]) return i % 2 == 0;
+            offset -= dashes[i];
+        }
+        return false;
+    }
+
+    @Override
+    public void fillPolygon(double[] xPoints, double[] yPoints, int nPoints) {
+        if (nPoints < 3 || !paint(state.fill)) return;
+        double top = Double.MAX_VALUE;
+        double bottom = -Double.MAX_VALUE;
+        for (int i = 0; i < nPoints; i++) {
+            top = Math.min(top, yPoints[i]);
+            bottom = Math.max(bottom, yPoints[i]);
+        }
+        if (crossingX.length < nPoints) {
+            crossingX = new double[nPoints];
+            crossingWinding = new int[nPoints];
+        }
+
+        // Non-zero winding scanline fill
+        int endRow = endRow(bottom);
+        for (int py = firstRow(top); py < endRow; py++) {
+            double cy = centerY(py);
+            int count = 0;
+            for (int i = 0, j = nPoints - 1; i < nPoints; j = i++) {
+                double ya = yPoints[j];
+                double yb = yPoints[i];
+                int winding = ya <= cy && cy < yb ? 1 : yb <= cy && cy < ya ? -1 : 0;
+                if (winding == 0) continue;
+                double t = (cy - ya) / (yb - ya);
+                double cx = xPoints[j] + t * (xPoints[i] - xPoints[j]);
+
+                // Insertion sort by x, polygons here have a handful of edges
+                int k = count++;
+                while (k > 0 && crossingX[k - 1] > cx) {
+                    crossingX[k] = crossingX[k - 1];
+                    crossingWinding[k] = crossingWinding[k - 1];
+                    k--;
+                }
+                crossingX[k] = cx;
+                crossingWinding[k] = winding;
+            }
+
+            int winding = 0;
+            for (int k = 0; k < count - 1; k++) {
+                winding += crossingWinding[k];
+                if (winding != 0) fillSpan(py, crossingX[k], crossingX[k + 1]);
+            }
+        }
+    }
+
+    @Override
+    public void drawArgb(int[] source, int sourceWidth, int sourceHeight, double x, double y) {
+        int left = (int) Math.round(x + state.translateX);
+        int top = (int) Math.round(y + state.translateY);
+        int firstRow = Math.max(state.clipTop, top);
+        int endRow = Math.min(state.clipBottom, top + sourceHeight);
+        int firstCol = Math.max(state.clipLeft, left);
+        int endCol = Math.min(state.clipRight, left + sourceWidth);
+        for (int py = firstRow; py < endRow; py++) {
+            int sourceRow = (py - top) * sourceWidth - left;
+            for (int px = firstCol; px < endCol; px++) {
+                int argb = source[sourceRow + px];
+                double alpha = (argb >>> 24) / 255.0 * state.globalAlpha;
+                if (alpha > 0) blend(py * width + px, argb & 0xFFFFFF, alpha);
+            }
+        }
+    }
+
+    // ---- Images ----
+}
@@ -0,0 +1,115 @@
+package com.pacman.tools;
+
+import com.pacman.map.GameMap;
+import com.pacman.map.LevelAnalyzer;
+import com.pacman.map.LevelAnalyzer.Report;
+import com.pacman.util.Constants;
+import com.pacman.util.LevelLoader;
+import com.pacman.util.LevelPack;
+import com.pacman.util.LevelParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Command-line tool that checks levels with LevelAnalyzer, in parallel.
+ * Prints a line per level and exits with status 1 if any level has
+ * unreachable dots or can't be read, so it can guard a build.
+ *
+ * Usage: AnalyzeLevels [levelsDir]
+ * With a directory every *.json file in it is checked; without one the
+ * levels built into the game are.
+ */
+public class AnalyzeLevels {
+    /** Most positions listed per problem, to keep lines readable */
+    private static final int MAX_LISTED = 8;
+
+    private static final ThreadLocal<LevelParser> PARSERS = ThreadLocal.withInitial(LevelParser::new);
+
+    private record Result(String name, Report report, String error) {}
+
+    public static void main(String[] args) throws IOException {
+        long start = System.nanoTime();
+        List<Result> results;
+        if (args.length > 0) {
+            File[] files = new File(args[0]).listFiles((dir, name) -> name.endsWith(".json"));
+            if (files == null) {
+                throw new IOException("Cannot read " + args[0]);
+            }
+            results = Arrays.stream(files).parallel()
+                    .map(AnalyzeLevels::analyzeFile)
+                    .collect(Collectors.toList());
+        } else {
+            results = IntStream.rangeClosed(1, Constants.TOTAL_LEVELS).parallel()
+                    .mapToObj(AnalyzeLevels::analyzeBundled)
+                    .collect(Collectors.toList());
+        }
+
+        results = new ArrayList<>(results);
+        results.sort(Comparator.comparing(Result::name, LevelPack.FILE_ORDER));
+        int failed = 0;
+        for (Result result : results) {
+            System.out.println(describe(result));
+            if (result.error() != null || !result.report().isSolvable()) failed++;
+        }
+        System.out.printf("Analyzed %d levels in %.0f ms, %d with problems%n",
+                results.size(), (System.nanoTime() - start) / 1e6, failed);
+        if (failed > 0) System.exit(1);
+    }
+
+    private static Result analyzeFile(File file) {
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            GameMap map = PARSERS.get().parse(reader, 0).map();
+            return new Result(file.getName(), LevelAnalyzer.analyze(map), null);
+        } catch (IOException | RuntimeException e) {
+            return new Result(file.getName(), null, e.getMessage());
+        }
+    }
+
+    private static Result analyzeBundled(int levelNumber) {
+        String name = "level " + levelNumber;
+        try {
+            GameMap map = LevelLoader.buildGameMap(LevelLoader.loadLevel(levelNumber));
+            return new Result(name, LevelAnalyzer.analyze(map), null);
+        } catch (RuntimeException e) {
+            return new Result(name, null, e.getMessage());
+        }
+    }
+
+    private static String describe(Result result) {
+        if (result.error() != null) {
+            return result.name() + ": ERROR " + result.error();
+        }
+        Report report = result.report();
+        StringBuilder line = new StringBuilder(result.name()).append(": ")
+                .append(report.totalDots()).append(" dots");
+        if (report.isSolvable()) {
+            line.append(", all reachable");
+        } else {
+            line.append(", ").append(report.unreachableDots().size()).append(" UNREACHABLE ")
+                    .append(positions(report.unreachableDots()));
+        }
+        line.append(", ").append(report.chokePoints().size()).append(" choke points ")
+                .append(positions(report.chokePoints()))
+                .append(", ").append(report.deadEnds().size()).append(" dead ends")
+                .append(", route ").append(report.movesLowerBound()).append("..")
+                .append(report.greedyMoves()).append(" moves");
+        return line.toString();
+    }
+
+    private static String positions(List<int[]> positions) {
+        String listed = positions.stream().limit(MAX_LISTED)
+                .map(p -> "(" + p[0] + "," + p[1] + ")")
+                .collect(Collectors.joining(" "));
+        return "[" + listed + (positions.size() > MAX_LISTED ? " ..." : "") + "]";
+    }
+}
@@ -0,0 +1,96 @@
+package com.pacman.tools;
+
+import com.pacman.entity.enemy.Enemy;
+import com.pacman.entity.enemy.Patroller;
+import com.pacman.entity.enemy.Phantom;
+import com.pacman.game.Level;
+import com.pacman.map.GameMap;
+import com.pacman.util.BinaryLevelPack;
+import com.pacman.util.LevelLoader;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command-line tool that compiles level_N.json files into a binary level pack.
+ * Run by the build, which writes the pack next to the JSON resources in
+ * the output directory.
+ *
+ * Usage: CompileLevels &lt;levelsDir&gt; &lt;outputFile&gt;
+ */
+public class CompileLevels {
+    private static final Pattern LEVEL_FILE = Pattern.compile("level_(\\d+)\\.json");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompileLevels <levelsDir> <outputFile>");
+            System.exit(1);
+        }
+
+        File levelsDir = new File(args[0]);
+        File[] files = levelsDir.listFiles();
+        if (files == null) {
+            throw new IOException("Cannot read " + levelsDir);
+        }
+
+        Map<Integer, Level> levels = new TreeMap<>();
+        for (File file : files) {
+            Matcher matcher = LEVEL_FILE.matcher(file.getName());
+            if (!matcher.matches()) continue;
+            int levelNumber = Integer.parseInt(matcher.group(1));
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                Level level = LevelLoader.parseJson(reader, levelNumber);
+                addPatrolPaths(level);
+                levels.put(levelNumber, level);
+            } catch (RuntimeException e) {
+                throw new IOException("Invalid level file " + file + ": " + e.getMessage(), e);
+            }
+        }
+
+        File output = new File(args[1]);
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output.toPath()))) {
+            BinaryLevelPack.write(levels, out);
+        }
+        System.out.println("Compiled " + levels.size() + " levels into " + output + " (" + output.length() + " bytes)");
+    }
+
+    /** Store the generated path of every patroller and phantom that has none */
+    private static void addPatrolPaths(Level level) {
+        boolean[] hasPath = new boolean[level.getEnemies().size()];
+        for (Level.PatrolConfig patrol : level.getPatrols()) {
+            if (patrol.enemyIndex >= 0 && patrol.enemyIndex < hasPath.length
+                    && patrol.path != null && !patrol.path.isEmpty()) {
+                hasPath[patrol.enemyIndex] = true;
+            }
+        }
+
+        GameMap map = LevelLoader.buildGameMap(level);
+        List<Enemy> enemies = map.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            if (hasPath[i]) continue;
+            List<int[]> path = null;
+            if (enemies.get(i) instanceof Patroller patroller) path = patroller.getPatrolPath();
+            if (enemies.get(i) instanceof Phantom phantom) path = phantom.getPatrolPath();
+            if (path == null || path.isEmpty()) continue;
+
+            Level.PatrolConfig patrol = new Level.PatrolConfig();
+            patrol.enemyIndex = i;
+            patrol.path.addAll(path);
+            level.getPatrols().add(patrol);
+        }
+    }
+}
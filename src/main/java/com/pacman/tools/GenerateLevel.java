@@ -0,0 +1,99 @@
+package com.pacman.tools;
+
+import com.pacman.game.Level;
+import com.pacman.util.LevelGenerator;
+import com.pacman.util.LevelGenerator.Candidate;
+import com.pacman.util.LevelLoader;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Command-line tool that generates a level with LevelGenerator and writes
+ * it as JSON that the map editor (tools/map_editor.html) and the game read.
+ * The rating of the chosen candidate is printed to stderr.
+ *
+ * Usage: GenerateLevel [--seed N | --daily [yyyy-mm-dd]] [--level N] [--candidates N] [outputFile]
+ * Without a seed the current time is used; --daily uses today's date, or
+ * the given one. Without an output file the JSON goes to stdout.
+ */
+public class GenerateLevel {
+    private static final String USAGE =
+            "Usage: GenerateLevel [--seed N | --daily [yyyy-mm-dd]] [--level N] [--candidates N] [outputFile]";
+
+    public static void main(String[] args) throws IOException {
+        long seed = System.currentTimeMillis();
+        String name = null;
+        int levelNumber = 1;
+        int candidates = LevelGenerator.DEFAULT_CANDIDATES;
+        Path output = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--daily" -> {
+                        LocalDate date = LocalDate.now();
+                        if (i + 1 < args.length && !args[i + 1].startsWith("--") && isDate(args[i + 1])) {
+                            date = LocalDate.parse(args[++i]);
+                        }
+                        seed = LevelGenerator.dailySeed(date);
+                        name = "Daily " + date;
+                    }
+                    case "--level" -> levelNumber = Integer.parseInt(args[++i]);
+                    case "--candidates" -> candidates = Integer.parseInt(args[++i]);
+                    default -> {
+                        if (args[i].startsWith("--") || output != null) throw new IllegalArgumentException(args[i]);
+                        output = Path.of(args[i]);
+                    }
+                }
+            }
+            if (levelNumber < 1) throw new IllegalArgumentException("--level " + levelNumber);
+        } catch (RuntimeException e) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        Candidate candidate = new LevelGenerator(seed, candidates).generateCandidate(levelNumber);
+        Level level = candidate.level();
+        if (name != null) level.setName(name);
+
+        if (output != null) {
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                LevelLoader.writeJson(level, writer);
+            }
+        } else {
+            Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            LevelLoader.writeJson(level, writer);
+            writer.write(System.lineSeparator());
+            writer.flush();
+        }
+
+        System.err.printf("Seed %d, level %d: best of %d candidates in %.0f ms, score %.1f, %d dots, "
+                        + "%d dead ends, %d choke points, bot %s and was caught %d times%n",
+                seed, levelNumber, candidates, (System.nanoTime() - start) / 1e6, candidate.score(),
+                candidate.report().totalDots(), candidate.report().deadEnds().size(),
+                candidate.report().chokePoints().size(),
+                candidate.cleared() ? "cleared it" : "ran out of time", candidate.catches());
+        if (!candidate.isPlayable()) {
+            System.err.println("Warning: every candidate was rejected, " + candidate.report().unreachableDots().size()
+                    + " dots can't be reached");
+        }
+    }
+
+    private static boolean isDate(String text) {
+        try {
+            LocalDate.parse(text);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.pacman.tools;
+
+import com.pacman.entity.Player;
+import com.pacman.game.Level;
+import com.pacman.map.Camera;
+import com.pacman.map.GameMap;
+import com.pacman.render.SoftwareRenderer;
+import com.pacman.util.Constants;
+import com.pacman.util.LevelLoader;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Command-line tool that renders level thumbnails to PNG files.
+ * Uses the software renderer, so it runs without a display or the JavaFX
+ * toolkit, and renders levels in parallel.
+ *
+ * Usage: RenderThumbnails &lt;outputDir&gt; [scale] [level...]
+ * Scale defaults to 0.25; with no levels listed, all levels are rendered.
+ */
+public class RenderThumbnails {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RenderThumbnails <outputDir> [scale] [level...]");
+            System.exit(1);
+        }
+
+        File outputDir = new File(args[0]);
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create " + outputDir);
+        }
+        double scale = args.length > 1 ? Double.parseDouble(args[1]) : 0.25;
+        List<Integer> levels = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            levels.add(Integer.parseInt(args[i]));
+        }
+        if (levels.isEmpty()) {
+            IntStream.rangeClosed(1, Constants.TOTAL_LEVELS).forEach(levels::add);
+        }
+
+        long start = System.nanoTime();
+        levels.parallelStream().forEach(levelNumber -> {
+            File file = new File(outputDir, "level_" + levelNumber + ".png");
+            try {
+                ImageIO.write(renderThumbnail(levelNumber, scale), "png", file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.out.println("Wrote " + file);
+        });
+        System.out.printf("Rendered %d levels in %.0f ms%n", levels.size(), (System.nanoTime() - start) / 1e6);
+    }
+
+    /** Render a whole level at full size, then box-filter it down to the given scale */
+    public static BufferedImage renderThumbnail(int levelNumber, double scale) {
+        Level level = LevelLoader.loadLevel(levelNumber);
+        GameMap gameMap = LevelLoader.buildGameMap(level);
+        Player player = new Player(gameMap.getSpawnX(), gameMap.getSpawnY());
+        player.setGameMap(gameMap);
+
+        int width = gameMap.getWidth() * Constants.TILE_SIZE;
+        int height = gameMap.getHeight() * Constants.TILE_SIZE;
+        Camera camera = new Camera(width, height);
+        camera.follow(width / 2.0, height / 2.0, width, height);
+
+        SoftwareRenderer renderer = new SoftwareRenderer(width, height);
+        renderer.clear(0xFF000000);
+        gameMap.render(renderer, gameMap.newSnapshot(), player, camera);
+        player.render(renderer);
+
+        return downscale(renderer.getPixels(), width, height, scale);
+    }
+
+    private static BufferedImage downscale(int[] pixels, int width, int height, double scale) {
+        int step = Math.max(1, (int) Math.round(1 / scale));
+        int outWidth = Math.max(1, width / step);
+        int outHeight = Math.max(1, height / step);
+        BufferedImage image = new BufferedImage(outWidth, outHeight, BufferedImage.TYPE_INT_ARGB);
+        int samples = step * step;
+        for (int y = 0; y < outHeight; y++) {
+            for (int x = 0; x < outWidth; x++) {
+                int a = 0, r = 0, g = 0, b = 0;
+                for (int sy = y * step; sy < (y + 1) * step; sy++) {
+                    for (int sx = x * step; sx < (x + 1) * step; sx++) {
+                        int argb = pixels[sy * width + sx];
+                        a += argb >>> 24;
+                        r += (argb >> 16) & 0xFF;
+                        g += (argb >> 8) & 0xFF;
+                        b += argb & 0xFF;
+                    }
+                }
+                image.setRGB(x, y, (a / samples) << 24 | (r / samples) << 16 | (g / samples) << 8 | (b / samples));
+            }
+        }
+        return image;
+    }
+}
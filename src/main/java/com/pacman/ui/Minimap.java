@@ -0,0 +1,196 @@
+package com.pacman.ui;
+
+import com.pacman.entity.Player;
+import com.pacman.entity.enemy.Enemy;
+import com.pacman.map.GameMap;
+import com.pacman.map.MapSnapshot;
+import com.pacman.map.TileBitmap;
+import com.pacman.util.Constants;
+import com.pacman.util.Palette;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Minimap overlay for large maps.
+ * Built from two one-pixel-per-tile bitmaps: the tile layer in TileType
+ * colors, rebuilt only when tiles change, and a dot layer that is patched
+ * around the player as dots are eaten. The dot layer is rebuilt whenever a
+ * patch can't account for what changed: after the minimap was hidden, after
+ * the player jumped (portals, jump pads, skipped frames) or when more dots
+ * went than the patch cleared. A frame is two scaled image blits
+ * plus a marker per entity, whatever the map size; maps larger than the
+ * minimap show a window around the player.
+ */
+public class Minimap extends Canvas {
+    /** Canvas size in pixels; also the largest window shown, in tiles */
+    private static final int WIDTH = 160;
+    private static final int HEIGHT = 120;
+
+    private final GameMap gameMap;
+    private final TileBitmap tileBitmap;
+    private final int columns;
+    private final int rows;
+    private final int scale;
+    private final int[] dotPixels;
+    private final WritableImage dotImage;
+    private int firstCol = -1;
+    private int firstRow = -1;
+    private int dotGeneration;
+    private int dotPaletteVersion;
+    /** Player tile and remaining dots when the dot layer was last brought up to date */
+    private int lastTileX;
+    private int lastTileY;
+    private int lastRemainingDots;
+    /** Set until the first build and while hidden, when render() isn't called and eaten dots are missed */
+    private boolean dotsStale = true;
+
+    public Minimap(GameMap gameMap) {
+        super(WIDTH, HEIGHT);
+        this.gameMap = gameMap;
+        this.tileBitmap = new TileBitmap(gameMap);
+        this.columns = Math.min(gameMap.getWidth(), WIDTH);
+        this.rows = Math.min(gameMap.getHeight(), HEIGHT);
+        this.scale = Math.max(1, Math.min(WIDTH / columns, HEIGHT / rows));
+        this.dotPixels = new int[columns * rows];
+        this.dotImage = new WritableImage(columns, rows);
+        setMouseTransparent(true);
+        visibleProperty().addListener((obs, wasVisible, visible) -> {
+            if (!visible) dotsStale = true;
+        });
+    }
+
+    /** Whether a map is big enough to need a minimap */
+    public static boolean isUseful(GameMap gameMap) {
+        return gameMap.getWidth() > Constants.MAP_COLS || gameMap.getHeight() > Constants.MAP_ROWS;
+    }
+
+    /** Redraw from a frame snapshot (FX thread) */
+    public void render(MapSnapshot snapshot, Player player, int remainingDots) {
+        int tileX = player.getTileX();
+        int tileY = player.getTileY();
+        boolean moved = follow(tileX, tileY);
+        Palette palette = Palette.getInstance();
+        boolean jumped = Math.abs(tileX - lastTileX) > Constants.MAGNET_RANGE
+                || Math.abs(tileY - lastTileY) > Constants.MAGNET_RANGE;
+        if (moved || jumped || dotsStale
+                || gameMap.getTileGeneration() != dotGeneration || palette.getVersion() != dotPaletteVersion) {
+            rebuildDots(snapshot);
+        } else {
+            int cleared = updateDotsAround(snapshot, tileX, tileY);
+            if (lastRemainingDots - remainingDots > cleared) {
+                // Dots went outside the patched area
+                rebuildDots(snapshot);
+            }
+        }
+        lastTileX = tileX;
+        lastTileY = tileY;
+        lastRemainingDots = remainingDots;
+
+        double width = columns * scale;
+        double height = rows * scale;
+        double left = Math.floor((WIDTH - width) / 2);
+        double top = Math.floor((HEIGHT - height) / 2);
+
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.setImageSmoothing(false);
+        gc.clearRect(0, 0, WIDTH, HEIGHT);
+        gc.setFill(palette.color("#000000", 0.6));
+        gc.fillRect(left - 2, top - 2, width + 4, height + 4);
+        gc.drawImage(tileBitmap.render(firstCol, firstRow, columns, rows, 1), left, top, width, height);
+        gc.drawImage(dotImage, left, top, width, height);
+
+        // Enemies are hidden while the player is blinded
+        double marker = Math.max(2, scale);
+        if (!player.isBlinded()) {
+            for (Enemy enemy : snapshot.getEnemies()) {
+                drawMarker(gc, enemy.getGridX(), enemy.getGridY(), palette.color(enemy.getColor()), left, top, marker);
+            }
+        }
+        drawMarker(gc, player.getGridX(), player.getGridY(), palette.color(Constants.COLOR_PLAYER), left, top, marker + 1);
+    }
+
+    private void drawMarker(GraphicsContext gc, double gridX, double gridY, Color color,
+                            double left, double top, double size) {
+        double col = gridX - firstCol;
+        double row = gridY - firstRow;
+        if (col < 0 || row < 0 || col >= columns || row >= rows) return;
+        gc.setFill(color);
+        gc.fillRect(left + (col + 0.5) * scale - size / 2, top + (row + 0.5) * scale - size / 2, size, size);
+    }
+
+    /**
+     * Keep the player inside the middle half of the window, moving the window
+     * in jumps so the layers are rebuilt rarely.
+     * @return whether the window moved
+     */
+    private boolean follow(int tileX, int tileY) {
+        int col = recenter(firstCol, columns, gameMap.getWidth(), tileX);
+        int row = recenter(firstRow, rows, gameMap.getHeight(), tileY);
+        boolean moved = col != firstCol || row != firstRow;
+        firstCol = col;
+        firstRow = row;
+        return moved;
+    }
+
+    private static int recenter(int first, int size, int mapSize, int target) {
+        if (size >= mapSize) return 0;
+        int margin = size / 4;
+        if (first >= 0 && target >= first + margin && target < first + size - margin) return first;
+        return Math.max(0, Math.min(mapSize - size, target - size / 2));
+    }
+
+    private void rebuildDots(MapSnapshot snapshot) {
+        int dotColor = TileBitmap.toArgb(Palette.getInstance().color(Constants.COLOR_DOT));
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                boolean dot = gameMap.hasDotAt(snapshot, firstCol + col, firstRow + row);
+                dotPixels[row * columns + col] = dot ? dotColor : 0;
+            }
+        }
+        writeDots(0, 0, columns, rows);
+        dotGeneration = gameMap.getTileGeneration();
+        dotPaletteVersion = Palette.getInstance().getVersion();
+        dotsStale = false;
+    }
+
+    /**
+     * Dots are only eaten near the player: patch the magnet range around its
+     * last and current tile.
+     * @return number of dots cleared from the layer
+     */
+    private int updateDotsAround(MapSnapshot snapshot, int tileX, int tileY) {
+        int dotColor = TileBitmap.toArgb(Palette.getInstance().color(Constants.COLOR_DOT));
+        int range = Constants.MAGNET_RANGE;
+        int fromCol = Math.max(0, Math.min(tileX, lastTileX) - range - firstCol);
+        int toCol = Math.min(columns - 1, Math.max(tileX, lastTileX) + range - firstCol);
+        int fromRow = Math.max(0, Math.min(tileY, lastTileY) - range - firstRow);
+        int toRow = Math.min(rows - 1, Math.max(tileY, lastTileY) + range - firstRow);
+
+        int cleared = 0;
+        boolean changed = false;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int col = fromCol; col <= toCol; col++) {
+                int pixel = gameMap.hasDotAt(snapshot, firstCol + col, firstRow + row) ? dotColor : 0;
+                int index = row * columns + col;
+                if (dotPixels[index] != pixel) {
+                    if (pixel == 0) cleared++;
+                    dotPixels[index] = pixel;
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            writeDots(fromCol, fromRow, toCol - fromCol + 1, toRow - fromRow + 1);
+        }
+        return cleared;
+    }
+
+    private void writeDots(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        dotImage.getPixelWriter().setPixels(x, y, width, height, PixelFormat.getIntArgbInstance(),
+                dotPixels, y * columns + x, columns);
+    }
+}
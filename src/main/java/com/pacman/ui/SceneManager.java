@@ -1,13 +1,22 @@
 package com.pacman.ui;
 
+import com.pacman.entity.enemy.GhostSpriteAtlas;
 import com.pacman.game.Game;
+import com.pacman.map.GameMap;
 import com.pacman.ui.LevelIntroData.LevelIntro;
 import com.pacman.ui.LevelIntroData.NewElement;
 import com.pacman.util.Constants;
 import com.pacman.util.Direction;
+import com.pacman.util.LevelCache;
+import com.pacman.util.LevelHotReloader;
+import com.pacman.util.LevelLoader;
+import com.pacman.util.LevelPack;
+import com.pacman.util.Palette;
 import com.pacman.util.SkinManager;
 import com.pacman.util.SkinManager.SkinType;
 import com.pacman.util.SoundManager;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -15,6 +24,8 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Slider;
 import javafx.scene.image.Image;
@@ -24,8 +35,15 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.ArcType;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Scene manager (OOP: Singleton pattern)
  * Manages and switches between game scenes
@@ -34,7 +52,11 @@ public class SceneManager {
     private static SceneManager instance;
     private Stage primaryStage;
     private Game game;
+    /** Level replaced in the cache by a map editor export, restored when its game ends (-1 for none) */
+    private int exportedLevel = -1;
     private int unlockedLevel = Constants.TOTAL_LEVELS;
+    /** Level pack opened from the level select, if any */
+    private LevelPack levelPack;
 
     private SceneManager() {}
 
@@ -48,6 +70,41 @@ public class SceneManager {
     public void initialize(Stage stage) {
         this.primaryStage = stage;
         SkinManager.getInstance();
+        GhostSpriteAtlas.getInstance().prepare();
+
+        Path levelsDir = LevelHotReloader.configuredDirectory();
+        if (levelsDir != null) {
+            startLevelReloader(levelsDir);
+        }
+    }
+
+    /** Development mode: edited level files replace the cached levels and the level being played */
+    private void startLevelReloader(Path levelsDir) {
+        LevelHotReloader reloader = new LevelHotReloader(levelsDir, (levelNumber, level) -> {
+            // Maps are built here, off the FX thread
+            if (levelNumber != null) {
+                LevelCache.getInstance().replace(levelNumber, level);
+            }
+            GameMap template = levelNumber == null ? LevelLoader.buildGameMap(level) : null;
+            Platform.runLater(() -> {
+                // Endless mazes are generated, not read from level files
+                if (game == null || game.getCurrentLevel() == Constants.ENDLESS_LEVEL) return;
+                int target = levelNumber != null ? levelNumber : game.getCurrentLevel();
+                if (levelNumber == null) {
+                    // Other files stand in for the level being played until its game ends
+                    LevelCache.getInstance().replace(target, level, template);
+                    exportedLevel = target;
+                }
+                if (game.getCurrentLevel() == target) {
+                    game.reloadLevel();
+                }
+            });
+        });
+        try {
+            reloader.start();
+        } catch (IOException e) {
+            System.err.println("Cannot watch " + levelsDir + ": " + e.getMessage());
+        }
     }
 
     public void showMenu() {
@@ -68,6 +125,9 @@ public class SceneManager {
         Button singlePlayerBtn = createMenuButton("Single Player");
         singlePlayerBtn.setOnAction(e -> showLevelSelect());
 
+        Button endlessBtn = createMenuButton("Endless Mode");
+        endlessBtn.setOnAction(e -> startLevelDirectly(Constants.ENDLESS_LEVEL));
+
         Button settingsBtn = createMenuButton("Settings");
         settingsBtn.setOnAction(e -> showSettings());
 
@@ -79,6 +139,7 @@ public class SceneManager {
                 subtitleLabel,
                 createSpacer(30),
                 singlePlayerBtn,
+                endlessBtn,
                 settingsBtn,
                 exitBtn
         );
@@ -100,6 +161,9 @@ public class SceneManager {
         // Skin selection section
         VBox skinSection = createSkinSelector();
 
+        // Color theme section
+        VBox themeSection = createThemeSelector();
+
         // Sound settings section
         VBox soundSection = createSoundSettings();
 
@@ -112,6 +176,8 @@ public class SceneManager {
                 createSpacer(10),
                 skinSection,
                 createSpacer(10),
+                themeSection,
+                createSpacer(10),
                 soundSection,
                 createSpacer(15),
                 backBtn
@@ -179,6 +245,44 @@ public class SceneManager {
         return skinSection;
     }
 
+    private VBox createThemeSelector() {
+        VBox themeSection = new VBox(20);
+        themeSection.setAlignment(Pos.CENTER);
+        themeSection.setPadding(new Insets(20));
+        themeSection.setStyle(
+                "-fx-background-color: #16213E; " +
+                        "-fx-background-radius: 15; " +
+                        "-fx-border-color: #0F3460; " +
+                        "-fx-border-width: 2; " +
+                        "-fx-border-radius: 15;"
+        );
+        themeSection.setMaxWidth(500);
+
+        Label themeLabel = new Label("Color Theme");
+        themeLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
+        themeLabel.setTextFill(Color.WHITE);
+
+        HBox themeBox = new HBox(30);
+        themeBox.setAlignment(Pos.CENTER);
+
+        Label themeNameLabel = new Label(Palette.getInstance().getTheme().getDisplayName());
+        themeNameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20));
+        themeNameLabel.setTextFill(Color.GOLD);
+        themeNameLabel.setMinWidth(200);
+        themeNameLabel.setAlignment(Pos.CENTER);
+
+        Button switchBtn = createArrowButton(">");
+        switchBtn.setOnAction(e -> {
+            Palette.getInstance().nextTheme();
+            themeNameLabel.setText(Palette.getInstance().getTheme().getDisplayName());
+        });
+
+        themeBox.getChildren().addAll(themeNameLabel, switchBtn);
+        themeSection.getChildren().addAll(themeLabel, themeBox);
+
+        return themeSection;
+    }
+
     private VBox createSoundSettings() {
         VBox soundSection = new VBox(15);
         soundSection.setAlignment(Pos.CENTER);
@@ -357,6 +461,10 @@ public class SceneManager {
     }
 
     public void showLevelSelect() {
+        // Leaving a pack closes it, which releases a zip pack's file system
+        closeLevelPack();
+        LevelCache.getInstance().setPack(null);
+
         VBox mainLayout = new VBox(20);
         mainLayout.setAlignment(Pos.CENTER);
         mainLayout.setPadding(new Insets(30));
@@ -383,19 +491,152 @@ public class SceneManager {
             levelGrid.add(levelBtn, col, row);
         }
 
+        // External level packs
+        Button folderBtn = createMenuButton("Open Pack Folder");
+        folderBtn.setOnAction(e -> {
+            DirectoryChooser chooser = new DirectoryChooser();
+            chooser.setTitle("Open Level Pack Folder");
+            File folder = chooser.showDialog(primaryStage);
+            if (folder != null) openLevelPack(folder.toPath());
+        });
+        Button zipBtn = createMenuButton("Open Pack Zip");
+        zipBtn.setOnAction(e -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Open Level Pack Zip");
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Level packs", "*.zip"));
+            File zip = chooser.showOpenDialog(primaryStage);
+            if (zip != null) openLevelPack(zip.toPath());
+        });
+        HBox packButtons = new HBox(20, folderBtn, zipBtn);
+        packButtons.setAlignment(Pos.CENTER);
+
         // Back button
         Button backBtn = createMenuButton("Back to Menu");
         backBtn.setOnAction(e -> showMenu());
 
-        mainLayout.getChildren().addAll(titleLabel, createSpacer(20), levelGrid, createSpacer(20), backBtn);
+        mainLayout.getChildren().addAll(titleLabel, createSpacer(20), levelGrid, packButtons, backBtn);
 
         Scene levelSelectScene = new Scene(mainLayout, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
         primaryStage.setScene(levelSelectScene);
     }
 
+    /** Level list for the levels being played: the built-in grid or the open pack */
+    private void showLevelList() {
+        LevelPack pack = LevelCache.getInstance().getPack();
+        if (pack != null) {
+            showPackBrowser(pack);
+        } else {
+            showLevelSelect();
+        }
+    }
+
+    private void openLevelPack(Path source) {
+        try {
+            LevelPack pack = LevelPack.open(source);
+            closeLevelPack();
+            levelPack = pack;
+            showPackBrowser(pack);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Cannot open level pack " + source + ": " + e.getMessage());
+        }
+    }
+
+    private void closeLevelPack() {
+        if (levelPack == null) return;
+        if (LevelCache.getInstance().getPack() == levelPack) {
+            LevelCache.getInstance().setPack(null);
+        }
+        try {
+            levelPack.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close level pack: " + e.getMessage());
+        }
+        levelPack = null;
+    }
+
+    /**
+     * List the levels of a pack. The list comes from the pack's index, which
+     * is loaded (and for new or changed files built) off the FX thread.
+     */
+    private void showPackBrowser(LevelPack pack) {
+        VBox mainLayout = new VBox(20);
+        mainLayout.setAlignment(Pos.CENTER);
+        mainLayout.setPadding(new Insets(30));
+        mainLayout.setBackground(new Background(new BackgroundFill(
+                Color.web("#1A1A2E"), CornerRadii.EMPTY, Insets.EMPTY)));
+
+        Label titleLabel = new Label(pack.getName());
+        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 36));
+        titleLabel.setTextFill(Color.WHITE);
+
+        Label statusLabel = new Label("Indexing " + pack.size() + " levels...");
+        statusLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 16));
+        statusLabel.setTextFill(Color.LIGHTGRAY);
+
+        // Cells are virtualized, so thousands of entries cost no more than a screenful
+        ListView<LevelPack.IndexEntry> levelList = new ListView<>();
+        levelList.setPrefSize(600, 420);
+        levelList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(LevelPack.IndexEntry entry, boolean empty) {
+                super.updateItem(entry, empty);
+                if (empty || entry == null) {
+                    setText(null);
+                } else {
+                    setText((getIndex() + 1) + ". " + entry.name() + "   Chapter " + entry.chapter()
+                            + " · " + entry.width() + "x" + entry.height()
+                            + " · " + entry.enemies() + (entry.enemies() == 1 ? " enemy" : " enemies"));
+                }
+            }
+        });
+        levelList.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && levelList.getSelectionModel().getSelectedIndex() >= 0) {
+                playPackLevel(pack, levelList.getSelectionModel().getSelectedIndex() + 1, statusLabel);
+            }
+        });
+
+        CompletableFuture.supplyAsync(pack::getIndex).whenComplete((index, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                statusLabel.setText("Cannot index pack: " + error.getMessage());
+                return;
+            }
+            levelList.getItems().setAll(index);
+            statusLabel.setText(index.size() + " levels");
+        }));
+
+        Button playBtn = createMenuButton("Play");
+        playBtn.setOnAction(e -> {
+            int selected = levelList.getSelectionModel().getSelectedIndex();
+            playPackLevel(pack, Math.max(0, selected) + 1, statusLabel);
+        });
+        playBtn.disableProperty().bind(Bindings.isEmpty(levelList.getItems()));
+
+        Button backBtn = createMenuButton("Back");
+        backBtn.setOnAction(e -> showLevelSelect());
+
+        HBox buttons = new HBox(20, playBtn, backBtn);
+        buttons.setAlignment(Pos.CENTER);
+
+        mainLayout.getChildren().addAll(titleLabel, statusLabel, levelList, buttons);
+
+        Scene packScene = new Scene(mainLayout, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        primaryStage.setScene(packScene);
+    }
+
+    /** Start a pack level; a level that can't be read is reported in the status label */
+    private void playPackLevel(LevelPack pack, int level, Label statusLabel) {
+        LevelCache.getInstance().setPack(pack);
+        try {
+            startLevelDirectly(level);
+        } catch (RuntimeException e) {
+            System.err.println("Cannot play level " + level + " of " + pack.getName() + ": " + e.getMessage());
+            statusLabel.setText("Cannot play level " + level + ": " + e.getMessage());
+        }
+    }
+
     public void startLevel(int level) {
-        // Check if there is a new element introduction
-        if (LevelIntroData.hasIntro(level)) {
+        // Pack levels have no introductions
+        if (LevelCache.getInstance().getPack() == null && LevelIntroData.hasIntro(level)) {
             showLevelIntro(level);
         } else {
             startLevelDirectly(level);
@@ -415,6 +656,7 @@ public class SceneManager {
             startLevelDirectly(level);
             return;
         }
+        LevelCache.getInstance().prefetch(level);
 
         VBox mainLayout = new VBox(20);
         mainLayout.setAlignment(Pos.CENTER);
@@ -728,18 +970,38 @@ public class SceneManager {
         gc.fillOval(x + size * 0.2, y - size * 0.3, size * 0.2, size * 0.3);
     }
 
+    /** Forget the finished game, and any export that stood in for its level */
+    private void endGame() {
+        game = null;
+        if (exportedLevel >= 0) {
+            LevelCache.getInstance().invalidate(exportedLevel);
+            exportedLevel = -1;
+        }
+    }
+
+    /** The player left a game from its pause menu */
+    public void onGameQuit() {
+        endGame();
+        showMenu();
+    }
+
     public void onLevelComplete(int level) {
-        if (level >= unlockedLevel && level < Constants.TOTAL_LEVELS) {
+        endGame();
+        LevelCache levels = LevelCache.getInstance();
+        if (levels.getPack() == null && level >= unlockedLevel && level < Constants.TOTAL_LEVELS) {
             unlockedLevel = level + 1;
         }
-        if (level >= Constants.TOTAL_LEVELS) {
+        if (level >= levels.getLevelCount()) {
             showVictoryScreen();
         } else {
+            // Build the next level while the completion screen is up
+            LevelCache.getInstance().prefetch(level + 1);
             showLevelCompleteScreen(level);
         }
     }
 
     public void onGameOver(int level) {
+        endGame();
         showGameOverScreen(level);
     }
 
@@ -768,7 +1030,7 @@ public class SceneManager {
         nextLevelBtn.setOnAction(e -> startLevel(level + 1));
 
         Button selectBtn = createMenuButton("Select Level");
-        selectBtn.setOnAction(e -> showLevelSelect());
+        selectBtn.setOnAction(e -> showLevelList());
 
         Button menuBtn = createMenuButton("Back to Menu");
         menuBtn.setOnAction(e -> showMenu());
@@ -789,7 +1051,7 @@ public class SceneManager {
         titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 48));
         titleLabel.setTextFill(Color.RED);
 
-        Label levelLabel = new Label("Failed at Level " + level);
+        Label levelLabel = new Label(level == Constants.ENDLESS_LEVEL ? "Endless run over" : "Failed at Level " + level);
         levelLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 24));
         levelLabel.setTextFill(Color.LIGHTGRAY);
 
@@ -797,7 +1059,7 @@ public class SceneManager {
         retryBtn.setOnAction(e -> startLevel(level));
 
         Button selectBtn = createMenuButton("Select Level");
-        selectBtn.setOnAction(e -> showLevelSelect());
+        selectBtn.setOnAction(e -> showLevelList());
 
         Button menuBtn = createMenuButton("Back to Menu");
         menuBtn.setOnAction(e -> showMenu());
@@ -818,12 +1080,12 @@ public class SceneManager {
         titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 48));
         titleLabel.setTextFill(Color.GOLD);
 
-        Label msgLabel = new Label("You've completed all 30 levels!");
+        Label msgLabel = new Label("You've completed all " + LevelCache.getInstance().getLevelCount() + " levels!");
         msgLabel.setFont(Font.font("Arial", FontWeight.NORMAL, 24));
         msgLabel.setTextFill(Color.WHITE);
 
         Button selectBtn = createMenuButton("Play Again");
-        selectBtn.setOnAction(e -> showLevelSelect());
+        selectBtn.setOnAction(e -> showLevelList());
 
         Button menuBtn = createMenuButton("Back to Menu");
         menuBtn.setOnAction(e -> showMenu());
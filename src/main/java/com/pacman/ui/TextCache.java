@@ -0,0 +1,111 @@
+package com.pacman.ui;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Text image cache (OOP: Singleton pattern)
+ * Overlay strings such as the countdown digits and "GO!" are rasterized
+ * once per font, size and color through a Text node, which also gives
+ * their real metrics; drawing them afterwards is a single drawImage.
+ * FX Application Thread only.
+ */
+public class TextCache {
+    private static TextCache instance;
+
+    /** Most strings kept, so changing text such as score popups can't grow the cache forever */
+    private static final int MAX_ENTRIES = 128;
+
+    private record FontKey(String family, FontWeight weight, double size) {}
+
+    private record TextKey(String text, Font font, Color color) {}
+
+    /** A rasterized string and where its baseline and left edge sit inside the image */
+    private record Entry(WritableImage image, double left, double ascent, double advance) {}
+
+    private final Map<FontKey, Font> fonts;
+    private final Map<TextKey, Entry> entries;
+
+    private TextCache() {
+        this.fonts = new HashMap<>();
+        this.entries = new LinkedHashMap<>(32, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TextKey, Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    public static TextCache getInstance() {
+        if (instance == null) {
+            instance = new TextCache();
+        }
+        return instance;
+    }
+
+    /** Shared font instance, looked up once per family, weight and size */
+    public Font font(String family, FontWeight weight, double size) {
+        return fonts.computeIfAbsent(new FontKey(family, weight, size),
+                key -> Font.font(key.family(), key.weight(), key.size()));
+    }
+
+    /** Rasterize strings ahead of time, e.g. before a countdown starts */
+    public void prepare(Font font, Color color, String... texts) {
+        for (String text : texts) {
+            entry(text, font, color);
+        }
+    }
+
+    private Entry entry(String text, Font font, Color color) {
+        TextKey key = new TextKey(text, font, color);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = rasterize(text, font, color);
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    private static Entry rasterize(String text, Font font, Color color) {
+        Text node = new Text(text);
+        node.setFont(font);
+        node.setFill(color);
+        node.setTextOrigin(VPos.BASELINE);
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        WritableImage image = node.snapshot(params, null);
+
+        // The snapshot covers the visual bounds; with a baseline origin y = 0 is the baseline
+        Bounds bounds = node.getBoundsInParent();
+        return new Entry(image, bounds.getMinX(), -bounds.getMinY(), node.getLayoutBounds().getWidth());
+    }
+
+    /** Advance width of a string in a font */
+    public double getWidth(String text, Font font) {
+        return entry(text, font, Color.WHITE).advance();
+    }
+
+    /** Draw a string with its left end of the baseline at (x, baselineY) */
+    public void draw(GraphicsContext gc, String text, Font font, Color color, double x, double baselineY) {
+        Entry entry = entry(text, font, color);
+        gc.drawImage(entry.image(), x + entry.left(), baselineY - entry.ascent());
+    }
+
+    /** Draw a string horizontally centered on centerX, with its baseline at baselineY */
+    public void drawCentered(GraphicsContext gc, String text, Font font, Color color, double centerX, double baselineY) {
+        Entry entry = entry(text, font, color);
+        gc.drawImage(entry.image(), centerX - entry.advance() / 2 + entry.left(), baselineY - entry.ascent());
+    }
+}
@@ -0,0 +1,284 @@
+package com.pacman.util;
+
+import com.pacman.game.Level;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled level pack: every level in one binary file with an offset index.
+ * Levels are decoded straight from a memory-mapped buffer into Level
+ * objects, with no reflection and no JSON parsing. The pack is written by
+ * tools.CompileLevels during the build; levels missing from it are still
+ * read from their JSON resources.
+ *
+ * Layout (big-endian): magic, version, level count, then per level its
+ * number, offset and length, then the level records. A record holds the
+ * name, chapter, size and spawn, one layout character per tile, and
+ * lists of one-way tiles, portal pairs, enemies, items and patrol paths.
+ * Patrol paths are generated at compile time for patrollers and phantoms
+ * that have none, so building the map no longer has to explore it.
+ */
+public class BinaryLevelPack {
+    /** Classpath location of the pack built with the game */
+    public static final String RESOURCE = "/levels/levels.pack";
+
+    private static final int MAGIC = 0x504C5650; // "PLVP"
+    private static final short VERSION = 1;
+
+    private final ByteBuffer data;
+    /** Level number to {offset, length} */
+    private final Map<Integer, int[]> index;
+
+    private BinaryLevelPack(ByteBuffer data) {
+        this.data = data;
+        this.index = new HashMap<>();
+        if (data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a level pack");
+        }
+        if (data.getShort(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported level pack version " + data.getShort(4));
+        }
+        int count = data.getInt(6);
+        int position = 10;
+        for (int i = 0; i < count; i++) {
+            int offset = data.getInt(position + 4);
+            int length = data.getInt(position + 8);
+            if (offset < 0 || length < 0 || offset + length > data.limit()) {
+                throw new IllegalArgumentException("Corrupt level pack index");
+            }
+            index.put(data.getInt(position), new int[]{offset, length});
+            position += 12;
+        }
+    }
+
+    /** Lazily opened pack on the classpath, initialized on first use */
+    private static class Bundled {
+        static final BinaryLevelPack PACK = openBundled();
+    }
+
+    /** The pack built with the game, or null if it is missing or unreadable */
+    public static BinaryLevelPack getBundled() {
+        return Bundled.PACK;
+    }
+
+    private static BinaryLevelPack openBundled() {
+        URL url = BinaryLevelPack.class.getResource(RESOURCE);
+        if (url == null) return null;
+        try {
+            // Map the file directly when running from classes; inside a jar, read it once
+            if ("file".equals(url.getProtocol())) {
+                return open(Path.of(url.toURI()));
+            }
+            try (InputStream in = url.openStream()) {
+                return new BinaryLevelPack(ByteBuffer.wrap(in.readAllBytes()));
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to open level pack: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Memory-map a pack file */
+    public static BinaryLevelPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new BinaryLevelPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public boolean contains(int levelNumber) {
+        return index.containsKey(levelNumber);
+    }
+
+    public Set<Integer> getLevelNumbers() {
+        return index.keySet();
+    }
+
+    /** Decode a level; each call returns a new Level. Safe to call from any thread */
+    public Level load(int levelNumber) {
+        int[] entry = index.get(levelNumber);
+        if (entry == null) {
+            throw new IllegalArgumentException("Level " + levelNumber + " is not in the pack");
+        }
+        ByteBuffer in = data.slice(entry[0], entry[1]);
+        try {
+            return read(in, levelNumber);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Truncated record for level " + levelNumber, e);
+        }
+    }
+
+    private static Level read(ByteBuffer in, int levelNumber) {
+        Level level = new Level();
+        level.setLevelNumber(levelNumber);
+        level.setName(readString(in));
+        level.setChapter(in.getInt());
+        level.setSpawnX(in.getShort());
+        level.setSpawnY(in.getShort());
+
+        int width = in.getShort() & 0xFFFF;
+        int height = in.getShort() & 0xFFFF;
+        if (width > 0 && height > 0) {
+            String[] layout = new String[height];
+            byte[] row = new byte[width];
+            for (int y = 0; y < height; y++) {
+                in.get(row);
+                layout[y] = new String(row, StandardCharsets.ISO_8859_1);
+            }
+            level.setMapLayout(layout);
+        }
+
+        int count = in.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            level.getOneWays().add(new Level.OneWayConfig(in.getShort(), in.getShort(), readString(in)));
+        }
+        count = in.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            level.getPortals().add(new Level.PortalPair(in.getShort(), in.getShort(), in.getShort(), in.getShort()));
+        }
+        count = in.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            String type = readString(in);
+            level.getEnemies().add(new Level.EnemyConfig(type, in.getShort(), in.getShort()));
+        }
+        count = in.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            String type = readString(in);
+            level.getItems().add(new Level.ItemConfig(type, in.getShort(), in.getShort()));
+        }
+        count = in.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            Level.PatrolConfig patrol = new Level.PatrolConfig();
+            patrol.enemyIndex = in.getShort();
+            int points = in.getShort() & 0xFFFF;
+            for (int p = 0; p < points; p++) {
+                patrol.path.add(new int[]{in.getShort(), in.getShort()});
+            }
+            level.getPatrols().add(patrol);
+        }
+        return level;
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Write levels, keyed by level number, as a pack */
+    public static void write(Map<Integer, Level> levels, OutputStream out) throws IOException {
+        List<Integer> numbers = new ArrayList<>(levels.keySet());
+        List<byte[]> records = new ArrayList<>(numbers.size());
+        for (int number : numbers) {
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            write(levels.get(number), new DataOutputStream(record));
+            records.add(record.toByteArray());
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(numbers.size());
+        int offset = 10 + numbers.size() * 12;
+        for (int i = 0; i < numbers.size(); i++) {
+            data.writeInt(numbers.get(i));
+            data.writeInt(offset);
+            data.writeInt(records.get(i).length);
+            offset += records.get(i).length;
+        }
+        for (byte[] record : records) {
+            data.write(record);
+        }
+        data.flush();
+    }
+
+    private static void write(Level level, DataOutputStream out) throws IOException {
+        writeString(out, level.getName() != null ? level.getName() : "");
+        out.writeInt(level.getChapter());
+        writeCoordinate(out, level.getSpawnX());
+        writeCoordinate(out, level.getSpawnY());
+
+        // Short rows are padded with wall, as buildGameMap does
+        String[] layout = level.getMapLayout();
+        if (layout == null || layout.length == 0) {
+            out.writeShort(0);
+            out.writeShort(0);
+        } else {
+            int width = level.getWidth();
+            out.writeShort(width);
+            out.writeShort(layout.length);
+            for (String row : layout) {
+                for (int x = 0; x < width; x++) {
+                    char c = row != null && x < row.length() ? row.charAt(x) : '#';
+                    out.writeByte(c < 0x100 ? c : '.');
+                }
+            }
+        }
+
+        writeCount(out, level.getOneWays().size());
+        for (Level.OneWayConfig oneWay : level.getOneWays()) {
+            writeCoordinate(out, oneWay.x);
+            writeCoordinate(out, oneWay.y);
+            writeString(out, oneWay.direction != null ? oneWay.direction : "");
+        }
+        writeCount(out, level.getPortals().size());
+        for (Level.PortalPair portal : level.getPortals()) {
+            writeCoordinate(out, portal.x1);
+            writeCoordinate(out, portal.y1);
+            writeCoordinate(out, portal.x2);
+            writeCoordinate(out, portal.y2);
+        }
+        writeCount(out, level.getEnemies().size());
+        for (Level.EnemyConfig enemy : level.getEnemies()) {
+            writeString(out, enemy.type != null ? enemy.type : "");
+            writeCoordinate(out, enemy.x);
+            writeCoordinate(out, enemy.y);
+        }
+        writeCount(out, level.getItems().size());
+        for (Level.ItemConfig item : level.getItems()) {
+            writeString(out, item.type != null ? item.type : "");
+            writeCoordinate(out, item.x);
+            writeCoordinate(out, item.y);
+        }
+        writeCount(out, level.getPatrols().size());
+        for (Level.PatrolConfig patrol : level.getPatrols()) {
+            writeCoordinate(out, patrol.enemyIndex);
+            writeCount(out, patrol.path.size());
+            for (int[] point : patrol.path) {
+                writeCoordinate(out, point[0]);
+                writeCoordinate(out, point[1]);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeCount(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeCount(DataOutputStream out, int count) throws IOException {
+        if (count > 0xFFFF) throw new IOException("Too many entries: " + count);
+        out.writeShort(count);
+    }
+
+    private static void writeCoordinate(DataOutputStream out, int value) throws IOException {
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) throw new IOException("Coordinate out of range: " + value);
+        out.writeShort(value);
+    }
+}
@@ -21,6 +21,14 @@ public final class Constants {
     public static final long FRAME_TIME = 1_000_000_000L / FPS;
     public static final int DEFAULT_LIVES = 3;
     public static final int TOTAL_LEVELS = 30;
+    /** Level number of the endless mode, outside the numbered levels */
+    public static final int ENDLESS_LEVEL = 0;
+
+    // Endless mode settings
+    public static final int ENDLESS_WORLD_CHUNKS = 64;
+    public static final int ENDLESS_LOAD_RADIUS = 2;
+    public static final int ENDLESS_MAX_CHUNKS = 49;
+    public static final int ENDLESS_ENEMY_DISTANCE = 8;
     
     // Player settings
     public static final double PLAYER_BASE_SPEED = 5.0;
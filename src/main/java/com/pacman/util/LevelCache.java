@@ -0,0 +1,150 @@
+package com.pacman.util;
+
+import com.pacman.game.Level;
+import com.pacman.map.GameMap;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Parsed level cache (OOP: Singleton pattern)
+ * Each level is parsed and built once; the built map is kept as a template
+ * that is never played. Starting or restarting a level copies the template,
+ * which skips the JSON parse and the patrol path generation. Levels can be
+ * prefetched on a background thread, e.g. while a completion screen shows.
+ * Level numbers refer to the built-in levels, or to an external LevelPack
+ * while one is being played.
+ */
+public class LevelCache {
+    private static LevelCache instance;
+
+    /** A parsed level, its untouched map and the pack it came from (null for the built-in levels) */
+    private record Entry(Level level, GameMap template, LevelPack pack) {}
+
+    /**
+     * Levels by number, as futures so the map only holds a lock to install
+     * one: the build runs outside it and other callers wait on the future.
+     */
+    private final Map<Integer, CompletableFuture<Entry>> entries;
+    private final ExecutorService prefetcher;
+    /** Where level numbers are looked up: an external pack, or null for the built-in levels */
+    private volatile LevelPack pack;
+
+    private LevelCache() {
+        this.entries = new ConcurrentHashMap<>();
+        this.prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized LevelCache getInstance() {
+        if (instance == null) {
+            instance = new LevelCache();
+        }
+        return instance;
+    }
+
+    /** Parsed level data, shared and read-only */
+    public Level getLevel(int levelNumber) {
+        return entry(levelNumber).level();
+    }
+
+    /** New map for a play session, in the level's starting state */
+    public GameMap newGameMap(int levelNumber) {
+        return entry(levelNumber).template().copy();
+    }
+
+    /**
+     * Parse and build a level in the background so a later getLevel or
+     * newGameMap finds it ready. A caller that gets there first waits for
+     * the build in progress instead of starting another.
+     */
+    public void prefetch(int levelNumber) {
+        if (entries.containsKey(levelNumber)) return;
+        prefetcher.execute(() -> {
+            try {
+                entry(levelNumber);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to prefetch level " + levelNumber + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /** Replace a level with new data, e.g. an edited level file; builds its map on the calling thread */
+    public void replace(int levelNumber, Level level) {
+        replace(levelNumber, level, LevelLoader.buildGameMap(level));
+    }
+
+    /** Replace a level with new data and its map, already built by LevelLoader.buildGameMap */
+    public void replace(int levelNumber, Level level, GameMap template) {
+        level.setLevelNumber(levelNumber);
+        entries.put(levelNumber, CompletableFuture.completedFuture(new Entry(level, template, pack)));
+    }
+
+    /** Forget a level so it is read again on next use */
+    public void invalidate(int levelNumber) {
+        entries.remove(levelNumber);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /** Play levels from an external pack, or from the built-in levels with null */
+    public void setPack(LevelPack pack) {
+        if (pack == this.pack) return;
+        this.pack = pack;
+        entries.clear();
+    }
+
+    public LevelPack getPack() {
+        return pack;
+    }
+
+    /** Number of levels in the current source */
+    public int getLevelCount() {
+        LevelPack current = pack;
+        return current != null ? current.size() : Constants.TOTAL_LEVELS;
+    }
+
+    private Entry entry(int levelNumber) {
+        while (true) {
+            LevelPack source = pack;
+            CompletableFuture<Entry> created = new CompletableFuture<>();
+            CompletableFuture<Entry> future = entries.computeIfAbsent(levelNumber, number -> created);
+            if (future == created) {
+                build(levelNumber, source, created);
+            }
+
+            Entry entry;
+            try {
+                entry = future.join();
+            } catch (CompletionException e) {
+                // Failed builds are forgotten so the next call tries again
+                entries.remove(levelNumber, future);
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                if (e.getCause() instanceof Error cause) throw cause;
+                throw e;
+            }
+            if (entry.pack() == pack) return entry;
+            // Built from the previous source while switching packs
+            entries.remove(levelNumber, future);
+        }
+    }
+
+    /** Parse and build a level on the calling thread, completing the future others wait on */
+    private static void build(int levelNumber, LevelPack source, CompletableFuture<Entry> future) {
+        try {
+            Level level = source != null ? source.load(levelNumber) : LevelLoader.loadLevel(levelNumber);
+            future.complete(new Entry(level, LevelLoader.buildGameMap(level), source));
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.pacman.util;
+
+import com.pacman.game.Level;
+import com.pacman.map.GameMap;
+import com.pacman.map.LevelAnalyzer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Procedural level generator.
+ * Builds a number of maze candidates in parallel and keeps the best one:
+ * each candidate is a left-right symmetric maze carved by a randomized
+ * depth-first search, with most dead ends knocked through, then tiles,
+ * a portal tunnel, enemies and items that suit the chapter. A candidate is
+ * dropped if LevelAnalyzer finds dots the player can't reach, and is rated
+ * on its dead ends, choke points and route length and on a bot playthrough
+ * (LevelPlaytest) whose catches should match the chapter's difficulty.
+ * The same seed and level number always give the same level, whatever the
+ * number of threads, so a date can be turned into a shared daily level.
+ */
+public class LevelGenerator {
+    /** Candidates built per level unless told otherwise */
+    public static final int DEFAULT_CANDIDATES = 24;
+
+    /** Fewest dots a level must have */
+    private static final int MIN_DOTS = 60;
+    /** Extra candidates tried when every candidate was rejected, before settling for the best rejected one */
+    private static final int FALLBACK_CANDIDATES = 64;
+    /** Fewest moves between the spawn and any enemy's start */
+    private static final int MIN_ENEMY_DISTANCE = 8;
+    /** dx, dy of up, down, left, right */
+    private static final int[][] MOVES = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
+
+    /**
+     * A rated candidate.
+     * @param seed the candidate's own seed, from the generator seed and its index
+     * @param score higher is better; negative infinity for a rejected candidate, which isn't playtested
+     * @param report LevelAnalyzer's findings
+     * @param cleared whether the bot ate every dot in its playthrough
+     * @param catches times the bot was caught
+     */
+    public record Candidate(Level level, long seed, double score, LevelAnalyzer.Report report,
+                            boolean cleared, int catches) {
+
+        /** Whether every dot can be collected and there are enough of them */
+        public boolean isPlayable() {
+            return LevelGenerator.isPlayable(report);
+        }
+    }
+
+    /** Rejected candidates from best to worst: fewest unreachable dots, then most dots */
+    private static final Comparator<Candidate> REJECTED_ORDER = Comparator
+            .comparingInt((Candidate candidate) -> candidate.report().unreachableDots().size())
+            .thenComparingInt(candidate -> -candidate.report().totalDots());
+
+    private final long seed;
+    private final int candidates;
+
+    public LevelGenerator(long seed) {
+        this(seed, DEFAULT_CANDIDATES);
+    }
+
+    public LevelGenerator(long seed, int candidates) {
+        if (candidates < 1) {
+            throw new IllegalArgumentException("At least one candidate is needed");
+        }
+        this.seed = seed;
+        this.candidates = candidates;
+    }
+
+    /** Seed shared by everyone playing on a date */
+    public static long dailySeed(LocalDate date) {
+        return mix(date.toEpochDay());
+    }
+
+    /** Generate a level; its chapter follows the level number as in the built-in levels */
+    public Level generate(int levelNumber) {
+        return generateCandidate(levelNumber).level();
+    }
+
+    /** Generate a level and return it with its rating */
+    public Candidate generateCandidate(int levelNumber) {
+        List<Candidate> rated = IntStream.range(0, candidates).parallel()
+                .mapToObj(index -> rate(levelNumber, candidateSeed(levelNumber, index)))
+                .toList();
+        // Encounter order is kept, so ties go to the lowest index on any number of threads
+        Candidate best = null;
+        Candidate bestRejected = null;
+        for (Candidate candidate : rated) {
+            if (!candidate.isPlayable()) {
+                if (bestRejected == null || REJECTED_ORDER.compare(candidate, bestRejected) < 0) bestRejected = candidate;
+            } else if (best == null || candidate.score() > best.score()) {
+                best = candidate;
+            }
+        }
+        if (best != null) return best;
+
+        // Every candidate was rejected (only likely with very few); fall back to the first playable one
+        for (int index = candidates; index < candidates + FALLBACK_CANDIDATES; index++) {
+            Candidate candidate = rate(levelNumber, candidateSeed(levelNumber, index));
+            if (candidate.isPlayable()) return candidate;
+            if (REJECTED_ORDER.compare(candidate, bestRejected) < 0) bestRejected = candidate;
+        }
+        System.err.println("No playable candidate for level " + levelNumber + ", using the best rejected one");
+        return bestRejected;
+    }
+
+    private long candidateSeed(int levelNumber, int index) {
+        return mix(seed + mix(levelNumber) + index);
+    }
+
+    /** Build and rate one candidate; rejected candidates are not playtested */
+    private static Candidate rate(int levelNumber, long candidateSeed) {
+        Level level = build(levelNumber, candidateSeed);
+        GameMap map = LevelLoader.buildGameMap(level);
+        LevelAnalyzer.Report report = LevelAnalyzer.analyze(map);
+        if (!isPlayable(report)) {
+            return new Candidate(level, candidateSeed, Double.NEGATIVE_INFINITY, report, false, 0);
+        }
+
+        double timeLimit = 2.0 * report.greedyMoves() / Constants.PLAYER_BASE_SPEED + 20;
+        LevelPlaytest.Result playtest = new LevelPlaytest(map, candidateSeed)
+                .run(map.getSpawnY() * map.getWidth() + map.getSpawnX(), timeLimit);
+
+        double score = 100
+                - 3.0 * report.deadEnds().size()
+                - 1.5 * report.chokePoints().size()
+                // Back-tracking: moves beyond one per dot
+                - 20.0 * ((double) report.greedyMoves() / report.totalDots() - 1)
+                - 10.0 * Math.abs(playtest.catches() - targetCatches(level.getChapter()));
+        if (!playtest.cleared() || playtest.catches() >= Constants.DEFAULT_LIVES) score -= 50;
+        return new Candidate(level, candidateSeed, score, report, playtest.cleared(), playtest.catches());
+    }
+
+    private static boolean isPlayable(LevelAnalyzer.Report report) {
+        return report.isSolvable() && report.totalDots() >= MIN_DOTS;
+    }
+
+    /** Catches the bot should take in a chapter: none early on, up to two of its three lives later */
+    private static double targetCatches(int chapter) {
+        return Math.min(2.0, (chapter - 1) * 0.5);
+    }
+
+    private static Level build(int levelNumber, long candidateSeed) {
+        Random random = new Random(candidateSeed);
+        int width = Constants.MAP_COLS;
+        int height = Constants.MAP_ROWS;
+        int chapter = (levelNumber - 1) / 6 + 1;
+        char[][] grid = new char[height][width];
+        for (char[] row : grid) Arrays.fill(row, '#');
+
+        carveMaze(grid, random);
+        braid(grid, random, 0.6 + 0.4 * random.nextDouble());
+
+        Level level = new Level();
+        level.setLevelNumber(levelNumber);
+        level.setName("Generated " + Long.toHexString(candidateSeed).toUpperCase());
+        level.setChapter(chapter);
+        level.setSpawnX(1);
+        level.setSpawnY(1);
+
+        addPortals(level, grid, random, chapter);
+        addSpecialTiles(grid, random, chapter);
+
+        String[] layout = new String[height];
+        for (int y = 0; y < height; y++) layout[y] = new String(grid[y]);
+        level.setMapLayout(layout);
+
+        addEnemies(level, grid, random, levelNumber, chapter);
+        addItems(level, grid, random, chapter);
+        return level;
+    }
+
+    /**
+     * Randomized depth-first maze over the odd tiles of the left half,
+     * mirrored onto the right half, then joined to its mirror image by a
+     * few corridors across the middle.
+     */
+    private static void carveMaze(char[][] grid, Random random) {
+        int half = grid[0].length / 2;
+        int height = grid.length;
+        // Cells stay clear of the middle wall
+        int lastCellX = (half - 2) % 2 == 1 ? half - 2 : half - 3;
+        boolean[][] visited = new boolean[height][half];
+        List<int[]> stack = new ArrayList<>();
+        stack.add(new int[]{1, 1});
+        visited[1][1] = true;
+        set(grid, 1, 1, '.');
+
+        while (!stack.isEmpty()) {
+            int[] cell = stack.get(stack.size() - 1);
+            List<int[]> next = new ArrayList<>(4);
+            for (int[] move : MOVES) {
+                int x = cell[0] + move[0] * 2;
+                int y = cell[1] + move[1] * 2;
+                if (x >= 1 && x <= lastCellX && y >= 1 && y < height - 1 && !visited[y][x]) next.add(new int[]{x, y});
+            }
+            if (next.isEmpty()) {
+                stack.remove(stack.size() - 1);
+                continue;
+            }
+            int[] chosen = next.get(random.nextInt(next.size()));
+            visited[chosen[1]][chosen[0]] = true;
+            set(grid, (cell[0] + chosen[0]) / 2, (cell[1] + chosen[1]) / 2, '.');
+            set(grid, chosen[0], chosen[1], '.');
+            stack.add(chosen);
+        }
+
+        List<Integer> rows = new ArrayList<>();
+        for (int y = 1; y < height - 1; y += 2) rows.add(y);
+        int crossings = Math.min(rows.size(), 2 + random.nextInt(2));
+        for (int i = 0; i < crossings; i++) {
+            int y = rows.remove(random.nextInt(rows.size()));
+            for (int x = lastCellX + 1; x < half; x++) set(grid, x, y, '.');
+        }
+    }
+
+    /** Open a wall next to each dead end, with the given chance, to make loops */
+    private static void braid(char[][] grid, Random random, double chance) {
+        int half = grid[0].length / 2;
+        for (int y = 1; y < grid.length - 1; y += 2) {
+            for (int x = 1; x < half; x += 2) {
+                if (openNeighbours(grid, x, y) != 1 || random.nextDouble() >= chance) continue;
+                List<int[]> walls = new ArrayList<>(3);
+                for (int[] move : MOVES) {
+                    int wallX = x + move[0];
+                    int wallY = y + move[1];
+                    // Only walls with open floor behind them, inside the border
+                    if (wallX < 1 || wallY < 1 || wallY >= grid.length - 1 || wallX >= grid[0].length - 1) continue;
+                    if (grid[wallY][wallX] == '#' && grid[y + move[1] * 2][x + move[0] * 2] != '#') {
+                        walls.add(new int[]{wallX, wallY});
+                    }
+                }
+                if (!walls.isEmpty()) {
+                    int[] wall = walls.get(random.nextInt(walls.size()));
+                    set(grid, wall[0], wall[1], '.');
+                }
+            }
+        }
+    }
+
+    /** A tunnel between the left and right edges from chapter 2 on */
+    private static void addPortals(Level level, char[][] grid, Random random, int chapter) {
+        if (chapter < 2) return;
+        int width = grid[0].length;
+        List<Integer> rows = new ArrayList<>();
+        for (int y = 3; y < grid.length - 1; y += 2) {
+            if (grid[y][1] == '.') rows.add(y);
+        }
+        if (rows.isEmpty()) return;
+        int y = rows.get(random.nextInt(rows.size()));
+        set(grid, 1, y, 'P');
+        level.getPortals().add(new Level.PortalPair(1, y, width - 2, y));
+    }
+
+    /**
+     * Speed tiles from chapter 2, slow tiles from chapter 3 and ice from chapter 4, in mirrored pairs.
+     * Ice stays off junctions: the player can't turn on ice, so it would cut off a branch.
+     */
+    private static void addSpecialTiles(char[][] grid, Random random, int chapter) {
+        List<int[]> floors = floorTiles(grid, true);
+        floors.removeIf(tile -> tile[0] <= 2 && tile[1] <= 2);
+        int[] counts = {chapter >= 2 ? 2 : 0, chapter >= 3 ? 2 : 0, chapter >= 4 ? 2 : 0};
+        char[] tiles = {'+', '-', 'I'};
+        for (int kind = 0; kind < tiles.length; kind++) {
+            List<int[]> choices = new ArrayList<>(floors);
+            if (tiles[kind] == 'I') {
+                choices.removeIf(tile -> openNeighbours(grid, tile[0], tile[1]) > 2);
+            }
+            for (int i = 0; i < counts[kind] && !choices.isEmpty(); i++) {
+                int[] tile = choices.remove(random.nextInt(choices.size()));
+                floors.remove(tile);
+                set(grid, tile[0], tile[1], tiles[kind]);
+            }
+        }
+    }
+
+    /** Enemy types by chapter, as in the built-in levels */
+    private static void addEnemies(Level level, char[][] grid, Random random, int levelNumber, int chapter) {
+        if (levelNumber <= 1) return;
+        List<String> types = new ArrayList<>(List.of("chaser", "wanderer"));
+        if (chapter >= 2) types.add("patroller");
+        if (chapter >= 3) types.add("hunter");
+        if (chapter >= 4) types.add("phantom");
+        int count = Math.min(2 + levelNumber / 6, 6);
+
+        // Farther tiles first, then pick among the farthest so enemies start away from the spawn
+        int[][] distance = distances(grid, level.getSpawnX(), level.getSpawnY());
+        List<int[]> tiles = floorTiles(grid, false);
+        tiles.removeIf(tile -> distance[tile[1]][tile[0]] < MIN_ENEMY_DISTANCE);
+        tiles.sort(Comparator.comparingInt((int[] tile) -> -distance[tile[1]][tile[0]]));
+        for (int i = 0; i < count && !tiles.isEmpty(); i++) {
+            int[] tile = tiles.remove(random.nextInt(Math.max(1, tiles.size() / 2)));
+            String type = i < types.size() ? types.get(i) : types.get(random.nextInt(types.size()));
+            level.getEnemies().add(new Level.EnemyConfig(type, tile[0], tile[1]));
+        }
+    }
+
+    /** Items from chapter 3, on dead ends where possible, as in the built-in levels */
+    private static void addItems(Level level, char[][] grid, Random random, int chapter) {
+        if (chapter < 3) return;
+        String[] types = {"magnet", "shield", "wallpass"};
+        List<int[]> tiles = floorTiles(grid, false);
+        tiles.removeIf(tile -> tile[0] == level.getSpawnX() && tile[1] == level.getSpawnY());
+        List<int[]> deadEnds = new ArrayList<>(tiles);
+        deadEnds.removeIf(tile -> openNeighbours(grid, tile[0], tile[1]) != 1);
+        if (!deadEnds.isEmpty()) tiles = deadEnds;
+
+        int count = chapter >= 5 ? 3 : 2;
+        for (int i = 0; i < count && !tiles.isEmpty(); i++) {
+            int[] tile = tiles.remove(random.nextInt(tiles.size()));
+            level.getItems().add(new Level.ItemConfig(types[random.nextInt(types.length)], tile[0], tile[1]));
+        }
+    }
+
+    /** Plain floor tiles, in the left half only if asked */
+    private static List<int[]> floorTiles(char[][] grid, boolean leftHalf) {
+        int width = leftHalf ? grid[0].length / 2 : grid[0].length;
+        List<int[]> tiles = new ArrayList<>();
+        for (int y = 0; y < grid.length; y++) {
+            for (int x = 0; x < width; x++) {
+                if (grid[y][x] == '.') tiles.add(new int[]{x, y});
+            }
+        }
+        return tiles;
+    }
+
+    /** Moves from a tile to every other over open tiles, ignoring portals; -1 if unreachable */
+    private static int[][] distances(char[][] grid, int startX, int startY) {
+        int[][] distance = new int[grid.length][grid[0].length];
+        for (int[] row : distance) Arrays.fill(row, -1);
+        List<int[]> queue = new ArrayList<>();
+        distance[startY][startX] = 0;
+        queue.add(new int[]{startX, startY});
+        for (int head = 0; head < queue.size(); head++) {
+            int[] tile = queue.get(head);
+            for (int[] move : MOVES) {
+                int x = tile[0] + move[0];
+                int y = tile[1] + move[1];
+                if (grid[y][x] == '#' || distance[y][x] >= 0) continue;
+                distance[y][x] = distance[tile[1]][tile[0]] + 1;
+                queue.add(new int[]{x, y});
+            }
+        }
+        return distance;
+    }
+
+    private static int openNeighbours(char[][] grid, int x, int y) {
+        int open = 0;
+        for (int[] move : MOVES) {
+            if (grid[y + move[1]][x + move[0]] != '#') open++;
+        }
+        return open;
+    }
+
+    /** Set a tile and its mirror image in the right half */
+    private static void set(char[][] grid, int x, int y, char tile) {
+        grid[y][x] = tile;
+        grid[y][grid[y].length - 1 - x] = tile;
+    }
+
+    /** SplitMix64 finalizer: spreads nearby seeds over unrelated values */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,147 @@
+package com.pacman.util;
+
+import com.pacman.game.Level;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Level file watcher for designers (development mode).
+ * Enabled by starting the game with -Dpacman.levelsDir=&lt;dir&gt;: level files
+ * in that directory take precedence over the built-in levels, and a file
+ * that is saved there is parsed again and handed to a listener, which can
+ * swap it into the running game. Bursts of change events for a file are
+ * debounced, and only the file that changed is read.
+ */
+public class LevelHotReloader {
+    public static final String LEVELS_DIR_PROPERTY = "pacman.levelsDir";
+
+    /** Quiet time after the last change event before a file is read */
+    private static final long DEBOUNCE_MS = 30;
+    private static final Pattern LEVEL_FILE = Pattern.compile("level_(\\d+)\\.json");
+
+    /** Receives reloaded levels, on the reloader's thread */
+    public interface Listener {
+        /**
+         * @param levelNumber number from a level_N.json file name, or null
+         *                    for other files, e.g. a map editor export
+         */
+        void onLevelChanged(Integer levelNumber, Level level);
+    }
+
+    private final Path directory;
+    private final Listener listener;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Path, ScheduledFuture<?>> pending;
+    /** Content hash per file, so saves that change nothing are skipped */
+    private final Map<Path, Integer> contentHashes;
+    private WatchService watchService;
+
+    public LevelHotReloader(Path directory, Listener listener) {
+        this.directory = directory;
+        this.listener = listener;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pending = new ConcurrentHashMap<>();
+        this.contentHashes = new ConcurrentHashMap<>();
+    }
+
+    /** The levels directory given on the command line, or null outside development mode */
+    public static Path configuredDirectory() {
+        String directory = System.getProperty(LEVELS_DIR_PROPERTY);
+        return directory == null || directory.isBlank() ? null : Path.of(directory);
+    }
+
+    /** Level number of a level_N.json file name, or -1 */
+    public static int levelNumber(Path file) {
+        Matcher matcher = LEVEL_FILE.matcher(file.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /** Start watching the directory */
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        Thread watcher = new Thread(this::watch, "level-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        System.out.println("Watching levels in " + directory.toAbsolutePath());
+    }
+
+    public void stop() {
+        try {
+            if (watchService != null) watchService.close();
+        } catch (IOException e) {
+            System.err.println("Failed to stop level watcher: " + e.getMessage());
+        }
+        scheduler.shutdownNow();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+                    Path file = directory.resolve((Path) event.context());
+                    if (file.getFileName().toString().endsWith(".json")) {
+                        schedule(file);
+                    }
+                }
+                if (!key.reset()) return;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /** (Re)start the quiet period for a file */
+    private void schedule(Path file) {
+        pending.compute(file, (path, previous) -> {
+            if (previous != null) previous.cancel(false);
+            return scheduler.schedule(() -> reload(path), DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void reload(Path file) {
+        pending.remove(file);
+        try {
+            if (!Files.isRegularFile(file)) return;
+            byte[] content = Files.readAllBytes(file);
+            Integer hash = Arrays.hashCode(content);
+            if (hash.equals(contentHashes.put(file, hash))) return;
+
+            int number = levelNumber(file);
+            Level level = LevelLoader.parseJson(new InputStreamReader(
+                    new ByteArrayInputStream(content), StandardCharsets.UTF_8), Math.max(number, 0));
+            listener.onLevelChanged(number >= 0 ? number : null, level);
+        } catch (IOException | RuntimeException e) {
+            // Keep the previous version; the designer fixes the file and saves again
+            contentHashes.remove(file);
+            System.err.println("Failed to reload " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+}
@@ -2,22 +2,63 @@ package com.pacman.util;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 import com.pacman.game.Level;
 import com.pacman.item.ItemType;
 import com.pacman.map.GameMap;
 import com.pacman.map.tile.TileType;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Level loader - loads level data from JSON and builds GameMap
  */
 public class LevelLoader {
-    private static final Gson gson = new GsonBuilder().create();
 
+    /** Gson is only created if a level has to be read from JSON */
+    private static class JsonHolder {
+        static final Gson GSON = new GsonBuilder().create();
+    }
+
+    /**
+     * Load a level, from the compiled level pack when it has the level,
+     * otherwise from its JSON resource. In development mode a file in the
+     * levels directory takes precedence.
+     */
     public static Level loadLevel(int levelNumber) {
+        // Development mode: a designer's copy of the level comes first
+        Path levelsDir = LevelHotReloader.configuredDirectory();
+        if (levelsDir != null) {
+            Path file = levelsDir.resolve("level_" + levelNumber + ".json");
+            if (Files.isRegularFile(file)) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    return parseJson(reader, levelNumber);
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Failed to load " + file + ": " + e.getMessage());
+                }
+            }
+        }
+
+        BinaryLevelPack pack = BinaryLevelPack.getBundled();
+        if (pack != null && pack.contains(levelNumber)) {
+            try {
+                return pack.load(levelNumber);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to decode packed level " + levelNumber + ": " + e.getMessage());
+            }
+        }
+        return loadLevelFromJson(levelNumber);
+    }
+
+    /** Load a level from its JSON resource, or a generated default level if that fails */
+    public static Level loadLevelFromJson(int levelNumber) {
         String path = "/levels/level_" + levelNumber + ".json";
 
         try (InputStream is = LevelLoader.class.getResourceAsStream(path)) {
@@ -26,10 +67,7 @@ public class LevelLoader {
                 return createDefaultLevel(levelNumber);
             }
 
-            InputStreamReader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
-            Level level = gson.fromJson(reader, Level.class);
-            level.setLevelNumber(levelNumber);
-            return level;
+            return parseJson(new InputStreamReader(is, StandardCharsets.UTF_8), levelNumber);
         } catch (Exception e) {
             System.err.println("Failed to load level: " + e.getMessage());
             e.printStackTrace();
@@ -37,286 +75,134 @@ public class LevelLoader {
         }
     }
     
-    public static GameMap buildGameMap(Level level) {
-        GameMap map = new GameMap();
-        
-        // Parse map layout
-        String[] layout = level.getMapLayout();
-        if (layout != null) {
-            for (int y = 0; y < layout.length && y < Constants.MAP_ROWS; y++) {
-                String row = layout[y];
-                for (int x = 0; x < row.length() && x < Constants.MAP_COLS; x++) {
-                    char c = row.charAt(x);
-                    TileType type = charToTileType(c);
-                    map.setTile(x, y, type);
-                }
-            }
+    /** Parse level JSON, e.g. a file outside the classpath */
+    public static Level parseJson(Reader reader, int levelNumber) {
+        Level level = JsonHolder.GSON.fromJson(reader, Level.class);
+        if (level == null) {
+            throw new IllegalArgumentException("Empty level file");
         }
-
-        // Set player spawn point
-        map.setSpawnPoint(level.getSpawnX(), level.getSpawnY());
-
-        // Configure one-way passage directions
-        for (Level.OneWayConfig oneWay : level.getOneWays()) {
-            map.setTile(oneWay.x, oneWay.y, TileType.ONE_WAY, oneWay.getDirection());
-        }
-
-        // Link portal pairs
-        for (Level.PortalPair portal : level.getPortals()) {
-            map.linkPortals(portal.x1, portal.y1, portal.x2, portal.y2);
-        }
-
-        // Add dots on all floor tiles
-        map.addDotsOnAllFloors();
-
-        // Add items
-        for (Level.ItemConfig itemConfig : level.getItems()) {
-            ItemType type = switch (itemConfig.type.toLowerCase()) {
-                case "magnet" -> ItemType.MAGNET;
-                case "shield" -> ItemType.SHIELD;
-                case "wallpass", "wall_pass" -> ItemType.WALL_PASS;
-                default -> null;
-            };
-            if (type != null) {
-                map.addItem(itemConfig.x, itemConfig.y, type);
-            }
-        }
-
-        // Add enemies
-        for (int i = 0; i < level.getEnemies().size(); i++) {
-            Level.EnemyConfig enemyConfig = level.getEnemies().get(i);
-            map.addEnemy(enemyConfig.x, enemyConfig.y, enemyConfig.type);
-        }
-        
-        return map;
-    }
-    
-    private static TileType charToTileType(char c) {
-        return switch (c) {
-            case '#', 'W' -> TileType.WALL;
-            case 'P' -> TileType.PORTAL;
-            case 'O' -> TileType.ONE_WAY;
-            case 'I' -> TileType.ICE;
-            case 'J' -> TileType.JUMP_PAD;
-            case '+' -> TileType.SPEED_UP;
-            case '-' -> TileType.SLOW_DOWN;
-            case 'B' -> TileType.BLIND_TRAP;
-            default -> TileType.FLOOR;
-        };
-    }
-
-    public static Level createDefaultLevel(int levelNumber) {
-        Level level = new Level();
         level.setLevelNumber(levelNumber);
-        level.setName("Level " + levelNumber);
-        level.setChapter((levelNumber - 1) / 6 + 1);
-        
-        // Generate different default maps based on level number
-        level.setMapLayout(generateDefaultLayout(levelNumber));
-        level.setSpawnX(1);
-        level.setSpawnY(1);
-
-        // Add enemies based on level difficulty
-        addDefaultEnemies(level, levelNumber);
-
-        // Add items based on chapter
-        addDefaultItems(level, levelNumber);
-        
         return level;
     }
-    
-    /**
-     * Generate default map layout
-     * @param levelNumber Level number
-     * @return Map layout string array
-     */
-    private static String[] generateDefaultLayout(int levelNumber) {
-        // Base maze template
-        String[] layout = new String[Constants.MAP_ROWS];
-
-        // Top and bottom rows are walls
-        StringBuilder topBottom = new StringBuilder();
-        for (int i = 0; i < Constants.MAP_COLS; i++) {
-            topBottom.append('#');
-        }
-        layout[0] = topBottom.toString();
-        layout[Constants.MAP_ROWS - 1] = topBottom.toString();
 
-        // Middle rows
-        for (int y = 1; y < Constants.MAP_ROWS - 1; y++) {
-            StringBuilder row = new StringBuilder();
-            for (int x = 0; x < Constants.MAP_COLS; x++) {
-                if (x == 0 || x == Constants.MAP_COLS - 1) {
-                    row.append('#'); // Left and right boundaries
-                } else if (shouldBeWall(x, y, levelNumber)) {
-                    row.append('#');
-                } else if (shouldBeSpecialTile(x, y, levelNumber)) {
-                    row.append(getSpecialTileChar(x, y, levelNumber));
-                } else {
-                    row.append('.'); // Empty floor
-                }
-            }
-            layout[y] = row.toString();
-        }
-
-        return layout;
-    }
-    
     /**
-     * Determine if a position should be a wall
+     * Write a level as JSON in the map editor's export format
+     * (tools/map_editor.html), which the game also reads.
      */
-    private static boolean shouldBeWall(int x, int y, int levelNumber) {
-        // Ensure spawn area is clear
-        if (x <= 2 && y <= 2) return false;
+    public static void writeJson(Level level, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("  ");
+        writer.beginObject();
+        writer.name("name").value(level.getName());
+        writer.name("chapter").value(level.getChapter());
+        writer.name("spawnX").value(level.getSpawnX());
+        writer.name("spawnY").value(level.getSpawnY());
 
-        // Generate different wall layouts based on level
-        int pattern = levelNumber % 5;
-        
-        return switch (pattern) {
-            case 0 -> (x % 4 == 2 && y % 3 != 0) || (y % 4 == 2 && x % 3 != 0);
-            case 1 -> (x + y) % 5 == 0 && x > 3 && y > 3;
-            case 2 -> ((x % 3 == 0 && y % 2 == 0) || (x % 2 == 0 && y % 3 == 0)) && x > 2 && y > 2;
-            case 3 -> (x % 4 == 0 || y % 4 == 0) && x > 2 && y > 2 && x < Constants.MAP_COLS - 2 && y < Constants.MAP_ROWS - 2;
-            case 4 -> ((x - 5) * (x - 5) + (y - 7) * (y - 7) < 9) || ((x - 14) * (x - 14) + (y - 7) * (y - 7) < 9);
-            default -> false;
-        };
-    }
-    
-    /**
-     * Determine if a position should be a special tile
-     */
-    private static boolean shouldBeSpecialTile(int x, int y, int levelNumber) {
-        int chapter = (levelNumber - 1) / 6 + 1;
-
-        // Chapter 1 has no special tiles (except portals)
-        if (chapter == 1 && levelNumber >= 4) {
-            // Level 4+ has portals
-            return (x == 1 && y == Constants.MAP_ROWS - 2) || (x == Constants.MAP_COLS - 2 && y == 1);
+        writer.name("mapLayout").beginArray();
+        if (level.getMapLayout() != null) {
+            for (String row : level.getMapLayout()) writer.value(row);
         }
+        writer.endArray();
 
-        // Chapter 2+ has terrain features
-        if (chapter >= 2) {
-            // Ice, speed up, slow down tiles
-            if (x > 5 && x < 15 && y == 7) return true;
-            if (x == 10 && y > 3 && y < 12) return true;
+        writer.name("enemies").beginArray();
+        for (Level.EnemyConfig enemy : level.getEnemies()) {
+            writer.beginObject().name("type").value(enemy.type)
+                    .name("x").value(enemy.x).name("y").value(enemy.y).endObject();
         }
+        writer.endArray();
 
-        return false;
-    }
-    
-    /**
-     * Get the special tile character for a position
-     */
-    private static char getSpecialTileChar(int x, int y, int levelNumber) {
-        int chapter = (levelNumber - 1) / 6 + 1;
-
-        if (chapter == 1) {
-            return 'P'; // Portal
+        writer.name("items").beginArray();
+        for (Level.ItemConfig item : level.getItems()) {
+            writer.beginObject().name("type").value(item.type)
+                    .name("x").value(item.x).name("y").value(item.y).endObject();
         }
+        writer.endArray();
 
-        // Return different special tiles based on position
-        if (y == 7) {
-            if (x < 8) return 'I'; // Ice
-            if (x < 12) return '+'; // Speed up
-            return '-'; // Slow down
+        writer.name("portals").beginArray();
+        for (Level.PortalPair portal : level.getPortals()) {
+            writer.beginObject().name("x1").value(portal.x1).name("y1").value(portal.y1)
+                    .name("x2").value(portal.x2).name("y2").value(portal.y2).endObject();
         }
+        writer.endArray();
 
-        if (x == 10) {
-            return 'J'; // Jump pad
+        writer.name("oneWays").beginArray();
+        for (Level.OneWayConfig oneWay : level.getOneWays()) {
+            writer.beginObject().name("x").value(oneWay.x).name("y").value(oneWay.y)
+                    .name("direction").value(oneWay.direction).endObject();
         }
+        writer.endArray();
 
-        return '.';
-    }
-    
-    /**
-     * Add default enemies
-     */
-    private static void addDefaultEnemies(Level level, int levelNumber) {
-        // Level 1 has no enemies
-        if (levelNumber == 1) return;
-
-        int chapter = (levelNumber - 1) / 6 + 1;
-        int levelInChapter = (levelNumber - 1) % 6 + 1;
-
-        // Chasers
-        if (levelNumber >= 2) {
-            level.getEnemies().add(new Level.EnemyConfig("chaser", Constants.MAP_COLS - 3, Constants.MAP_ROWS - 3));
-        }
-        if (levelNumber >= 4) {
-            level.getEnemies().add(new Level.EnemyConfig("chaser", Constants.MAP_COLS / 2, Constants.MAP_ROWS / 2));
+        writer.name("patrols").beginArray();
+        for (Level.PatrolConfig patrol : level.getPatrols()) {
+            writer.beginObject().name("enemyIndex").value(patrol.enemyIndex).name("path").beginArray();
+            for (int[] point : patrol.path) {
+                writer.beginArray().value(point[0]).value(point[1]).endArray();
+            }
+            writer.endArray().endObject();
         }
+        writer.endArray();
 
-        // Wanderers
-        if (levelNumber >= 3) {
-            level.getEnemies().add(new Level.EnemyConfig("wanderer", 5, Constants.MAP_ROWS - 3));
-        }
-        if (levelNumber >= 5) {
-            level.getEnemies().add(new Level.EnemyConfig("wanderer", Constants.MAP_COLS - 5, 3));
-        }
+        writer.endObject();
+        writer.flush();
+    }
 
-        // Patrollers (starting from chapter 2)
-        if (chapter >= 2 && levelInChapter >= 2) {
-            level.getEnemies().add(new Level.EnemyConfig("patroller", 8, 5));
-        }
-        if (chapter >= 2 && levelInChapter >= 4) {
-            level.getEnemies().add(new Level.EnemyConfig("patroller", 12, 10));
+    public static GameMap buildGameMap(Level level) {
+        LevelMapBuilder builder = new LevelMapBuilder();
+        if (level.getMapLayout() != null) {
+            for (String row : level.getMapLayout()) builder.addRow(row);
         }
-
-        // Hunters (starting from chapter 3)
-        if (chapter >= 3 && levelInChapter >= 2) {
-            level.getEnemies().add(new Level.EnemyConfig("hunter", Constants.MAP_COLS - 4, Constants.MAP_ROWS / 2));
+        builder.setSpawnPoint(level.getSpawnX(), level.getSpawnY());
+        for (Level.OneWayConfig oneWay : level.getOneWays()) {
+            builder.addOneWay(oneWay.x, oneWay.y, oneWay.getDirection());
         }
-        if (chapter >= 3 && levelInChapter >= 5) {
-            level.getEnemies().add(new Level.EnemyConfig("hunter", 4, Constants.MAP_ROWS / 2));
+        for (Level.PortalPair portal : level.getPortals()) {
+            builder.addPortal(portal.x1, portal.y1, portal.x2, portal.y2);
         }
-
-        // Phantoms (starting from chapter 4)
-        if (chapter >= 4) {
-            level.getEnemies().add(new Level.EnemyConfig("phantom", Constants.MAP_COLS / 2, 3));
+        for (Level.ItemConfig item : level.getItems()) {
+            builder.addItem(item.type, item.x, item.y);
         }
-        if (chapter >= 4 && levelInChapter >= 4) {
-            level.getEnemies().add(new Level.EnemyConfig("phantom", Constants.MAP_COLS / 2, Constants.MAP_ROWS - 4));
+        for (Level.EnemyConfig enemy : level.getEnemies()) {
+            builder.addEnemy(enemy.type, enemy.x, enemy.y);
         }
-
-        // Chapter 5 adds more enemies
-        if (chapter == 5) {
-            level.getEnemies().add(new Level.EnemyConfig("chaser", 3, 3));
-            level.getEnemies().add(new Level.EnemyConfig("hunter", Constants.MAP_COLS - 6, 6));
+        for (Level.PatrolConfig patrol : level.getPatrols()) {
+            builder.setPatrol(patrol.enemyIndex, patrol.path);
         }
+        return builder.build();
     }
     
-    /**
-     * Add default items
-     */
-    private static void addDefaultItems(Level level, int levelNumber) {
-        int chapter = (levelNumber - 1) / 6 + 1;
-
-        // Items start appearing from chapter 3
-        if (chapter < 3) return;
-
-        int levelInChapter = (levelNumber - 1) % 6 + 1;
-
-        // Magnet
-        if (levelInChapter >= 1) {
-            level.getItems().add(new Level.ItemConfig("magnet", Constants.MAP_COLS / 2, Constants.MAP_ROWS / 2));
-        }
-
-        // Shield
-        if (levelInChapter >= 3) {
-            level.getItems().add(new Level.ItemConfig("shield", 3, Constants.MAP_ROWS - 4));
-        }
+    /** Item type named in level data, or null if unknown */
+    public static ItemType itemType(String name) {
+        if (name == null) return null;
+        return switch (name.toLowerCase()) {
+            case "magnet" -> ItemType.MAGNET;
+            case "shield" -> ItemType.SHIELD;
+            case "wallpass", "wall_pass" -> ItemType.WALL_PASS;
+            default -> null;
+        };
+    }
 
-        // Wall pass
-        if (levelInChapter >= 5) {
-            level.getItems().add(new Level.ItemConfig("wallpass", Constants.MAP_COLS - 4, 4));
-        }
+    /** Tile type of a mapLayout character */
+    public static TileType charToTileType(char c) {
+        return switch (c) {
+            case '#', 'W' -> TileType.WALL;
+            case 'P' -> TileType.PORTAL;
+            case 'O' -> TileType.ONE_WAY;
+            case 'I' -> TileType.ICE;
+            case 'J' -> TileType.JUMP_PAD;
+            case '+' -> TileType.SPEED_UP;
+            case '-' -> TileType.SLOW_DOWN;
+            case 'B' -> TileType.BLIND_TRAP;
+            default -> TileType.FLOOR;
+        };
+    }
 
-        // Chapter 5 has more items
-        if (chapter == 5) {
-            level.getItems().add(new Level.ItemConfig("shield", Constants.MAP_COLS - 3, Constants.MAP_ROWS - 3));
-            if (levelInChapter >= 4) {
-                level.getItems().add(new Level.ItemConfig("magnet", 4, 4));
-            }
-        }
+    /**
+     * Level used when a level file is missing: a generated maze, seeded by
+     * the level number so it is the same every time
+     */
+    public static Level createDefaultLevel(int levelNumber) {
+        Level level = new LevelGenerator(levelNumber).generate(levelNumber);
+        level.setName("Level " + levelNumber);
+        return level;
     }
 }
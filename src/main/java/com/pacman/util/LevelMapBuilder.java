@@ -0,0 +1,160 @@
+package com.pacman.util;
+
+import com.pacman.item.ItemType;
+import com.pacman.map.GameMap;
+import com.pacman.map.tile.TileType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a GameMap from the parts of a level (OOP: Builder pattern).
+ * LevelLoader feeds it from a Level and LevelParser while it streams a
+ * file, so both build maps in the same steps. Can be reused after reset().
+ */
+public class LevelMapBuilder {
+
+    /** Enemy or item spawn, kept until the layout is known */
+    private record Spawn(String type, int x, int y) {}
+
+    private record OneWay(int x, int y, Direction direction) {}
+
+    private record Portal(int x1, int y1, int x2, int y2) {}
+
+    private final List<String> layout;
+    private int spawnX;
+    private int spawnY;
+    private final List<OneWay> oneWays;
+    private final List<Portal> portals;
+    private final List<Spawn> items;
+    private final List<Spawn> enemies;
+    /** Patrol path by enemy index */
+    private final Map<Integer, List<int[]>> patrols;
+
+    public LevelMapBuilder() {
+        this.layout = new ArrayList<>();
+        this.oneWays = new ArrayList<>();
+        this.portals = new ArrayList<>();
+        this.items = new ArrayList<>();
+        this.enemies = new ArrayList<>();
+        this.patrols = new HashMap<>();
+    }
+
+    /**
+     * Map width in tiles: the longest layout row, or the default width without a layout.
+     * Cells missing from shorter rows are walls, so they hold no dots.
+     */
+    public static int widthOf(List<String> layout) {
+        if (layout.isEmpty()) return Constants.MAP_COLS;
+        int width = 0;
+        for (String row : layout) {
+            if (row != null) width = Math.max(width, row.length());
+        }
+        return Math.max(1, width);
+    }
+
+    /** Map height in tiles: the number of layout rows, or the default height without a layout */
+    public static int heightOf(List<String> layout) {
+        return layout.isEmpty() ? Constants.MAP_ROWS : layout.size();
+    }
+
+    public void reset() {
+        layout.clear();
+        spawnX = 0;
+        spawnY = 0;
+        oneWays.clear();
+        portals.clear();
+        items.clear();
+        enemies.clear();
+        patrols.clear();
+    }
+
+    /** Next mapLayout row; a null row is all wall */
+    public LevelMapBuilder addRow(String row) {
+        layout.add(row);
+        return this;
+    }
+
+    public LevelMapBuilder setSpawnPoint(int x, int y) {
+        this.spawnX = x;
+        this.spawnY = y;
+        return this;
+    }
+
+    public LevelMapBuilder addOneWay(int x, int y, Direction direction) {
+        oneWays.add(new OneWay(x, y, direction));
+        return this;
+    }
+
+    public LevelMapBuilder addPortal(int x1, int y1, int x2, int y2) {
+        portals.add(new Portal(x1, y1, x2, y2));
+        return this;
+    }
+
+    /** Item by its level data name; unknown names are skipped when building */
+    public LevelMapBuilder addItem(String type, int x, int y) {
+        items.add(new Spawn(type, x, y));
+        return this;
+    }
+
+    public LevelMapBuilder addEnemy(String type, int x, int y) {
+        enemies.add(new Spawn(type, x, y));
+        return this;
+    }
+
+    /** Patrol path of the enemy at this index; paths for missing enemies are ignored */
+    public LevelMapBuilder setPatrol(int enemyIndex, List<int[]> path) {
+        if (enemyIndex >= 0 && path != null) {
+            patrols.put(enemyIndex, path);
+        }
+        return this;
+    }
+
+    public GameMap build() {
+        // Map size follows the layout, short rows are padded with wall
+        int width = widthOf(layout);
+        GameMap map = new GameMap(width, heightOf(layout));
+
+        // Parse map layout
+        for (int y = 0; y < layout.size(); y++) {
+            String row = layout.get(y);
+            int length = row != null ? row.length() : 0;
+            for (int x = 0; x < width; x++) {
+                map.setTile(x, y, x < length ? LevelLoader.charToTileType(row.charAt(x)) : TileType.WALL);
+            }
+        }
+
+        // Set player spawn point
+        map.setSpawnPoint(spawnX, spawnY);
+
+        // Configure one-way passage directions
+        for (OneWay oneWay : oneWays) {
+            map.setTile(oneWay.x(), oneWay.y(), TileType.ONE_WAY, oneWay.direction());
+        }
+
+        // Link portal pairs
+        for (Portal portal : portals) {
+            map.linkPortals(portal.x1(), portal.y1(), portal.x2(), portal.y2());
+        }
+
+        // Add dots on all floor tiles
+        map.addDotsOnAllFloors();
+
+        // Add items
+        for (Spawn item : items) {
+            ItemType type = LevelLoader.itemType(item.type());
+            if (type != null) {
+                map.addItem(item.x(), item.y(), type);
+            }
+        }
+
+        // Add enemies, with their patrol paths if the level provides them
+        for (int i = 0; i < enemies.size(); i++) {
+            Spawn enemy = enemies.get(i);
+            map.addEnemy(enemy.x(), enemy.y(), enemy.type(), patrols.get(i));
+        }
+        return map;
+    }
+}
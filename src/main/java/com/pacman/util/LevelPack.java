@@ -0,0 +1,236 @@
+package com.pacman.util;
+
+import com.pacman.game.Level;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A set of level JSON files outside the game, from a directory or a zip file.
+ * Levels are numbered from 1 in file name order. The index of names, sizes
+ * and enemy counts is kept in a sidecar file next to the pack and only
+ * files that are new or changed since it was written are parsed, so large
+ * community packs can be listed without reading every level.
+ */
+public class LevelPack implements Closeable {
+    private static final String INDEX_HEADER = "#pacman-level-index 1";
+    /** Sidecar file name inside a directory pack; zip packs use "<zip>.index" beside the zip */
+    private static final String INDEX_FILE = "levels.index";
+
+    /** Orders file names with numbers numerically, so level_2 comes before level_10 */
+    public static final Comparator<String> FILE_ORDER = LevelPack::compareFileNames;
+
+    /** What the level list shows for a level, without loading it */
+    public record IndexEntry(String fileName, String name, int chapter, int width, int height, int enemies) {}
+
+    /** An index entry and the file state it was built from */
+    private record Stamped(IndexEntry entry, long size, long modified) {}
+
+    private final Path source;
+    /** Directory the level files are listed from: the pack directory or the zip root */
+    private final Path root;
+    private final FileSystem zip;
+    private final List<Path> files;
+    private final Path indexFile;
+    private List<IndexEntry> index;
+
+    private LevelPack(Path source, Path root, FileSystem zip, List<Path> files, Path indexFile) {
+        this.source = source;
+        this.root = root;
+        this.zip = zip;
+        this.files = files;
+        this.indexFile = indexFile;
+    }
+
+    /** Open a directory or a zip file of level JSON files; only the file list is read */
+    public static LevelPack open(Path source) throws IOException {
+        FileSystem zip = null;
+        Path root = source;
+        Path indexFile = source.resolve(INDEX_FILE);
+        if (Files.isRegularFile(source)) {
+            zip = FileSystems.newFileSystem(source);
+            root = zip.getRootDirectories().iterator().next();
+            indexFile = source.resolveSibling(source.getFileName() + ".index");
+        }
+
+        try (Stream<Path> walk = Files.walk(root)) {
+            List<Path> files = walk
+                    .filter(path -> path.getFileName() != null && path.getFileName().toString().endsWith(".json"))
+                    .filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString(), FILE_ORDER))
+                    .collect(Collectors.toList());
+            return new LevelPack(source, root, zip, files, indexFile);
+        } catch (IOException | RuntimeException e) {
+            if (zip != null) zip.close();
+            throw e;
+        }
+    }
+
+    /** Pack name for display: the directory or zip file name */
+    public String getName() {
+        return source.getFileName() != null ? source.getFileName().toString() : source.toString();
+    }
+
+    public int size() {
+        return files.size();
+    }
+
+    /** Load level 1..size() */
+    public Level load(int levelNumber) {
+        if (levelNumber < 1 || levelNumber > files.size()) {
+            throw new IllegalArgumentException("No level " + levelNumber + " in " + getName());
+        }
+        Path file = files.get(levelNumber - 1);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return LevelLoader.parseJson(reader, levelNumber);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + file.getFileName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Index entries in level order, built on first use. Reads the sidecar
+     * file, parses only levels it lacks or that changed, in parallel, and
+     * writes the sidecar back if anything was parsed.
+     */
+    public synchronized List<IndexEntry> getIndex() {
+        if (index != null) return index;
+
+        Map<String, Stamped> stored = readIndexFile();
+        Stamped[] stamped = new Stamped[files.size()];
+        List<Integer> stale = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            Stamped entry = stored.get(relativeName(file));
+            try {
+                if (entry != null && entry.size() == Files.size(file)
+                        && entry.modified() == Files.getLastModifiedTime(file).toMillis()) {
+                    stamped[i] = entry;
+                    continue;
+                }
+            } catch (IOException e) {
+                // Treated as changed
+            }
+            stale.add(i);
+        }
+
+        stale.parallelStream().forEach(i -> stamped[i] = indexFile(i));
+
+        List<IndexEntry> entries = new ArrayList<>(stamped.length);
+        for (Stamped entry : stamped) entries.add(entry.entry());
+        index = List.copyOf(entries);
+        if (!stale.isEmpty() || stored.size() != stamped.length) {
+            writeIndexFile(stamped);
+        }
+        return index;
+    }
+
+    private Stamped indexFile(int i) {
+        Path file = files.get(i);
+        String name = relativeName(file);
+        try {
+            long size = Files.size(file);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            Level level = load(i + 1);
+            String title = level.getName() != null ? level.getName() : file.getFileName().toString();
+            return new Stamped(new IndexEntry(name, title, level.getChapter(), level.getWidth(),
+                    level.getHeight(), level.getEnemies().size()), size, modified);
+        } catch (IOException | RuntimeException e) {
+            // Listed as unreadable, and parsed again next time
+            return new Stamped(new IndexEntry(name, file.getFileName() + " (unreadable)", 0, 0, 0, 0), -1, -1);
+        }
+    }
+
+    private String relativeName(Path file) {
+        return root.relativize(file).toString();
+    }
+
+    private Map<String, Stamped> readIndexFile() {
+        Map<String, Stamped> entries = new HashMap<>();
+        if (!Files.isRegularFile(indexFile)) return entries;
+        try {
+            List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(INDEX_HEADER)) return entries;
+            for (String line : lines.subList(1, lines.size())) {
+                // file, size, modified, name, chapter, width, height, enemies
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 8) continue;
+                IndexEntry entry = new IndexEntry(fields[0], fields[3], Integer.parseInt(fields[4]),
+                        Integer.parseInt(fields[5]), Integer.parseInt(fields[6]), Integer.parseInt(fields[7]));
+                entries.put(fields[0], new Stamped(entry, Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring level index " + indexFile + ": " + e.getMessage());
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private void writeIndexFile(Stamped[] entries) {
+        try (BufferedWriter out = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+            out.write(INDEX_HEADER);
+            out.newLine();
+            for (Stamped stamped : entries) {
+                IndexEntry entry = stamped.entry();
+                out.write(String.join("\t", clean(entry.fileName()), Long.toString(stamped.size()),
+                        Long.toString(stamped.modified()), clean(entry.name()), Integer.toString(entry.chapter()),
+                        Integer.toString(entry.width()), Integer.toString(entry.height()),
+                        Integer.toString(entry.enemies())));
+                out.newLine();
+            }
+        } catch (IOException e) {
+            // A read-only pack still works, it is just indexed again next time
+            System.err.println("Cannot write level index " + indexFile + ": " + e.getMessage());
+        }
+    }
+
+    private static String clean(String text) {
+        return text.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static int compareFileNames(String a, String b) {
+        int i = 0, j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int endA = i, endB = j;
+                while (endA < a.length() && Character.isDigit(a.charAt(endA))) endA++;
+                while (endB < b.length() && Character.isDigit(b.charAt(endB))) endB++;
+                // Longer digit runs are larger numbers once leading zeros are stripped
+                String numberA = a.substring(i, endA).replaceFirst("^0+(?=.)", "");
+                String numberB = b.substring(j, endB).replaceFirst("^0+(?=.)", "");
+                int order = numberA.length() != numberB.length()
+                        ? Integer.compare(numberA.length(), numberB.length())
+                        : numberA.compareTo(numberB);
+                if (order != 0) return order;
+                i = endA;
+                j = endB;
+            } else {
+                if (ca != cb) return Character.compare(ca, cb);
+                i++;
+                j++;
+            }
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (zip != null) zip.close();
+    }
+}
@@ -0,0 +1,229 @@
+package com.pacman.util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.pacman.game.Level;
+import com.pacman.map.GameMap;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming level JSON parser for batch tools.
+ * Reads a level file token by token and builds its map directly, without
+ * reflection or an intermediate Level object. Accepts the same files as
+ * LevelLoader, including patrol paths, and reports format errors with
+ * their line and column. Not thread-safe; use one parser per thread.
+ */
+public class LevelParser {
+    /** Largest enemy index a patrol may refer to */
+    private static final int MAX_ENEMY_INDEX = 0xFFFF;
+
+    /** A parsed level: its metadata and a map in its starting state */
+    public record ParsedLevel(int levelNumber, String name, int chapter, GameMap map) {}
+
+    // Level fields in the order they are read; the map is built once the whole object is read
+    private String name;
+    private int chapter;
+    private int spawnX;
+    private int spawnY;
+    private final LevelMapBuilder builder;
+
+    public LevelParser() {
+        this.builder = new LevelMapBuilder();
+    }
+
+    /**
+     * Parse one level file.
+     * @throws IllegalArgumentException if the file is not a valid level, with the line and column
+     * @throws IOException if reading fails
+     */
+    public ParsedLevel parse(Reader source, int levelNumber) throws IOException {
+        reset();
+        JsonReader reader = new JsonReader(source);
+        // Same syntax as Gson.fromJson accepts
+        reader.setLenient(true);
+        try {
+            readLevel(reader);
+        } catch (MalformedJsonException | IllegalStateException e) {
+            // JsonReader already names the position in these
+            throw new IllegalArgumentException(e.getMessage(), e);
+        } catch (NumberFormatException e) {
+            IllegalArgumentException error = error(reader, "Expected an integer");
+            error.initCause(e);
+            throw error;
+        }
+        builder.setSpawnPoint(spawnX, spawnY);
+        return new ParsedLevel(levelNumber, name, chapter, builder.build());
+    }
+
+    private void reset() {
+        name = null;
+        chapter = 0;
+        spawnX = 0;
+        spawnY = 0;
+        builder.reset();
+    }
+
+    private void readLevel(JsonReader reader) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name" -> name = nextStringOrNull(reader);
+                case "chapter" -> chapter = reader.nextInt();
+                case "spawnX" -> spawnX = reader.nextInt();
+                case "spawnY" -> spawnY = reader.nextInt();
+                case "mapLayout" -> readLayout(reader);
+                case "enemies" -> readSpawns(reader, true);
+                case "items" -> readSpawns(reader, false);
+                case "portals" -> readPortals(reader);
+                case "oneWays" -> readOneWays(reader);
+                case "patrols" -> readPatrols(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private void readLayout(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            builder.addRow(nextStringOrNull(reader));
+        }
+        reader.endArray();
+    }
+
+    /** Enemy spawns (whose type is required) or item spawns */
+    private void readSpawns(JsonReader reader, boolean enemies) throws IOException {
+        if (skipNull(reader)) return;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String type = null;
+            int x = 0, y = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "type" -> type = nextStringOrNull(reader);
+                    case "x" -> x = reader.nextInt();
+                    case "y" -> y = reader.nextInt();
+                    default -> reader.skipValue();
+                }
+            }
+            if (type == null && enemies) {
+                throw error(reader, "Enemy without a type");
+            }
+            reader.endObject();
+            if (enemies) {
+                builder.addEnemy(type, x, y);
+            } else {
+                builder.addItem(type, x, y);
+            }
+        }
+        reader.endArray();
+    }
+
+    private void readPortals(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int[] portal = new int[4];
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "x1" -> portal[0] = reader.nextInt();
+                    case "y1" -> portal[1] = reader.nextInt();
+                    case "x2" -> portal[2] = reader.nextInt();
+                    case "y2" -> portal[3] = reader.nextInt();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            builder.addPortal(portal[0], portal[1], portal[2], portal[3]);
+        }
+        reader.endArray();
+    }
+
+    private void readOneWays(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int x = 0, y = 0;
+            Direction direction = Direction.NONE;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "x" -> x = reader.nextInt();
+                    case "y" -> y = reader.nextInt();
+                    case "direction" -> direction = Level.OneWayConfig.parseDirection(nextStringOrNull(reader));
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            builder.addOneWay(x, y, direction);
+        }
+        reader.endArray();
+    }
+
+    private void readPatrols(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int enemyIndex = -1;
+            List<int[]> path = new ArrayList<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "enemyIndex" -> enemyIndex = reader.nextInt();
+                    case "path" -> readPath(reader, path);
+                    default -> reader.skipValue();
+                }
+            }
+            if (enemyIndex < 0 || enemyIndex > MAX_ENEMY_INDEX) {
+                throw error(reader, "Patrol without a valid enemyIndex");
+            }
+            reader.endObject();
+            builder.setPatrol(enemyIndex, path);
+        }
+        reader.endArray();
+    }
+
+    /** Path points as [x, y] pairs */
+    private static void readPath(JsonReader reader, List<int[]> path) throws IOException {
+        if (skipNull(reader)) return;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginArray();
+            int x = reader.nextInt();
+            int y = reader.nextInt();
+            if (reader.hasNext()) {
+                throw error(reader, "Patrol point with more than two coordinates");
+            }
+            reader.endArray();
+            path.add(new int[]{x, y});
+        }
+        reader.endArray();
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (skipNull(reader)) return null;
+        return reader.nextString();
+    }
+
+    private static boolean skipNull(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.NULL) return false;
+        reader.nextNull();
+        return true;
+    }
+
+    /** Format error at the reader's current position */
+    private static IllegalArgumentException error(JsonReader reader, String message) {
+        // JsonReader.toString() is "JsonReader at line L column C path P"
+        String position = reader.toString();
+        int at = position.indexOf(" at line ");
+        return new IllegalArgumentException(message + (at >= 0 ? position.substring(at) : ""));
+    }
+}
@@ -0,0 +1,335 @@
+package com.pacman.util;
+
+import com.pacman.entity.Dot;
+import com.pacman.entity.enemy.Chaser;
+import com.pacman.entity.enemy.Enemy;
+import com.pacman.entity.enemy.Hunter;
+import com.pacman.entity.enemy.Patroller;
+import com.pacman.entity.enemy.Phantom;
+import com.pacman.map.GameMap;
+import com.pacman.map.tile.TileType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Quick, repeatable playthrough of a level by a bot, used to rate generated
+ * levels. Runs on tiles with fixed time steps: the bot heads for the nearest
+ * dot while keeping a tile away from enemies where it can, and the enemies
+ * follow their types' rules (chasers close in, wanderers and hunters roam
+ * and hunters rush along a clear line, patrollers and phantoms walk their
+ * patrol paths and phantoms chase while invisible). Speeds, the collision
+ * cooldown and portal teleports match the game; items and tile effects
+ * other than portals are ignored. Enemy choices use the given seed instead
+ * of the enemies' shared random, so a seed always gives the same result.
+ */
+class LevelPlaytest {
+    /** Simulated seconds per step */
+    private static final double STEP = 0.05;
+    /** Matches Game's cooldown after the player is caught */
+    private static final double COLLISION_COOLDOWN = 1.5;
+    /** Chance that a roaming enemy keeps going straight at a junction */
+    private static final double KEEP_DIRECTION = 0.75;
+    /** dx, dy of up, down, left, right */
+    private static final int[][] MOVES = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
+
+    /** How the bot did: whether it cleared the level, how often it was caught, and the time taken */
+    record Result(boolean cleared, int catches, double seconds) {}
+
+    private enum Kind { CHASER, WANDERER, HUNTER, PATROLLER, PHANTOM }
+
+    /** Simulated enemy: tile, speed, facing move and patrol route */
+    private static class Mover {
+        final Kind kind;
+        final double speed;
+        final int[] route;
+        int cell;
+        int move;
+        int routeIndex;
+        int routeStep;
+        double progress;
+
+        Mover(Kind kind, double speed, int cell, int[] route) {
+            this.kind = kind;
+            this.speed = speed;
+            this.cell = cell;
+            this.route = route;
+            this.move = -1;
+            this.routeIndex = 0;
+            this.routeStep = 1;
+            this.progress = 0;
+        }
+    }
+
+    private final int width;
+    private final boolean[] walkable;
+    /** Linked portal tile, or -1 */
+    private final int[] portal;
+    private final boolean[] dots;
+    private final List<Mover> enemies;
+    private final Random random;
+    private int remainingDots;
+
+    // BFS scratch arrays, reused for every search
+    private final int[] parent;
+    private final int[] queue;
+
+    LevelPlaytest(GameMap map, long seed) {
+        this.width = map.getWidth();
+        int cells = width * map.getHeight();
+        this.walkable = new boolean[cells];
+        this.portal = new int[cells];
+        Arrays.fill(portal, -1);
+        for (int cell = 0; cell < cells; cell++) {
+            TileType type = map.getTileType(cell % width, cell / width);
+            walkable[cell] = type.isWalkable();
+            if (type == TileType.PORTAL) {
+                portal[cell] = map.getPortalLink(cell % width, cell / width);
+            }
+        }
+
+        this.dots = new boolean[cells];
+        for (Dot dot : map.getDots()) {
+            dots[dot.getTileY() * width + dot.getTileX()] = true;
+        }
+        this.remainingDots = map.getDots().size();
+
+        this.enemies = new ArrayList<>();
+        for (Enemy enemy : map.getEnemies()) {
+            enemies.add(mover(enemy));
+        }
+        this.random = new Random(seed);
+        this.parent = new int[cells];
+        this.queue = new int[cells];
+    }
+
+    private Mover mover(Enemy enemy) {
+        int cell = enemy.getTileY() * width + enemy.getTileX();
+        if (enemy instanceof Chaser) return new Mover(Kind.CHASER, Constants.CHASER_SPEED, cell, null);
+        if (enemy instanceof Hunter) return new Mover(Kind.HUNTER, Constants.HUNTER_BASE_SPEED, cell, null);
+        if (enemy instanceof Patroller patroller) {
+            return new Mover(Kind.PATROLLER, Constants.PATROLLER_SPEED, cell, route(patroller.getPatrolPath()));
+        }
+        if (enemy instanceof Phantom phantom) {
+            return new Mover(Kind.PHANTOM, Constants.PHANTOM_SPEED, cell, route(phantom.getPatrolPath()));
+        }
+        return new Mover(Kind.WANDERER, Constants.WANDERER_SPEED, cell, null);
+    }
+
+    private int[] route(List<int[]> path) {
+        int[] route = new int[path.size()];
+        for (int i = 0; i < route.length; i++) {
+            route[i] = path.get(i)[1] * width + path.get(i)[0];
+        }
+        return route;
+    }
+
+    /** Play from the spawn until every dot is eaten or the time limit passes */
+    Result run(int spawn, double timeLimit) {
+        int player = spawn;
+        eat(player);
+        double progress = 0;
+        double cooldown = 0;
+        int catches = 0;
+        double time = 0;
+
+        while (remainingDots > 0 && time < timeLimit) {
+            time += STEP;
+            int playerBefore = player;
+            progress += Constants.PLAYER_BASE_SPEED * STEP;
+            while (progress >= 1 && remainingDots > 0) {
+                progress -= 1;
+                int next = botStep(player);
+                if (next < 0) break;
+                eat(next);
+                player = enter(next);
+                eat(player);
+            }
+
+            boolean phantomsChase = time % (Constants.PHANTOM_INVISIBLE_CYCLE + Constants.PHANTOM_INVISIBLE_DURATION)
+                    >= Constants.PHANTOM_INVISIBLE_CYCLE;
+            boolean caught = false;
+            for (Mover enemy : enemies) {
+                int enemyBefore = enemy.cell;
+                double speed = enemy.kind == Kind.HUNTER && inLine(enemy.cell, player)
+                        ? Constants.HUNTER_RUSH_SPEED : enemy.speed;
+                enemy.progress += speed * STEP;
+                while (enemy.progress >= 1) {
+                    enemy.progress -= 1;
+                    stepEnemy(enemy, player, phantomsChase);
+                }
+                // Same tile, or passed each other this step
+                if (enemy.cell == player || (enemy.cell == playerBefore && enemyBefore == player)) caught = true;
+            }
+
+            cooldown -= STEP;
+            if (caught && cooldown <= 0) {
+                catches++;
+                cooldown = COLLISION_COOLDOWN;
+            }
+        }
+        return new Result(remainingDots == 0, catches, time);
+    }
+
+    private void eat(int cell) {
+        if (dots[cell]) {
+            dots[cell] = false;
+            remainingDots--;
+        }
+    }
+
+    /** Tile the player stands on after stepping onto a tile */
+    private int enter(int cell) {
+        return portal[cell] >= 0 ? portal[cell] : cell;
+    }
+
+    /** First tile towards the nearest dot, avoiding enemies' tiles and neighbours if possible; -1 if none */
+    private int botStep(int from) {
+        boolean[] danger = new boolean[walkable.length];
+        for (Mover enemy : enemies) {
+            danger[enemy.cell] = true;
+            for (int[] move : MOVES) {
+                int next = neighbour(enemy.cell, move);
+                if (next >= 0) danger[next] = true;
+            }
+        }
+        int step = firstStep(from, danger, -1);
+        return step >= 0 ? step : firstStep(from, null, -1);
+    }
+
+    /**
+     * Breadth-first search from a tile, following portals, to the target tile,
+     * or to the nearest dot if the target is -1. Returns the first tile to step
+     * onto, or -1 if there is no way.
+     */
+    private int firstStep(int from, boolean[] blocked, int target) {
+        Arrays.fill(parent, -2);
+        int head = 0, tail = 0;
+        parent[from] = -1;
+        queue[tail++] = from;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int[] move : MOVES) {
+                int next = neighbour(cell, move);
+                if (next < 0 || (blocked != null && blocked[next])) continue;
+                int end = enter(next);
+                if (parent[end] != -2) continue;
+                parent[end] = cell;
+                queue[tail++] = end;
+                if (target < 0 ? dots[next] || dots[end] : end == target) {
+                    // Walk back to the first move, then return the tile stepped onto
+                    int step = end;
+                    while (parent[step] != from) step = parent[step];
+                    return stepOnto(from, step);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /** The neighbouring tile of from that leads to the standing tile to (through a portal or not) */
+    private int stepOnto(int from, int to) {
+        for (int[] move : MOVES) {
+            int next = neighbour(from, move);
+            if (next >= 0 && enter(next) == to) return next;
+        }
+        return to;
+    }
+
+    private void stepEnemy(Mover enemy, int player, boolean phantomsChase) {
+        int move = switch (enemy.kind) {
+            case CHASER -> closestMove(enemy, player);
+            case HUNTER -> inLine(enemy.cell, player) ? closestMove(enemy, player) : roamingMove(enemy);
+            case PHANTOM -> phantomsChase ? closestMove(enemy, player) : routeMove(enemy);
+            case PATROLLER -> routeMove(enemy);
+            case WANDERER -> roamingMove(enemy);
+        };
+        if (move < 0) return;
+        enemy.move = move;
+        enemy.cell = neighbour(enemy.cell, MOVES[move]);
+    }
+
+    /** Open moves, not turning back unless it is the only way; as Enemy.getValidDirectionsNoReverse */
+    private List<Integer> openMoves(Mover enemy) {
+        List<Integer> open = new ArrayList<>(4);
+        List<Integer> back = new ArrayList<>(1);
+        for (int m = 0; m < MOVES.length; m++) {
+            if (neighbour(enemy.cell, MOVES[m]) < 0) continue;
+            if (enemy.move >= 0 && m == reverse(enemy.move)) back.add(m);
+            else open.add(m);
+        }
+        return open.isEmpty() ? back : open;
+    }
+
+    /** Move that ends closest to the player in a straight line, as the chaser does */
+    private int closestMove(Mover enemy, int player) {
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int m : openMoves(enemy)) {
+            int next = neighbour(enemy.cell, MOVES[m]);
+            double dx = next % width - player % width;
+            double dy = next / width - player / width;
+            double distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = m;
+            }
+        }
+        return best;
+    }
+
+    private int roamingMove(Mover enemy) {
+        List<Integer> open = openMoves(enemy);
+        if (open.isEmpty()) return -1;
+        if (open.contains(enemy.move) && random.nextDouble() < KEEP_DIRECTION) return enemy.move;
+        return open.get(random.nextInt(open.size()));
+    }
+
+    /** Next move along the patrol route, back and forth between its ends */
+    private int routeMove(Mover enemy) {
+        if (enemy.route == null || enemy.route.length < 2) return roamingMove(enemy);
+        if (enemy.cell == enemy.route[enemy.routeIndex]) {
+            if (enemy.routeIndex + enemy.routeStep < 0 || enemy.routeIndex + enemy.routeStep >= enemy.route.length) {
+                enemy.routeStep = -enemy.routeStep;
+            }
+            enemy.routeIndex += enemy.routeStep;
+        }
+        int next = firstStep(enemy.cell, null, enemy.route[enemy.routeIndex]);
+        if (next < 0) {
+            // Unreachable point, e.g. behind a one-way tile; skip it
+            enemy.routeIndex = (enemy.routeIndex + 1) % enemy.route.length;
+            return roamingMove(enemy);
+        }
+        for (int m = 0; m < MOVES.length; m++) {
+            if (neighbour(enemy.cell, MOVES[m]) == next) return m;
+        }
+        return -1;
+    }
+
+    /** Whether two tiles share a row or column with no wall between them */
+    private boolean inLine(int a, int b) {
+        int ax = a % width, ay = a / width;
+        int bx = b % width, by = b / width;
+        if (ax != bx && ay != by) return false;
+        int step = ax == bx ? (by > ay ? width : -width) : (bx > ax ? 1 : -1);
+        for (int cell = a; cell != b; cell += step) {
+            if (!walkable[cell]) return false;
+        }
+        return true;
+    }
+
+    /** Walkable neighbouring tile in a direction, or -1 */
+    private int neighbour(int cell, int[] move) {
+        int x = cell % width + move[0];
+        int y = cell / width + move[1];
+        if (x < 0 || x >= width || y < 0 || y * width >= walkable.length) return -1;
+        int next = y * width + x;
+        return walkable[next] ? next : -1;
+    }
+
+    private static int reverse(int move) {
+        return move ^ 1;
+    }
+}
@@ -0,0 +1,120 @@
+package com.pacman.util;
+
+import com.pacman.item.ItemType;
+import com.pacman.map.tile.TileType;
+import javafx.scene.paint.Color;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Palette manager (OOP: Singleton pattern)
+ * Parses hex color strings into Color objects once, so render code
+ * never parses colors per frame. Supports switching between themes.
+ */
+public class Palette {
+    /** Created eagerly: renderers on several threads look it up */
+    private static final Palette INSTANCE = new Palette();
+
+    /** Opacity steps cached per color (0.00 - 1.00) */
+    private static final int OPACITY_STEPS = 100;
+
+    public enum Theme {
+        CLASSIC("Classic", Map.of()),
+        HIGH_CONTRAST("High Contrast", Map.of(
+                Constants.COLOR_FLOOR, "#000000",
+                Constants.COLOR_WALL, "#E0E0E0",
+                Constants.COLOR_DOT, "#FFFF66",
+                Constants.COLOR_ICE, "#B0E0FF",
+                Constants.COLOR_SLOW_DOWN, "#A0522D"
+        ));
+
+        private final String displayName;
+        private final Map<String, String> overrides;
+
+        Theme(String displayName, Map<String, String> overrides) {
+            this.displayName = displayName;
+            this.overrides = overrides;
+        }
+
+        public String getDisplayName() { return displayName; }
+
+        /** Map a base color to the one this theme uses */
+        public String resolve(String hex) {
+            return overrides.getOrDefault(hex, hex);
+        }
+    }
+
+    private volatile Theme currentTheme;
+    private final Map<String, Color[]> colors;
+    /** Replaced as a whole on theme change, never mutated once published */
+    private volatile Map<TileType, Color> tileColors;
+    private volatile Map<ItemType, Color> itemColors;
+    private volatile int version;
+
+    private Palette() {
+        this.currentTheme = Theme.CLASSIC;
+        this.colors = new ConcurrentHashMap<>();
+        rebuild();
+    }
+
+    public static Palette getInstance() {
+        return INSTANCE;
+    }
+
+    /** Theme changes come from the FX thread; readers on other threads see whole maps */
+    private synchronized void rebuild() {
+        colors.clear();
+        Map<TileType, Color> tiles = new EnumMap<>(TileType.class);
+        for (TileType type : TileType.values()) {
+            tiles.put(type, color(type.getColor()));
+        }
+        Map<ItemType, Color> items = new EnumMap<>(ItemType.class);
+        for (ItemType type : ItemType.values()) {
+            items.put(type, color(type.getColor()));
+        }
+        this.tileColors = tiles;
+        this.itemColors = items;
+        version++;
+    }
+
+    /** Opaque color for a hex string such as Constants.COLOR_DOT */
+    public Color color(String hex) {
+        return color(hex, 1.0);
+    }
+
+    /** Color for a hex string with the given opacity, parsed once and cached */
+    public Color color(String hex, double opacity) {
+        // Concurrent map: software renderers may draw on several threads at once
+        Color[] shades = colors.computeIfAbsent(hex, key -> new Color[OPACITY_STEPS + 1]);
+
+        int step = (int) Math.round(Math.max(0, Math.min(1, opacity)) * OPACITY_STEPS);
+        Color shade = shades[step];
+        if (shade == null) {
+            shade = Color.web(currentTheme.resolve(hex), step / (double) OPACITY_STEPS);
+            shades[step] = shade;
+        }
+        return shade;
+    }
+
+    public Color tile(TileType type) { return tileColors.get(type); }
+    public Color item(ItemType type) { return itemColors.get(type); }
+
+    public synchronized void setTheme(Theme theme) {
+        if (theme == currentTheme) return;
+        this.currentTheme = theme;
+        rebuild();
+        System.out.println("Theme: " + theme.getDisplayName());
+    }
+
+    public Theme getTheme() { return currentTheme; }
+
+    public void nextTheme() {
+        Theme[] themes = Theme.values();
+        setTheme(themes[(currentTheme.ordinal() + 1) % themes.length]);
+    }
+
+    /** Incremented on every theme change, lets cached images know when to rebuild */
+    public int getVersion() { return version; }
+}
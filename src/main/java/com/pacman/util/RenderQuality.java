@@ -0,0 +1,76 @@
+package com.pacman.util;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Render quality settings (OOP: Singleton pattern)
+ * Optional visual effects that can be dropped when frames run over budget.
+ * Changed on the FX thread, read by render code on any thread.
+ */
+public class RenderQuality {
+    /** Created eagerly: thumbnails read it from several threads */
+    private static final RenderQuality INSTANCE = new RenderQuality();
+
+    /** Optional effects, in the order they are dropped (most expensive first) */
+    public enum Effect {
+        HUNTER_SPEED_LINES,
+        PHANTOM_WAVES,
+        MAGNET_RING,
+        PORTAL_ROTATION
+    }
+
+    private final Set<Effect> enabled;
+    private int version;
+
+    private RenderQuality() {
+        this.enabled = EnumSet.allOf(Effect.class);
+    }
+
+    public static RenderQuality getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled(Effect effect) {
+        return enabled.contains(effect);
+    }
+
+    public void setEnabled(Effect effect, boolean on) {
+        boolean changed = on ? enabled.add(effect) : enabled.remove(effect);
+        if (changed) version++;
+    }
+
+    /**
+     * Drop the next effect still enabled.
+     * @return false if everything optional is already off
+     */
+    public boolean reduce() {
+        for (Effect effect : Effect.values()) {
+            if (enabled.contains(effect)) {
+                setEnabled(effect, false);
+                System.out.println("Render quality reduced: " + effect + " off");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bring back the most recently dropped effect.
+     * @return false if everything is already on
+     */
+    public boolean restore() {
+        Effect[] effects = Effect.values();
+        for (int i = effects.length - 1; i >= 0; i--) {
+            if (!enabled.contains(effects[i])) {
+                setEnabled(effects[i], true);
+                System.out.println("Render quality restored: " + effects[i] + " on");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Incremented on every change, lets the renderer repaint in full */
+    public int getVersion() { return version; }
+}